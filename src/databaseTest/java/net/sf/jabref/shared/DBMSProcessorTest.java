@@ -2,12 +2,16 @@ package net.sf.jabref.shared;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.shared.exception.OfflineLockException;
@@ -88,6 +92,49 @@ public class DBMSProcessorTest {
         Assert.assertEquals(expectedFieldMap, actualFieldMap);
     }
 
+    @Test
+    public void testInsertEntries() {
+        BibEntry existingEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(existingEntry);
+
+        List<BibEntry> bibEntries = new ArrayList<>();
+        bibEntries.add(existingEntry); // does not insert, due to existing sharedID.
+        for (int i = 0; i < (DBMSProcessor.INSERT_BATCH_SIZE + 1); i++) {
+            bibEntries.add(getBibEntryExample(i));
+        }
+
+        dbmsProcessor.insertEntries(bibEntries);
+
+        Set<Integer> sharedIDs = new HashSet<>();
+        for (BibEntry bibEntry : bibEntries) {
+            Assert.assertTrue(sharedIDs.add(bibEntry.getSharedBibEntryData().getSharedID()));
+        }
+        Assert.assertEquals(bibEntries, dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    public void testInsertEntriesWithDifferentFields() {
+        List<BibEntry> bibEntries = new ArrayList<>();
+        for (int i = 0; i < (DBMSProcessor.INSERT_BATCH_SIZE + 1); i++) {
+            BibEntry bibEntry = getBibEntryExample(i);
+            if ((i % 3) == 0) {
+                bibEntry.setField("note", "Note " + i);
+            } else if ((i % 3) == 1) {
+                bibEntry.clearField("journal");
+            }
+            bibEntries.add(bibEntry);
+        }
+        bibEntries.add(new BibEntry());
+
+        List<BibEntry> insertedEntries = dbmsProcessor.insertEntries(bibEntries);
+
+        Assert.assertEquals(bibEntries, insertedEntries);
+        for (BibEntry bibEntry : bibEntries) {
+            Assert.assertNotEquals(-1, bibEntry.getSharedBibEntryData().getSharedID());
+        }
+        Assert.assertEquals(bibEntries, dbmsProcessor.getSharedEntries());
+    }
+
     @Test
     public void testUpdateEntry() throws OfflineLockException, SQLException {
         BibEntry expectedEntry = getBibEntryExample();
@@ -99,7 +146,7 @@ public class DBMSProcessorTest {
         expectedEntry.setField("customField", "custom value");
         expectedEntry.clearField("booktitle");
 
-        dbmsProcessor.updateEntry(expectedEntry);
+        Assert.assertTrue(dbmsProcessor.updateEntry(expectedEntry));
 
         Optional<BibEntry> actualEntryOptional = dbmsProcessor
                 .getSharedEntry(expectedEntry.getSharedBibEntryData().getSharedID());
@@ -143,6 +190,30 @@ public class DBMSProcessorTest {
         }
     }
 
+    @Test
+    public void testUpdateRemovedEntry() throws OfflineLockException, SQLException {
+        BibEntry bibEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(bibEntry);
+        dbmsProcessor.removeEntry(bibEntry);
+
+        bibEntry.setField("year", "1993");
+
+        Assert.assertFalse(dbmsProcessor.updateEntry(bibEntry));
+    }
+
+    @Test
+    public void testRemoveEntriesReturnsRemovedEntries() {
+        BibEntry removedEntry = getBibEntryExample();
+        BibEntry notExistingEntry = getBibEntryExample();
+        notExistingEntry.setField("year", "1995");
+        dbmsProcessor.insertEntry(removedEntry);
+        dbmsProcessor.insertEntry(notExistingEntry);
+        dbmsProcessor.removeEntry(notExistingEntry);
+
+        Assert.assertEquals(Collections.singletonList(removedEntry),
+                dbmsProcessor.removeEntries(Arrays.asList(removedEntry, notExistingEntry)));
+    }
+
     @Test
     public void testRemoveEntry() throws SQLException {
         BibEntry bibEntry = getBibEntryExample();
@@ -182,6 +253,28 @@ public class DBMSProcessorTest {
         }
     }
 
+    @Test
+    public void testGetSharedEntriesByIDs() {
+        List<BibEntry> bibEntries = new ArrayList<>();
+        for (int i = 0; i < (DBMSProcessor.SELECT_BATCH_SIZE + 10); i++) { // even number of entries
+            bibEntries.add(getBibEntryExample(i));
+        }
+        dbmsProcessor.insertEntries(bibEntries);
+
+        List<Integer> sharedIDs = new ArrayList<>();
+        sharedIDs.add(-5); // not existing
+        for (int i = bibEntries.size() - 1; i >= 0; i -= 2) {
+            sharedIDs.add(bibEntries.get(i).getSharedBibEntryData().getSharedID());
+        }
+
+        List<BibEntry> expectedEntries = new ArrayList<>();
+        for (int i = 1; i < bibEntries.size(); i += 2) {
+            expectedEntries.add(bibEntries.get(i));
+        }
+
+        Assert.assertEquals(expectedEntries, dbmsProcessor.getSharedEntries(sharedIDs));
+    }
+
     @Test
     public void testGetNotExistingSharedEntry() {
         Optional<BibEntry> actualBibEntryOptional = dbmsProcessor.getSharedEntry(1);
@@ -251,6 +344,17 @@ public class DBMSProcessorTest {
         return bibEntry;
     }
 
+    private BibEntry getBibEntryExample(int index) {
+        BibEntry bibEntry = new BibEntry();
+        bibEntry.setType("article");
+        bibEntry.setField("author", "Author " + index);
+        bibEntry.setField("title", "Title " + index);
+        bibEntry.setField("journal", "Journal " + (index % 10));
+        bibEntry.setField("year", String.valueOf(1950 + (index % 70)));
+        bibEntry.setCiteKey("key" + index);
+        return bibEntry;
+    }
+
     private BibEntry getBibEntryExample() {
         BibEntry bibEntry = new BibEntry();
         bibEntry.setType("inproceedings");
@@ -7,6 +7,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import net.sf.jabref.logic.exporter.MetaDataSerializer;
 import net.sf.jabref.logic.formatter.casechanger.LowerCaseFormatter;
@@ -57,7 +58,7 @@ public class DBMSSynchronizerTest {
         dbmsSynchronizer = new DBMSSynchronizer(context, ',', pattern);
         dbmsProcessor = DBMSProcessor.getProcessorInstance(dbmsConnection);
 
-        bibDatabase.registerListener(dbmsSynchronizer);
+        bibDatabase.addListener(dbmsSynchronizer);
 
         dbmsSynchronizer.openSharedDatabase(dbmsConnection);
 
@@ -76,6 +77,7 @@ public class DBMSSynchronizerTest {
         bibDatabase.insertEntry(expectedEntry);
         // should not add into shared database.
         bibDatabase.insertEntry(furtherEntry, EntryEventSource.SHARED);
+        dbmsSynchronizer.flushPendingChanges();
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
 
@@ -86,11 +88,14 @@ public class DBMSSynchronizerTest {
     @Test
     public void testFieldChangedEventListener() {
         BibEntry expectedEntry = getBibEntryExample(1);
-        expectedEntry.registerListener(dbmsSynchronizer);
 
         bibDatabase.insertEntry(expectedEntry);
+        dbmsSynchronizer.flushPendingChanges();
         expectedEntry.setField("author", "Brad L and Gilson");
+        dbmsSynchronizer.flushPendingChanges();
+        // should not be queued, as pending changes are written with the current fields of the entry
         expectedEntry.setField("title", "The micro multiplexer", EntryEventSource.SHARED);
+        Assert.assertEquals(0, dbmsSynchronizer.getPendingChangeCount());
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
         Assert.assertEquals(1, actualEntries.size());
@@ -103,30 +108,127 @@ public class DBMSSynchronizerTest {
     public void testEntryRemovedEventListener() {
         BibEntry bibEntry = getBibEntryExample(1);
         bibDatabase.insertEntry(bibEntry);
+        dbmsSynchronizer.flushPendingChanges();
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
         Assert.assertEquals(1, actualEntries.size());
         Assert.assertEquals(bibEntry, actualEntries.get(0));
 
         bibDatabase.removeEntry(bibEntry);
+        dbmsSynchronizer.flushPendingChanges();
         actualEntries = dbmsProcessor.getSharedEntries();
 
         Assert.assertEquals(0, actualEntries.size());
 
         bibDatabase.insertEntry(bibEntry);
         bibDatabase.removeEntry(bibEntry, EntryEventSource.SHARED);
+        dbmsSynchronizer.flushPendingChanges();
 
         actualEntries = dbmsProcessor.getSharedEntries();
         Assert.assertEquals(1, actualEntries.size());
         Assert.assertEquals(bibEntry, actualEntries.get(0));
     }
 
+    @Test
+    public void testPendingChangesAreCoalesced() {
+        BibEntry changedEntry = getBibEntryExample(1);
+        BibEntry removedEntry = getBibEntryExample(2);
+
+        bibDatabase.insertEntry(changedEntry);
+        changedEntry.setField("author", "Brad L and Gilson");
+        changedEntry.setField("year", "1995");
+        bibDatabase.insertEntry(removedEntry);
+        removedEntry.setField("author", "Brad L and Gilson");
+        bibDatabase.removeEntry(removedEntry);
+
+        Assert.assertEquals(1, dbmsSynchronizer.getPendingChangeCount());
+        dbmsSynchronizer.flushPendingChanges();
+        Assert.assertEquals(0, dbmsSynchronizer.getPendingChangeCount());
+
+        List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
+        Assert.assertEquals(1, actualEntries.size());
+        Assert.assertEquals(changedEntry, actualEntries.get(0));
+    }
+
+    @Test
+    public void testManyPendingChanges() {
+        for (int i = 0; i < 1000; i++) {
+            bibDatabase.insertEntry(getBibEntryExample(i));
+        }
+
+        dbmsSynchronizer.flushPendingChanges();
+        Assert.assertEquals(1000, dbmsProcessor.getSharedEntries().size());
+    }
+
+    @Test
+    public void testPullChangesKeepsQueuedEntries() {
+        dbmsProcessor.insertEntry(getBibEntryExample(1));
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        BibEntry queuedEntry = getBibEntryExample(2);
+        queuedEntry.getSharedBibEntryData().setSharedID(-1);
+        bibDatabase.insertEntry(queuedEntry);
+
+        dbmsSynchronizer.pullChanges(); // testing point, before the queue is flushed
+
+        Assert.assertTrue(bibDatabase.containsEntryWithId(queuedEntry.getId()));
+        dbmsSynchronizer.flushPendingChanges();
+        Assert.assertEquals(2, bibDatabase.getEntryCount());
+        Assert.assertEquals(2, dbmsProcessor.getSharedEntries().size());
+    }
+
+    @Test
+    public void testPullChangesKeepsQueuedUpdate() throws OfflineLockException, SQLException {
+        BibEntry localEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(localEntry);
+        dbmsSynchronizer.flushPendingChanges();
+        SynchronizationTestEventListener eventListener = new SynchronizationTestEventListener();
+        dbmsSynchronizer.registerListener(eventListener);
+
+        BibEntry sharedEntry = getBibEntryExample(1);
+        sharedEntry.getSharedBibEntryData().setSharedID(localEntry.getSharedBibEntryData().getSharedID());
+        sharedEntry.getSharedBibEntryData().setVersion(localEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.setField("title", "Changed by another client");
+        dbmsProcessor.updateEntry(sharedEntry);
+
+        localEntry.setField("title", "Changed locally");
+        dbmsSynchronizer.pullChanges(); // testing point, before the update is flushed
+
+        Assert.assertEquals(Optional.of("Changed locally"), localEntry.getField("title"));
+        dbmsSynchronizer.flushPendingChanges();
+        Assert.assertNotNull(eventListener.getUpdateRefusedEvent());
+    }
+
+    @Test
+    public void testPullChangesDoesNotRestoreQueuedRemoval() {
+        BibEntry removedEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(removedEntry);
+        dbmsSynchronizer.flushPendingChanges();
+        SynchronizationTestEventListener eventListener = new SynchronizationTestEventListener();
+        dbmsSynchronizer.registerListener(eventListener);
+        // another client inserts an entry, so that the pull fetches the shared entries
+        dbmsProcessor.insertEntry(getBibEntryExample(2));
+
+        bibDatabase.removeEntry(removedEntry);
+        dbmsSynchronizer.pullChanges(); // testing point, before the removal is flushed
+
+        Assert.assertEquals(1, bibDatabase.getEntryCount());
+        Assert.assertFalse(bibDatabase.containsEntryWithId(removedEntry.getId()));
+        dbmsSynchronizer.flushPendingChanges();
+        dbmsSynchronizer.pullChanges();
+
+        Assert.assertEquals(1, bibDatabase.getEntryCount());
+        Assert.assertEquals(1, dbmsProcessor.getSharedEntries().size());
+        Assert.assertNull(eventListener.getSharedEntryNotPresentEvent());
+    }
+
     @Test
     public void testMetaDataChangedEventListener() {
         MetaData testMetaData = new MetaData();
-        testMetaData.registerListener(dbmsSynchronizer);
+        testMetaData.addListener(dbmsSynchronizer);
         dbmsSynchronizer.setMetaData(testMetaData);
         testMetaData.setMode(BibDatabaseMode.BIBTEX);
+        dbmsSynchronizer.flushPendingChanges();
 
         Map<String, String> expectedMap = MetaDataSerializer.getSerializedStringMap(testMetaData, pattern);
         Map<String, String> actualMap = dbmsProcessor.getSharedMetaData();
@@ -170,6 +272,7 @@ public class DBMSSynchronizerTest {
     public void testSynchronizeLocalDatabaseWithEntryUpdate() throws OfflineLockException, SQLException {
         BibEntry bibEntry = getBibEntryExample(1);
         bibDatabase.insertEntry(bibEntry);
+        dbmsSynchronizer.flushPendingChanges();
         Assert.assertEquals(1, bibDatabase.getEntries().size());
 
         BibEntry modifiedBibEntry = getBibEntryExample(1);
@@ -184,10 +287,74 @@ public class DBMSSynchronizerTest {
         Assert.assertEquals(bibDatabase.getEntries(), dbmsProcessor.getSharedEntries());
     }
 
+    @Test
+    public void testSynchronizeLocalDatabaseAfterUnchangedSynchronization() throws OfflineLockException, SQLException {
+        BibEntry bibEntry = getBibEntryExample(1);
+        dbmsProcessor.insertEntry(bibEntry);
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+        dbmsSynchronizer.synchronizeLocalDatabase(); // nothing changed in between
+
+        BibEntry modifiedBibEntry = getBibEntryExample(1);
+        modifiedBibEntry.getSharedBibEntryData().setSharedID(bibEntry.getSharedBibEntryData().getSharedID());
+        modifiedBibEntry.setField("custom", "custom value");
+        dbmsProcessor.updateEntry(modifiedBibEntry);
+
+        dbmsSynchronizer.synchronizeLocalDatabase(); // testing point
+
+        Assert.assertEquals(dbmsProcessor.getSharedEntries(), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabaseWithLocallyRemovedEntry() {
+        dbmsProcessor.insertEntry(getBibEntryExample(1));
+        dbmsProcessor.insertEntry(getBibEntryExample(2));
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        // the shared database does not change, but the local one does not correspond to it anymore
+        bibDatabase.removeEntry(bibDatabase.getEntries().get(0), EntryEventSource.SHARED);
+
+        dbmsSynchronizer.synchronizeLocalDatabase(); // testing point
+
+        Assert.assertEquals(2, bibDatabase.getEntryCount());
+    }
+
+    @Test
+    public void testUnchangedSynchronizationFetchesNothing() {
+        dbmsProcessor.insertEntry(getBibEntryExample(1));
+        dbmsProcessor.insertEntry(getBibEntryExample(2));
+        dbmsSynchronizer.synchronizeLocalDatabase();
+        int fetchCount = dbmsSynchronizer.getSharedIDVersionFetchCount();
+
+        dbmsSynchronizer.synchronizeLocalDatabase(); // testing point
+
+        Assert.assertEquals(fetchCount, dbmsSynchronizer.getSharedIDVersionFetchCount());
+        Assert.assertEquals(2, bibDatabase.getEntryCount());
+    }
+
+    @Test
+    public void testOwnChangesDoNotCauseFetch() {
+        BibEntry changedEntry = getBibEntryExample(1);
+        BibEntry removedEntry = getBibEntryExample(2);
+        int fetchCount = dbmsSynchronizer.getSharedIDVersionFetchCount();
+
+        bibDatabase.insertEntry(changedEntry);
+        bibDatabase.insertEntry(removedEntry);
+        dbmsSynchronizer.flushPendingChanges();
+        changedEntry.setField("author", "Brad L and Gilson");
+        bibDatabase.removeEntry(removedEntry);
+        dbmsSynchronizer.flushPendingChanges();
+        dbmsSynchronizer.synchronizeLocalDatabase(); // testing point
+
+        Assert.assertEquals(fetchCount, dbmsSynchronizer.getSharedIDVersionFetchCount());
+        Assert.assertEquals(dbmsProcessor.getSharedEntries(), bibDatabase.getEntries());
+    }
+
     @Test
     public void testApplyMetaData() {
         BibEntry bibEntry = getBibEntryExample(1);
         bibDatabase.insertEntry(bibEntry);
+        dbmsSynchronizer.flushPendingChanges();
 
         MetaData testMetaData = new MetaData();
         testMetaData.setSaveActions(new FieldFormatterCleanups(true,
@@ -60,6 +60,7 @@ public class SynchronizationTestSimulator {
     public void simulateEntryInsertionAndManualPull() {
         clientContextA.getDatabase().insertEntry(getBibEntryExample(1)); // client A inserts an entry
         clientContextA.getDatabase().insertEntry(getBibEntryExample(2)); // client A inserts another entry
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
         clientContextB.getDBMSSynchronizer().pullChanges(); // client B pulls the changes
 
         Assert.assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
@@ -71,6 +72,7 @@ public class SynchronizationTestSimulator {
         clientContextA.getDatabase().insertEntry(bibEntry); // client A inserts an entry
         bibEntry.setField("custom", "custom value"); // client A changes the entry
         bibEntry.clearField("author");
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
 
         clientContextB.getDBMSSynchronizer().pullChanges(); // client B pulls the changes
 
@@ -81,6 +83,7 @@ public class SynchronizationTestSimulator {
     public void simulateEntryDelitionAndManualPull() {
         BibEntry bibEntry = getBibEntryExample(1);
         clientContextA.getDatabase().insertEntry(bibEntry); // client A inserts an entry
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
         clientContextB.getDBMSSynchronizer().pullChanges(); // client B pulls the entry
 
         Assert.assertFalse(clientContextA.getDatabase().getEntries().isEmpty());
@@ -88,6 +91,7 @@ public class SynchronizationTestSimulator {
         Assert.assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
 
         clientContextA.getDatabase().removeEntry(bibEntry); // client A removes the entry
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
         clientContextB.getDBMSSynchronizer().pullChanges(); // client B pulls the change
 
         Assert.assertTrue(clientContextA.getDatabase().getEntries().isEmpty());
@@ -98,6 +102,7 @@ public class SynchronizationTestSimulator {
     public void simulateUpdateOnNoLongerExistingEntry() {
         BibEntry bibEntryOfClientA = getBibEntryExample(1);
         clientContextA.getDatabase().insertEntry(bibEntryOfClientA); // client A inserts an entry
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
         clientContextB.getDBMSSynchronizer().pullChanges(); // client B pulls the entry
 
         Assert.assertFalse(clientContextA.getDatabase().getEntries().isEmpty());
@@ -105,12 +110,14 @@ public class SynchronizationTestSimulator {
         Assert.assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
 
         clientContextA.getDatabase().removeEntry(bibEntryOfClientA); // client A removes the entry
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
 
         Assert.assertFalse(clientContextB.getDatabase().getEntries().isEmpty());
         Assert.assertNull(eventListenerB.getSharedEntryNotPresentEvent());
 
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0); // client B tries to update the entry
         bibEntryOfClientB.setField("year", "2009");
+        clientContextB.getDBMSSynchronizer().flushPendingChanges();
 
         // here a new SharedEntryNotPresentEvent has been thrown. In this case the user B would get an pop-up window.
         Assert.assertNotNull(eventListenerB.getSharedEntryNotPresentEvent());
@@ -121,9 +128,11 @@ public class SynchronizationTestSimulator {
     public void simulateEntryChangeConflicts() {
         BibEntry bibEntryOfClientA = getBibEntryExample(1);
         clientContextA.getDatabase().insertEntry(bibEntryOfClientA); // client A inserts an entry
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
         clientContextB.getDBMSSynchronizer().pullChanges(); // client B pulls the entry
 
         bibEntryOfClientA.setField("year", "2001"); // A now increases the version number
+        clientContextA.getDBMSSynchronizer().flushPendingChanges();
 
         // B does nothing here, so there is no event occurrence
 
@@ -134,6 +143,7 @@ public class SynchronizationTestSimulator {
 
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0);
         bibEntryOfClientB.setField("year", "2016"); // B also tries to change something
+        clientContextB.getDBMSSynchronizer().flushPendingChanges();
 
         // B now can not update the shared entry, due to optimistic offline lock.
         // In this case an BibEntry merge dialog pops up.
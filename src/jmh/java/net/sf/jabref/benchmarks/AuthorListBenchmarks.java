@@ -0,0 +1,60 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.logic.bibtex.comparator.FieldComparator;
+import net.sf.jabref.logic.layout.LayoutFormatter;
+import net.sf.jabref.logic.layout.format.AuthorLastFirstAbbrCommas;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sorts 100000 entries by author and formats their authors as an export does, sequentially and in parallel. Both parse
+ * the author fields over and over again, thus they mostly measure the author list cache.
+ */
+@State(Scope.Benchmark)
+public class AuthorListBenchmarks {
+
+    private static final int ENTRIES = 100000;
+
+    private final LayoutFormatter formatter = new AuthorLastFirstAbbrCommas();
+    private List<BibEntry> entries;
+
+
+    @Setup
+    public void init() {
+        entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setField("author", "Firstname" + i + " von Lastname" + (i % 5000)
+                    + " and FirstnameA LastnameA and Lastname" + (i % 100) + ", Jr., FirstnameB");
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public List<BibEntry> sortByAuthor() {
+        List<BibEntry> sortedEntries = new ArrayList<>(entries);
+        sortedEntries.sort(new FieldComparator("author"));
+        return sortedEntries;
+    }
+
+    @Benchmark
+    public List<String> formatAuthors() {
+        return entries.stream().map(entry -> formatter.format(entry.getField("author").get()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> formatAuthorsInParallel() {
+        return entries.parallelStream().map(entry -> formatter.format(entry.getField("author").get()))
+                .collect(Collectors.toList());
+    }
+}
@@ -16,6 +16,7 @@ import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.importer.fileformat.BibtexParser;
 import net.sf.jabref.logic.layout.format.HTMLChars;
 import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import net.sf.jabref.logic.search.SearchIndex;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.Defaults;
 import net.sf.jabref.model.database.BibDatabase;
@@ -40,6 +41,7 @@ public class Benchmarks {
 
     private String bibtexString;
     private final BibDatabase database = new BibDatabase();
+    private SearchIndex searchIndex;
     private String latexConversionString;
     private String htmlConversionString;
 
@@ -65,6 +67,8 @@ public class Benchmarks {
                 new SavePreferences());
         bibtexString = saveSession.getStringValue();
 
+        searchIndex = new SearchIndex(database);
+
         latexConversionString = "{A} \\textbf{bold} approach {\\it to} ${{\\Sigma}}{\\Delta}$ modulator \\textsuperscript{2} \\$";
 
         htmlConversionString = "<b>&Ouml;sterreich</b> &#8211; &amp; characters &#x2aa2; <i>italic</i>";
@@ -99,6 +103,12 @@ public class Benchmarks {
         return database.getEntries().parallelStream().filter(searchQuery::isMatch).collect(Collectors.toList());
     }
 
+    @Benchmark
+    public List<BibEntry> indexedSearch() {
+        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
+        return searchIndex.getMatches(searchQuery);
+    }
+
     @Benchmark
     public BibDatabaseMode inferBibDatabaseMode() {
         return BibDatabaseModeDetection.inferMode(database);
@@ -0,0 +1,61 @@
+package net.sf.jabref.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jabref.logic.bst.VM;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.antlr.runtime.RecognitionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generates the bbl output of 10000 entries of various types with abbrv.bst.
+ */
+@State(Scope.Thread)
+public class BstBenchmarks {
+
+    private static final int ENTRIES = 10000;
+    private static final String[] TYPES = {"article", "book", "inproceedings", "incollection", "techreport", "misc"};
+
+    private VM vm;
+    private List<BibEntry> entries;
+
+
+    @Setup
+    public void init() throws RecognitionException, IOException {
+        vm = new VM(new File("src/test/resources/net/sf/jabref/logic/bst/abbrv.bst"));
+
+        Random random = new Random(42);
+        entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType(TYPES[random.nextInt(TYPES.length)]);
+            entry.setCiteKey("Lastname" + i);
+            entry.setField("author", "Firstname" + i + " von Lastname" + (i % 500) + " and Lastname" + (i % 30)
+                    + ", Jr., FirstnameB and FirstnameC {L}astname{\\\"u}");
+            entry.setField("title", "The {T}itle of Entry " + i + ": A Case Study");
+            entry.setField("journal", "Journal " + (i % 20));
+            entry.setField("booktitle", "Proceedings of the Conference " + (i % 40));
+            entry.setField("publisher", "Publisher " + (i % 10));
+            entry.setField("institution", "Institution " + (i % 10));
+            entry.setField("volume", String.valueOf(i % 40));
+            entry.setField("number", String.valueOf(i % 12));
+            entry.setField("pages", i + "--" + (i + 10));
+            entry.setField("month", "jul");
+            entry.setField("year", String.valueOf(1950 + (i % 60)));
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public String runAbbrv() {
+        return vm.run(entries);
+    }
+}
@@ -0,0 +1,56 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.logic.citationstyle.CitationStyleCache;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Renders the previews of 1000 entries in the default citation style, one after another and from several threads. Each
+ * invocation starts with an empty {@link CitationStyleCache}, thus every entry is rendered with a pooled engine.
+ */
+@State(Scope.Benchmark)
+public class CitationStyleBenchmarks {
+
+    private static final int ENTRIES = 1000;
+
+    private List<BibEntry> entries;
+
+
+    @Setup
+    public void init() {
+        entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey("Lastname" + i + "2016");
+            entry.setField("author", "Firstname" + i + " Lastname" + i + " and FirstnameA LastnameA");
+            entry.setField("title", "Title of the entry " + i);
+            entry.setField("journal", "Journal " + (i % 20));
+            entry.setField("volume", String.valueOf(i % 40));
+            entry.setField("pages", i + "--" + (i + 10));
+            entry.setField("year", String.valueOf(1950 + (i % 60)));
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public List<String> generateCitations() {
+        CitationStyleCache cache = new CitationStyleCache(new BibDatabaseContext());
+        return entries.stream().map(cache::getCitationFor).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> generateCitationsInParallel() {
+        CitationStyleCache cache = new CitationStyleCache(new BibDatabaseContext());
+        return entries.parallelStream().map(cache::getCitationFor).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,79 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares finding all duplicates by comparing every pair with the candidate pairs of the blocking index. The recall
+ * of the blocking index is checked by DuplicateCheckTest.
+ */
+@State(Scope.Benchmark)
+public class DuplicateDetectionBenchmarks {
+
+    private static final String[] WORDS = {"analysis", "software", "process", "model", "evaluation", "parallel",
+            "distributed", "system", "approach", "engineering", "data", "learning", "graph", "network", "design"};
+
+    @Param({"1000", "5000"})
+    private int size;
+
+    private final List<BibEntry> entries = new ArrayList<>();
+
+
+    @Setup
+    public void init() {
+        Random random = new Random(42);
+        entries.clear();
+        for (int i = 0; i < size; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setField("author", "Lastname" + random.nextInt(size / 4) + ", Firstname and Other, Author");
+            StringBuilder title = new StringBuilder();
+            for (int j = 0; j < 6; j++) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            entry.setField("title", title.append(i).toString());
+            entry.setField("journal", "Journal " + random.nextInt(50));
+            entry.setField("year", String.valueOf(1990 + random.nextInt(25)));
+            entries.add(entry);
+
+            if ((i % 10) == 0) {
+                // a slightly different copy, as produced by importing the same publication twice
+                BibEntry copy = (BibEntry) entry.clone();
+                copy.setField("title", entry.getField("title").get().replaceFirst("a", "e"));
+                entries.add(copy);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<List<BibEntry>> bruteForce() {
+        List<List<BibEntry>> duplicates = new ArrayList<>();
+        for (int i = 0; i < (entries.size() - 1); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                if (DuplicateCheck.isDuplicate(entries.get(i), entries.get(j), BibDatabaseMode.BIBTEX)) {
+                    List<BibEntry> pair = new ArrayList<>(2);
+                    pair.add(entries.get(i));
+                    pair.add(entries.get(j));
+                    duplicates.add(pair);
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    @Benchmark
+    public List<List<BibEntry>> blocking() {
+        return DuplicateCheck.findDuplicates(entries, BibDatabaseMode.BIBTEX);
+    }
+}
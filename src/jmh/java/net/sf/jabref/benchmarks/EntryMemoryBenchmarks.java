@@ -0,0 +1,66 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Creates many typical entries, both plain ones and ones inserted into a database as when opening a library, and
+ * determines the heap they retain. Run it with <code>-prof net.sf.jabref.benchmarks.RetainedSizeProfiler</code> on two
+ * revisions to compare the memory footprint of {@link BibEntry}: <code>retained.bytes.per.entry</code> is the heap
+ * retained per entry. The time includes walking the retained objects, which needs a larger heap.
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = "-Xmx3g")
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntryMemoryBenchmarks {
+
+    private static final int ENTRIES = 100000;
+
+
+    @Benchmark
+    public long createEntries() {
+        List<BibEntry> entries = createTypicalEntries();
+        return RetainedSizeProfiler.measure(entries, entries.size());
+    }
+
+    @Benchmark
+    public long openLibrary() {
+        BibDatabase database = new BibDatabase();
+        for (BibEntry entry : createTypicalEntries()) {
+            database.insertEntry(entry);
+        }
+        return RetainedSizeProfiler.measure(database, ENTRIES);
+    }
+
+    private static List<BibEntry> createTypicalEntries() {
+        List<BibEntry> entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey("id" + i);
+            entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField("title", "This is my title " + i);
+            entry.setField("journal", "Journal Title " + (i % 100));
+            entry.setField("year", String.valueOf(1950 + (i % 70)));
+            entry.setField("volume", String.valueOf(i % 50));
+            entry.setField("pages", i + "--" + (i + 10));
+            entry.setField("keywords", "testkeyword");
+            entry.getLatexFreeField("title");
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,89 @@
+package net.sf.jabref.benchmarks;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.event.ListenerList;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the cost of notifying a listener of a field change through an {@link EventBus} and a {@link ListenerList},
+ * and the cost of changing a field of an entry of a database with either kind of listener.
+ */
+@State(Scope.Thread)
+public class EventBenchmarks {
+
+    private final EventBus eventBus = new EventBus();
+    private final ListenerList<BibDatabaseListener> listeners = new ListenerList<>();
+    private BibDatabase subscribedDatabase;
+    private BibDatabase listenedDatabase;
+    private BibEntry subscribedEntry;
+    private BibEntry listenedEntry;
+    private FieldChangedEvent event;
+    private Blackhole blackhole;
+    private int changes;
+
+
+    @Setup
+    public void init(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        event = new FieldChangedEvent(new BibEntry(), "title", "new", "old");
+        eventBus.register(new Subscriber());
+        listeners.add(new Listener());
+
+        subscribedDatabase = new BibDatabase();
+        subscribedDatabase.registerListener(new Subscriber());
+        subscribedEntry = new BibEntry();
+        subscribedDatabase.insertEntry(subscribedEntry);
+
+        listenedDatabase = new BibDatabase();
+        listenedDatabase.addListener(new Listener());
+        listenedEntry = new BibEntry();
+        listenedDatabase.insertEntry(listenedEntry);
+    }
+
+    @Benchmark
+    public void postToEventBus() {
+        eventBus.post(event);
+    }
+
+    @Benchmark
+    public void postToListenerList() {
+        listeners.post(event, BibDatabaseListener::listen);
+    }
+
+    @Benchmark
+    public void changeFieldWithSubscriber() {
+        subscribedEntry.setField("title", String.valueOf(changes++));
+    }
+
+    @Benchmark
+    public void changeFieldWithListener() {
+        listenedEntry.setField("title", String.valueOf(changes++));
+    }
+
+
+    public class Subscriber {
+
+        @Subscribe
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            blackhole.consume(fieldChangedEvent);
+        }
+    }
+
+    public class Listener implements BibDatabaseListener {
+
+        @Override
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            blackhole.consume(fieldChangedEvent);
+        }
+    }
+}
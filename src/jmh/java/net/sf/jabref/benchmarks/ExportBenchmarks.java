@@ -0,0 +1,79 @@
+package net.sf.jabref.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.exporter.ExportFormats;
+import net.sf.jabref.logic.exporter.IExportFormat;
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Exports a library of 50000 entries with the given template based export format.
+ */
+@State(Scope.Benchmark)
+public class ExportBenchmarks {
+
+    @Param({"html", "ris", "docbook"})
+    private String format;
+
+    private IExportFormat exportFormat;
+    private BibDatabaseContext databaseContext;
+    private List<BibEntry> entries;
+    private Path outputFile;
+
+
+    @Setup
+    public void init() throws Exception {
+        Globals.prefs = JabRefPreferences.getInstance();
+        Globals.journalAbbreviationLoader = new JournalAbbreviationLoader();
+        ExportFormats.initAllExports(Collections.emptyMap(),
+                Globals.prefs.getLayoutFormatterPreferences(Globals.journalAbbreviationLoader),
+                SavePreferences.loadForExportFromPreferences(Globals.prefs));
+        exportFormat = ExportFormats.getExportFormat(format);
+
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < 50000; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey("id" + i);
+            entry.setField("title", "This is my title " + i);
+            entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField("journal", "Journal Title " + i);
+            entry.setField("keywords", "testkeyword");
+            entry.setField("year", "1" + i);
+            entry.setField("abstract", "An abstract with {\\\"u}mlauts and $\\alpha$ math " + i);
+            database.insertEntry(entry);
+        }
+        databaseContext = new BibDatabaseContext(database, new MetaData(), new Defaults());
+        entries = database.getEntries();
+        outputFile = Files.createTempFile("jabref-export", ".out");
+    }
+
+    @TearDown
+    public void deleteOutputFile() throws Exception {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public void export() throws Exception {
+        exportFormat.performExport(databaseContext, outputFile.toString(), StandardCharsets.UTF_8, entries);
+    }
+}
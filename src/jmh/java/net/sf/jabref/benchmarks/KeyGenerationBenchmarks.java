@@ -0,0 +1,69 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.List;
+
+import net.sf.jabref.logic.bibtexkeypattern.BibtexKeyPatternPreferences;
+import net.sf.jabref.logic.bibtexkeypattern.BibtexKeyPatternUtil;
+import net.sf.jabref.model.bibtexkeypattern.AbstractBibtexKeyPattern;
+import net.sf.jabref.model.bibtexkeypattern.DatabaseBibtexKeyPattern;
+import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generates keys for a library of 50000 entries, one entry after the other and in bulk. Many entries share an author
+ * and a year, thus the duplicate resolution is exercised as well.
+ */
+@State(Scope.Thread)
+public class KeyGenerationBenchmarks {
+
+    private static final int ENTRIES = 50000;
+
+    private BibDatabase database;
+    private DatabaseBibtexKeyPattern keyPattern;
+    private BibtexKeyPatternPreferences preferences;
+
+
+    @Setup
+    public void initPattern() {
+        GlobalBibtexKeyPattern globalPattern = new GlobalBibtexKeyPattern(
+                AbstractBibtexKeyPattern.split("[auth][year][shorttitle:lower]"));
+        keyPattern = new DatabaseBibtexKeyPattern(globalPattern);
+        preferences = new BibtexKeyPatternPreferences("Lastname", "LN", false, true, true, globalPattern, ',');
+    }
+
+    @Setup(Level.Invocation)
+    public void initDatabase() {
+        database = new BibDatabase();
+        for (int i = 0; i < ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setField("author", "Firstname Lastname" + (i % 1000) + " and FirstnameA LastnameA");
+            entry.setField("title", "This is my title " + (i % 10));
+            entry.setField("journal", "Journal Title " + (i % 100));
+            entry.setField("year", String.valueOf(1950 + (i % 70)));
+            database.insertEntry(entry);
+        }
+    }
+
+    @Benchmark
+    public BibDatabase generateKeysOneByOne() {
+        for (BibEntry entry : database.getEntries()) {
+            BibtexKeyPatternUtil.makeLabel(keyPattern, database, entry, preferences);
+        }
+        return database;
+    }
+
+    @Benchmark
+    public BibDatabase generateKeysInBulk() {
+        List<BibEntry> entries = database.getEntries();
+        BibtexKeyPatternUtil.makeLabels(keyPattern, database, entries, preferences);
+        return database;
+    }
+}
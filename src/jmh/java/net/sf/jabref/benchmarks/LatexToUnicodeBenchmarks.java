@@ -0,0 +1,52 @@
+package net.sf.jabref.benchmarks;
+
+import net.sf.jabref.model.strings.LatexToUnicode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts typical field contents from LaTeX to unicode: plain text, names with accents, titles with commands and
+ * math, and a long abstract.
+ */
+@State(Scope.Thread)
+public class LatexToUnicodeBenchmarks {
+
+    @Param({"plain", "accents", "commands", "abstract"})
+    private String kind;
+
+    private final LatexToUnicode converter = new LatexToUnicode();
+    private String text;
+
+
+    @Setup
+    public void init() {
+        switch (kind) {
+        case "plain":
+            text = "A fast and simple algorithm for the maximum flow problem";
+            break;
+        case "accents":
+            text = "M{\\\"u}ller, J{\\\"o}rg and Ren{\\'e} Fran\\c{c}ois and {\\AA}ngstr{\\\"o}m, Anders and Dvo{\\v{r}}{\\'a}k, Anton{\\'\\i}n";
+            break;
+        case "commands":
+            text = "{A} \\textbf{bold} approach {\\it to} ${{\\Sigma}}{\\Delta}$ modulator \\textsuperscript{2} \\$";
+            break;
+        default:
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                builder.append("We show that $\\alpha \\leq \\beta$ holds for all M{\\\"o}bius~transforms \\cite{key")
+                        .append(i).append("} \\& discuss the {\\em consequences}.\n");
+            }
+            text = builder.toString();
+            break;
+        }
+    }
+
+    @Benchmark
+    public String convert() {
+        return converter.format(text);
+    }
+}
@@ -0,0 +1,61 @@
+package net.sf.jabref.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.logic.exporter.StringSaveSession;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.importer.fileformat.ParallelBibtexParser;
+import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class ParallelParserBenchmarks {
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private String bibtexString;
+
+
+    @Setup
+    public void init() throws Exception {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < 50000; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setCiteKey("id" + i);
+            entry.setField("title", "This is my title " + i);
+            entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField("journal", "Journal Title " + i);
+            entry.setField("keyword", "testkeyword");
+            entry.setField("year", "1" + i);
+            database.insertEntry(entry);
+        }
+        BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
+        StringSaveSession saveSession = databaseWriter.savePartOfDatabase(
+                new BibDatabaseContext(database, new MetaData(), new Defaults()), database.getEntries(),
+                new SavePreferences());
+        bibtexString = saveSession.getStringValue();
+    }
+
+    @Benchmark
+    public ParserResult parallelParse() throws IOException {
+        ParallelBibtexParser parser = new ParallelBibtexParser(Globals.prefs.getImportFormatPreferences(), threads);
+        return parser.parse(new StringReader(bibtexString));
+    }
+}
@@ -0,0 +1,52 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Reports the heap retained per entry, as measured by {@link #measure(Object, int)} during an iteration, as secondary
+ * result <code>retained.bytes.per.entry</code>. Enable it with
+ * <code>-prof net.sf.jabref.benchmarks.RetainedSizeProfiler</code>.
+ */
+public class RetainedSizeProfiler implements InternalProfiler {
+
+    private static volatile double retainedBytesPerEntry = Double.NaN;
+
+
+    /**
+     * Determines the size of all objects reachable from the given root with JOL.
+     *
+     * @return the retained size in bytes
+     */
+    public static long measure(Object root, int entryCount) {
+        long retainedBytes = GraphLayout.parseInstance(root).totalSize();
+        retainedBytesPerEntry = (double) retainedBytes / entryCount;
+        return retainedBytes;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Heap retained per entry, measured with JOL";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        retainedBytesPerEntry = Double.NaN;
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+            IterationParams iterationParams, IterationResult result) {
+        return Collections.singletonList(new ScalarResult("retained.bytes.per.entry", retainedBytesPerEntry,
+                "B/entry", AggregationPolicy.AVG));
+    }
+}
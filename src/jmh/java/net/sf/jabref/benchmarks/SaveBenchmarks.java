@@ -0,0 +1,71 @@
+package net.sf.jabref.benchmarks;
+
+import java.io.StringReader;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.logic.exporter.StringSaveSession;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.importer.fileformat.BibtexParser;
+import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Saves a parsed library after one of its entries has been edited, which is the common case when working with a
+ * large library. In contrast, {@link Benchmarks#write()} serializes entries which were never parsed.
+ */
+@State(Scope.Thread)
+public class SaveBenchmarks {
+
+    @Param({"1000", "10000", "100000"})
+    private int numberOfEntries;
+
+    private BibDatabaseContext databaseContext;
+    private BibEntry editedEntry;
+    private int edits;
+
+
+    @Setup
+    public void init() throws Exception {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey("id" + i);
+            entry.setField("title", "This is my title " + i);
+            entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField("journal", "Journal Title " + i);
+            entry.setField("keywords", "testkeyword");
+            entry.setField("year", "1" + i);
+            database.insertEntry(entry);
+        }
+        StringSaveSession saveSession = new BibtexDatabaseWriter<>(StringSaveSession::new).saveDatabase(
+                new BibDatabaseContext(database, new MetaData(), new Defaults()), new SavePreferences());
+
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences());
+        ParserResult result = parser.parse(new StringReader(saveSession.getStringValue()));
+        databaseContext = new BibDatabaseContext(result.getDatabase(), result.getMetaData(), new Defaults());
+        editedEntry = result.getDatabase().getEntries().get(numberOfEntries / 2);
+    }
+
+    @Benchmark
+    public String saveAfterEdit() throws Exception {
+        editedEntry.setField("note", "Edit " + edits++);
+        StringSaveSession saveSession = new BibtexDatabaseWriter<>(StringSaveSession::new)
+                .saveDatabase(databaseContext, new SavePreferences());
+        return saveSession.getStringValue();
+    }
+}
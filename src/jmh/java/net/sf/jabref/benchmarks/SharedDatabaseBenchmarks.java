@@ -0,0 +1,111 @@
+package net.sf.jabref.benchmarks;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jabref.model.bibtexkeypattern.AbstractBibtexKeyPattern;
+import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.shared.DBMSConnection;
+import net.sf.jabref.shared.DBMSConnectionProperties;
+import net.sf.jabref.shared.DBMSSynchronizer;
+import net.sf.jabref.shared.DBMSType;
+import net.sf.jabref.shared.exception.DatabaseNotSupportedException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Synchronizes a shared library of different sizes with a local one, as it happens on every change notification, and
+ * inserts as many entries into it one by one and in batches. Needs the MySQL database <code>jabref</code> on localhost
+ * which the database tests use as well. Its tables are dropped.
+ */
+@State(Scope.Benchmark)
+public class SharedDatabaseBenchmarks {
+
+    @Param({"100", "2000"})
+    private int entryCount;
+
+    private DBMSConnection connection;
+    private DBMSSynchronizer synchronizer;
+    private BibEntry changedEntry;
+    private int changeCount;
+
+
+    @Setup
+    public void init() throws SQLException, DatabaseNotSupportedException {
+        connection = new DBMSConnection(new DBMSConnectionProperties(DBMSType.MYSQL, "localhost",
+                DBMSType.MYSQL.getDefaultPort(), "jabref", "root", ""));
+        dropTables();
+
+        BibDatabase database = new BibDatabase();
+        synchronizer = new DBMSSynchronizer(new BibDatabaseContext(database), ',',
+                new GlobalBibtexKeyPattern(AbstractBibtexKeyPattern.split("[auth][year]")));
+        database.addListener(synchronizer);
+        synchronizer.openSharedDatabase(connection);
+
+        synchronizer.getDBProcessor().insertEntries(createEntries());
+        synchronizer.synchronizeLocalDatabase();
+        changedEntry = database.getEntries().get(0);
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        synchronizer.closeSharedDatabase();
+        connection = new DBMSConnection(connection.getProperties());
+        dropTables();
+        connection.getConnection().close();
+    }
+
+    @Benchmark
+    public void synchronizeUnchanged() {
+        synchronizer.synchronizeLocalDatabase();
+    }
+
+    @Benchmark
+    public void synchronizeAfterOwnChange() {
+        changedEntry.setField("note", String.valueOf(changeCount++));
+        synchronizer.flushPendingChanges();
+    }
+
+    @Benchmark
+    public void insertEntriesOneByOne() {
+        for (BibEntry entry : createEntries()) {
+            synchronizer.getDBProcessor().insertEntry(entry);
+        }
+    }
+
+    @Benchmark
+    public List<BibEntry> insertEntriesInBatches() {
+        return synchronizer.getDBProcessor().insertEntries(createEntries());
+    }
+
+    private List<BibEntry> createEntries() {
+        List<BibEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setField("author", "Firstname" + i + " Lastname" + i + " and FirstnameA LastnameA");
+            entry.setField("title", "Title of the entry " + i);
+            entry.setField("year", String.valueOf(1950 + (i % 60)));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private void dropTables() throws SQLException {
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS `FIELD`");
+            statement.executeUpdate("DROP TABLE IF EXISTS `ENTRY`");
+            statement.executeUpdate("DROP TABLE IF EXISTS `METADATA`");
+        }
+    }
+}
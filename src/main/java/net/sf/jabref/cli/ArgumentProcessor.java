@@ -450,13 +450,11 @@ public class ArgumentProcessor {
             MetaData metaData = parserResult.getMetaData();
             if (metaData != null) {
                 LOGGER.info(Localization.lang("Regenerating BibTeX keys according to metadata"));
-                for (BibEntry entry : database.getEntries()) {
-                    // try to make a new label
-                    BibtexKeyPatternUtil.makeLabel(
-                            metaData.getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
-                            database, entry,
-                            Globals.prefs.getBibtexKeyPatternPreferences());
-                }
+                // try to make new labels
+                BibtexKeyPatternUtil.makeLabels(
+                        metaData.getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
+                        database, database.getEntries(),
+                        Globals.prefs.getBibtexKeyPatternPreferences());
             } else {
                 LOGGER.info(Localization.lang("No meta data present in BIB_file. Cannot regenerate BibTeX keys"));
             }
@@ -2,12 +2,22 @@ package net.sf.jabref.collab;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -29,7 +39,6 @@ import net.sf.jabref.logic.importer.OpenDatabase;
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.Defaults;
-import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
@@ -58,8 +67,6 @@ public class ChangeScanner implements Runnable {
     private BibDatabase databaseInTemp;
     private MetaData metadataInTemp;
 
-    private static final double MATCH_THRESHOLD = 0.4;
-
     /**
      * We create an ArrayList to hold the changes we find. These will be added in the form
      * of UndoEdit objects. We instantiate these so that the changes found in the file on disk
@@ -81,31 +88,22 @@ public class ChangeScanner implements Runnable {
     public void run() {
         try {
 
-            // Parse the temporary file.
+            // Parse the temporary and the modified file in parallel.
             Path tempFile = Globals.getFileUpdateMonitor().getTempFile(panel.fileMonitorHandle());
             ImportFormatPreferences importFormatPreferences = Globals.prefs.getImportFormatPreferences();
-            ParserResult result = OpenDatabase.loadDatabase(tempFile.toFile(), importFormatPreferences);
-            databaseInTemp = result.getDatabase();
-            metadataInTemp = result.getMetaData();
-
-            // Parse the modified file.
-            result = OpenDatabase.loadDatabase(file, importFormatPreferences);
+            CompletableFuture<ParserResult> tempResult = CompletableFuture.supplyAsync(
+                    () -> loadDatabase(tempFile.toFile(), importFormatPreferences), JabRefExecutorService.INSTANCE);
+            ParserResult result = OpenDatabase.loadDatabase(file, importFormatPreferences);
             BibDatabase databaseOnDisk = result.getDatabase();
             MetaData metadataOnDisk = result.getMetaData();
+            result = tempResult.join();
+            databaseInTemp = result.getDatabase();
+            metadataInTemp = result.getMetaData();
 
-            // Sort both databases according to a common sort key.
-            EntryComparator comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterInTemp = databaseInTemp.getSorter(comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterOnDisk = databaseOnDisk.getSorter(comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterInMem = databaseInMemory.getSorter(comparator);
+            // Sort the databases according to a common sort key.
+            EntrySorter sorterInTemp = databaseInTemp.getSorter(getComparator());
+            EntrySorter sorterOnDisk = databaseOnDisk.getSorter(getComparator());
+            EntrySorter sorterInMem = databaseInMemory.getSorter(getComparator());
 
             // Start looking at changes.
             scanMetaData(metadataInMemory, metadataInTemp, metadataOnDisk);
@@ -116,11 +114,25 @@ public class ChangeScanner implements Runnable {
 
             scanGroups(metadataInTemp, metadataOnDisk);
 
-        } catch (IOException ex) {
+        } catch (IOException | CompletionException ex) {
             LOGGER.warn("Problem running", ex);
         }
     }
 
+    private static ParserResult loadDatabase(File fileToLoad, ImportFormatPreferences importFormatPreferences) {
+        try {
+            return OpenDatabase.loadDatabase(fileToLoad, importFormatPreferences);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static EntryComparator getComparator() {
+        EntryComparator comparator = new EntryComparator(false, true, SORT_BY[2]);
+        comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
+        return new EntryComparator(false, true, SORT_BY[0], comparator);
+    }
+
     public boolean changesFound() {
         return changes.getChildCount() > 0;
     }
@@ -176,146 +188,29 @@ public class ChangeScanner implements Runnable {
     }
 
     private void scanEntries(EntrySorter memorySorter, EntrySorter tmpSorter, EntrySorter diskSorter) {
-
-        // Create pointers that are incremented as the entries of each base are used in
-        // successive order from the beginning. Entries "further down" in the "disk" base
-        // can also be matched.
-        int piv1;
-        int piv2 = 0;
-
-        // Create a HashSet where we can put references to entry numbers in the "disk"
-        // database that we have matched. This is to avoid matching them twice.
-        Set<String> used = new HashSet<>(diskSorter.getEntryCount());
-        Set<Integer> notMatched = new HashSet<>(tmpSorter.getEntryCount());
-
-        // Loop through the entries of the "tmp" database, looking for exact matches in the "disk" one.
-        // We must finish scanning for exact matches before looking for near matches, to avoid an exact
-        // match being "stolen" from another entry.
-        mainLoop:
-        for (piv1 = 0; piv1 < tmpSorter.getEntryCount(); piv1++) {
-
-            // First check if the similarly placed entry in the other base matches exactly.
-            double comp = -1;
-            // (if there are not any entries left in the "disk" database, comp will stay at -1,
-            // and this entry will be marked as nonmatched).
-            if (!used.contains(String.valueOf(piv2)) && (piv2 < diskSorter.getEntryCount())) {
-                comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(piv2));
-            }
-            if (comp > 1) {
-                used.add(String.valueOf(piv2));
-                piv2++;
-                continue;
+        EntryDiff diff = new EntryDiff(getEntries(memorySorter), getEntries(tmpSorter), getEntries(diskSorter));
+
+        for (EntryDiff.EntryChange change : diff.getChangedEntries()) {
+            BibEntry tmpEntry = change.getTmpEntry();
+            BibEntry memoryEntry = diff.getBestFitInMemory(tmpEntry);
+            if (change.getDiskEntry().isPresent()) {
+                changes.add(new EntryChange(memoryEntry, tmpEntry, change.getDiskEntry().get()));
+            } else {
+                changes.add(new EntryDeleteChange(memoryEntry, tmpEntry));
             }
-
-            // No? Then check if another entry matches exactly.
-            if (piv2 < (diskSorter.getEntryCount() - 1)) {
-                for (int i = piv2 + 1; i < diskSorter.getEntryCount(); i++) {
-                    if (used.contains(String.valueOf(i))) {
-                        comp = -1;
-                    } else {
-                        comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(i));
-                    }
-
-                    if (comp > 1) {
-                        used.add(String.valueOf(i));
-                        continue mainLoop;
-                    }
-                }
-            }
-
-            // No? Add this entry to the list of nonmatched entries.
-            notMatched.add(piv1);
         }
 
-        // Now we've found all exact matches, look through the remaining entries, looking
-        // for close matches.
-        if (!notMatched.isEmpty()) {
-
-            for (Iterator<Integer> it = notMatched.iterator(); it.hasNext(); ) {
-
-                piv1 = it.next();
-
-                // These two variables will keep track of which entry most closely matches the
-                // one we're looking at, in case none matches completely.
-                int bestMatchI = -1;
-                double bestMatch = 0;
-                double comp;
-
-                if (piv2 < (diskSorter.getEntryCount() - 1)) {
-                    for (int i = piv2; i < diskSorter.getEntryCount(); i++) {
-                        if (used.contains(String.valueOf(i))) {
-                            comp = -1;
-                        } else {
-                            comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(i));
-                        }
-
-                        if (comp > bestMatch) {
-                            bestMatch = comp;
-                            bestMatchI = i;
-                        }
-                    }
-                }
-
-                if (bestMatch > MATCH_THRESHOLD) {
-                    used.add(String.valueOf(bestMatchI));
-                    it.remove();
-
-                    changes.add(new EntryChange(bestFit(tmpSorter, memorySorter, piv1), tmpSorter.getEntryAt(piv1),
-                            diskSorter.getEntryAt(bestMatchI)));
-                } else {
-                    changes.add(
-                            new EntryDeleteChange(bestFit(tmpSorter, memorySorter, piv1), tmpSorter.getEntryAt(piv1)));
-                }
-
-            }
-
-        }
-
-        // Finally, look if there are still untouched entries in the disk database. These
-        // may have been added.
-        if (used.size() < diskSorter.getEntryCount()) {
-            for (int i = 0; i < diskSorter.getEntryCount(); i++) {
-                if (!used.contains(String.valueOf(i))) {
-
-                    // See if there is an identical dupe in the mem database:
-                    boolean hasAlready = false;
-                    for (int j = 0; j < memorySorter.getEntryCount(); j++) {
-                        if (DuplicateCheck.compareEntriesStrictly(memorySorter.getEntryAt(j), diskSorter.getEntryAt(i)) >= 1) {
-                            hasAlready = true;
-                            break;
-                        }
-                    }
-                    if (!hasAlready) {
-                        changes.add(new EntryAddChange(diskSorter.getEntryAt(i)));
-                    }
-                }
-            }
+        for (BibEntry diskEntry : diff.getAddedEntries()) {
+            changes.add(new EntryAddChange(diskEntry));
         }
     }
 
-    /**
-     * Finds the entry in neu best fitting the specified entry in old. If no entries get a score
-     * above zero, an entry is still returned.
-     *
-     * @param oldSorter   EntrySorter
-     * @param newSorter   EntrySorter
-     * @param index int
-     * @return BibEntry
-     */
-    private static BibEntry bestFit(EntrySorter oldSorter, EntrySorter newSorter, int index) {
-        double comp = -1;
-        int found = 0;
-        for (int i = 0; i < newSorter.getEntryCount(); i++) {
-            double res = DuplicateCheck.compareEntriesStrictly(oldSorter.getEntryAt(index), newSorter.getEntryAt(i));
-            if (res > comp) {
-                comp = res;
-                found = i;
-            }
-            if (comp > 1) {
-                break;
-            }
+    private static List<BibEntry> getEntries(EntrySorter sorter) {
+        List<BibEntry> entries = new ArrayList<>(sorter.getEntryCount());
+        for (int i = 0; i < sorter.getEntryCount(); i++) {
+            entries.add(sorter.getEntryAt(i));
         }
-        return newSorter.getEntryAt(found);
+        return entries;
     }
 
     private void scanPreamble(BibDatabase inMemory, BibDatabase onTmp, BibDatabase onDisk) {
@@ -336,115 +231,103 @@ public class ChangeScanner implements Runnable {
             return;
         }
 
-        Set<Object> used = new HashSet<>();
-        Set<Object> usedInMem = new HashSet<>();
-        Set<String> notMatched = new HashSet<>(inTmp.getStringCount());
+        // String names are unique within a database, thus strings are matched by name through a map.
+        Map<String, BibtexString> memoryByName = getStringsByName(inMem1);
+        Map<String, BibtexString> diskByName = getStringsByName(onDisk);
+        Set<BibtexString> used = new HashSet<>();
+        Set<BibtexString> usedInMem = new HashSet<>();
+        List<BibtexString> notMatched = new ArrayList<>();
 
         // First try to match by string names.
-        mainLoop:
-        for (String key : inTmp.getStringKeySet()) {
-            BibtexString tmp = inTmp.getString(key);
-
-            for (String diskId : onDisk.getStringKeySet()) {
-                if (!used.contains(diskId)) {
-                    BibtexString disk = onDisk.getString(diskId);
-                    if (disk.getName().equals(tmp.getName())) {
-                        // We have found a string with a matching name.
-                        if (!Objects.equals(tmp.getContent(), disk.getContent())) {
-                            // But they have nonmatching contents, so we've found a change.
-                            Optional<BibtexString> mem = findString(inMem1, tmp.getName(), usedInMem);
-                            if (mem.isPresent()) {
-                                changes.add(new StringChange(mem.get(), tmp, tmp.getName(), mem.get().getContent(),
-                                        disk.getContent()));
-                            } else {
-                                changes.add(new StringChange(null, tmp, tmp.getName(), null, disk.getContent()));
-                            }
-                        }
-                        used.add(diskId);
-                        continue mainLoop;
-                    }
-
+        for (BibtexString tmp : inTmp.getStringValues()) {
+            BibtexString disk = diskByName.get(tmp.getName());
+            if (disk == null) {
+                notMatched.add(tmp);
+                continue;
+            }
+            // We have found a string with a matching name.
+            if (!Objects.equals(tmp.getContent(), disk.getContent())) {
+                // But they have nonmatching contents, so we've found a change.
+                Optional<BibtexString> mem = findString(memoryByName, tmp.getName(), usedInMem);
+                if (mem.isPresent()) {
+                    changes.add(new StringChange(mem.get(), tmp, tmp.getName(), mem.get().getContent(),
+                            disk.getContent()));
+                } else {
+                    changes.add(new StringChange(null, tmp, tmp.getName(), null, disk.getContent()));
                 }
             }
-            // If we get here, there was no match for this string.
-            notMatched.add(tmp.getId());
+            used.add(disk);
         }
 
-        // See if we can detect a name change for those entries that we couldn't match.
+        // See if we can detect a name change for those strings that we couldn't match.
         if (!notMatched.isEmpty()) {
-            for (Iterator<String> i = notMatched.iterator(); i.hasNext(); ) {
-                BibtexString tmp = inTmp.getString(i.next());
-
-                // If we get to this point, we found no string with matching name. See if we
-                // can find one with matching content.
-                for (String diskId : onDisk.getStringKeySet()) {
-
-                    if (!used.contains(diskId)) {
-                        BibtexString disk = onDisk.getString(diskId);
-
-                        if (disk.getContent().equals(tmp.getContent())) {
-                            // We have found a string with the same content. It cannot have the same
-                            // name, or we would have found it above.
-
-                            // Try to find the matching one in memory:
-                            BibtexString bsMem = null;
-
-                            for (String memId : inMem1.getStringKeySet()) {
-                                BibtexString bsMemCandidate = inMem1.getString(memId);
-                                if (bsMemCandidate.getContent().equals(disk.getContent())
-                                        && !usedInMem.contains(memId)) {
-                                    usedInMem.add(memId);
-                                    bsMem = bsMemCandidate;
-                                    break;
-                                }
-                            }
-
-                            if (bsMem != null) {
-                                changes.add(new StringNameChange(bsMem, tmp, bsMem.getName(), tmp.getName(),
-                                        disk.getName(), tmp.getContent()));
-                                i.remove();
-                                used.add(diskId);
-                            }
-
-                        }
-                    }
+            Map<String, Deque<BibtexString>> diskByContent = getStringsByContent(onDisk.getStringValues(), used);
+            Map<String, Deque<BibtexString>> memoryByContent = getStringsByContent(inMem1.getStringValues(),
+                    usedInMem);
+            for (Iterator<BibtexString> i = notMatched.iterator(); i.hasNext(); ) {
+                BibtexString tmp = i.next();
+
+                // We found no string with matching name. See if we can find one with matching content. It cannot
+                // have the same name, or we would have found it above.
+                Deque<BibtexString> disk = diskByContent.get(tmp.getContent());
+                Deque<BibtexString> mem = memoryByContent.get(tmp.getContent());
+                if ((disk == null) || disk.isEmpty() || (mem == null) || mem.isEmpty()) {
+                    continue;
                 }
+
+                // Take the matching ones in memory and on disk.
+                BibtexString bsDisk = disk.removeFirst();
+                BibtexString bsMem = mem.removeFirst();
+                usedInMem.add(bsMem);
+                used.add(bsDisk);
+                changes.add(new StringNameChange(bsMem, tmp, bsMem.getName(), tmp.getName(), bsDisk.getName(),
+                        tmp.getContent()));
+                i.remove();
             }
         }
 
-        if (!notMatched.isEmpty()) {
-            // Still one or more non-matched strings. So they must have been removed.
-            for (String notMatchedId : notMatched) {
-                BibtexString tmp = inTmp.getString(notMatchedId);
-                // The removed string is not removed from the mem version.
-                findString(inMem1, tmp.getName(), usedInMem).ifPresent(
-                        x -> changes.add(new StringRemoveChange(tmp, tmp, x)));
-            }
+        // Still one or more non-matched strings. So they must have been removed.
+        for (BibtexString tmp : notMatched) {
+            // The removed string is not removed from the mem version.
+            findString(memoryByName, tmp.getName(), usedInMem).ifPresent(
+                    x -> changes.add(new StringRemoveChange(tmp, tmp, x)));
         }
 
         // Finally, see if there are remaining strings in the disk database. They
         // must have been added.
-        for (String diskId : onDisk.getStringKeySet()) {
-            if (!used.contains(diskId)) {
-                BibtexString disk = onDisk.getString(diskId);
-                used.add(diskId);
+        for (BibtexString disk : onDisk.getStringValues()) {
+            if (!used.contains(disk)) {
                 changes.add(new StringAddChange(disk));
             }
         }
     }
 
-    private static Optional<BibtexString> findString(BibDatabase base, String name, Set<Object> used) {
-        if (!base.hasStringLabel(name)) {
-            return Optional.empty();
+    private static Map<String, BibtexString> getStringsByName(BibDatabase database) {
+        Map<String, BibtexString> stringsByName = new HashMap<>();
+        for (BibtexString string : database.getStringValues()) {
+            stringsByName.put(string.getName(), string);
         }
-        for (String key : base.getStringKeySet()) {
-            BibtexString bs = base.getString(key);
-            if (bs.getName().equals(name) && !used.contains(key)) {
-                used.add(key);
-                return Optional.of(bs);
+        return stringsByName;
+    }
+
+    private static Map<String, Deque<BibtexString>> getStringsByContent(Collection<BibtexString> strings,
+            Set<BibtexString> used) {
+        Map<String, Deque<BibtexString>> stringsByContent = new HashMap<>();
+        for (BibtexString string : strings) {
+            if (!used.contains(string)) {
+                stringsByContent.computeIfAbsent(string.getContent(), content -> new ArrayDeque<>()).add(string);
             }
         }
-        return Optional.empty();
+        return stringsByContent;
+    }
+
+    private static Optional<BibtexString> findString(Map<String, BibtexString> stringsByName, String name,
+            Set<BibtexString> used) {
+        BibtexString string = stringsByName.get(name);
+        if ((string == null) || !used.add(string)) {
+            return Optional.empty();
+        }
+        return Optional.of(string);
     }
 
     /**
@@ -0,0 +1,243 @@
+package net.sf.jabref.collab;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Matches the entries of the temporary copy of a database, i.e., the file as it was when it was last loaded or saved,
+ * with the entries of the file on disk, and finds the entries in memory corresponding to the changed ones.
+ * <p>
+ * Entries with identical fields are matched through a hash map in linear time. Of the remaining entries, those with the
+ * same BibTeX key are matched next, and only the rest is compared pairwise by {@link
+ * DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)}. Since an external change usually touches a few entries,
+ * the pairwise comparison is restricted to a small remainder.
+ */
+class EntryDiff {
+
+    private static final double MATCH_THRESHOLD = 0.4;
+
+    // marks the temporary entries having an identical entry on disk
+    private static final BibEntry IDENTICAL = new BibEntry();
+
+    private final List<BibEntry> memoryEntries;
+    private final Map<Map<String, String>, Deque<BibEntry>> memoryEntriesByFields;
+
+    private final List<EntryChange> changedEntries = new ArrayList<>();
+    private final List<BibEntry> addedEntries = new ArrayList<>();
+
+
+    /**
+     * Computes the differences. The changed entries are reported in the order of the temporary entries, the added
+     * entries in the order of the entries on disk.
+     */
+    EntryDiff(List<BibEntry> memoryEntries, List<BibEntry> tmpEntries, List<BibEntry> diskEntries) {
+        this.memoryEntries = memoryEntries;
+        this.memoryEntriesByFields = getEntriesByFields(memoryEntries);
+
+        BibEntry[] matches = new BibEntry[tmpEntries.size()];
+        List<BibEntry> unmatchedDisk = matchIdenticalEntries(tmpEntries, diskEntries, matches);
+        unmatchedDisk = matchEntriesByKey(tmpEntries, unmatchedDisk, matches);
+        matchSimilarEntries(tmpEntries, unmatchedDisk, matches);
+
+        for (int i = 0; i < tmpEntries.size(); i++) {
+            if (matches[i] != IDENTICAL) {
+                changedEntries.add(new EntryChange(tmpEntries.get(i), Optional.ofNullable(matches[i])));
+            }
+        }
+
+        // entries on disk which match neither an entry of the temporary copy nor an entry in memory have been added
+        for (BibEntry diskEntry : unmatchedDisk) {
+            if (!memoryEntriesByFields.containsKey(getFields(diskEntry))) {
+                addedEntries.add(diskEntry);
+            }
+        }
+    }
+
+    /**
+     * Returns the entries of the temporary copy which have been changed or deleted on disk.
+     */
+    List<EntryChange> getChangedEntries() {
+        return changedEntries;
+    }
+
+    /**
+     * Returns the entries on disk which have been added.
+     */
+    List<BibEntry> getAddedEntries() {
+        return addedEntries;
+    }
+
+    /**
+     * Matches the temporary entries with the entries on disk having identical fields, in order.
+     *
+     * @return the entries on disk which have not been matched, in their order
+     */
+    private static List<BibEntry> matchIdenticalEntries(List<BibEntry> tmpEntries, List<BibEntry> diskEntries,
+            BibEntry[] matches) {
+        Map<Map<String, String>, Deque<BibEntry>> diskEntriesByFields = getEntriesByFields(diskEntries);
+        Set<BibEntry> matchedDisk = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < tmpEntries.size(); i++) {
+            Deque<BibEntry> candidates = diskEntriesByFields.get(getFields(tmpEntries.get(i)));
+            if ((candidates != null) && !candidates.isEmpty()) {
+                matchedDisk.add(candidates.removeFirst());
+                matches[i] = IDENTICAL;
+            }
+        }
+
+        List<BibEntry> unmatched = new ArrayList<>();
+        for (BibEntry diskEntry : diskEntries) {
+            if (!matchedDisk.contains(diskEntry)) {
+                unmatched.add(diskEntry);
+            }
+        }
+        return unmatched;
+    }
+
+    /**
+     * Matches each unmatched temporary entry with the most similar unmatched entry on disk having the same key.
+     *
+     * @return the entries on disk which are still unmatched
+     */
+    private static List<BibEntry> matchEntriesByKey(List<BibEntry> tmpEntries, List<BibEntry> diskEntries,
+            BibEntry[] matches) {
+        Map<String, List<BibEntry>> diskEntriesByKey = new HashMap<>();
+        for (BibEntry diskEntry : diskEntries) {
+            diskEntry.getCiteKeyOptional().ifPresent(
+                    key -> diskEntriesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(diskEntry));
+        }
+        if (diskEntriesByKey.isEmpty()) {
+            return diskEntries;
+        }
+
+        List<BibEntry> unmatched = new ArrayList<>(diskEntries);
+        for (int i = 0; i < tmpEntries.size(); i++) {
+            if (matches[i] != null) {
+                continue;
+            }
+            List<BibEntry> candidates = tmpEntries.get(i).getCiteKeyOptional().map(diskEntriesByKey::get)
+                    .orElse(Collections.emptyList());
+            BibEntry bestMatch = getBestMatch(tmpEntries.get(i), candidates);
+            if (bestMatch != null) {
+                removeByIdentity(candidates, bestMatch);
+                removeByIdentity(unmatched, bestMatch);
+                matches[i] = bestMatch;
+            }
+        }
+        return unmatched;
+    }
+
+    /**
+     * Matches each unmatched temporary entry with the most similar unmatched entry on disk.
+     */
+    private static void matchSimilarEntries(List<BibEntry> tmpEntries, List<BibEntry> unmatchedDisk,
+            BibEntry[] matches) {
+        for (int i = 0; (i < tmpEntries.size()) && !unmatchedDisk.isEmpty(); i++) {
+            if (matches[i] != null) {
+                continue;
+            }
+            BibEntry bestMatch = getBestMatch(tmpEntries.get(i), unmatchedDisk);
+            if (bestMatch != null) {
+                removeByIdentity(unmatchedDisk, bestMatch);
+                matches[i] = bestMatch;
+            }
+        }
+    }
+
+    /**
+     * Returns the candidate most similar to the given entry, or null if none is similar enough.
+     */
+    private static BibEntry getBestMatch(BibEntry entry, List<BibEntry> candidates) {
+        BibEntry bestMatch = null;
+        double bestScore = 0;
+        for (BibEntry candidate : candidates) {
+            double score = DuplicateCheck.compareEntriesStrictly(entry, candidate);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMatch = candidate;
+            }
+        }
+        return bestScore > MATCH_THRESHOLD ? bestMatch : null;
+    }
+
+    /**
+     * Finds the entry in memory best fitting the given entry. If no entry gets a score above zero, an entry is still
+     * returned, unless there are no entries in memory.
+     */
+    BibEntry getBestFitInMemory(BibEntry entry) {
+        Deque<BibEntry> identical = memoryEntriesByFields.get(getFields(entry));
+        if ((identical != null) && !identical.isEmpty()) {
+            return identical.getFirst();
+        }
+
+        double bestScore = -1;
+        BibEntry bestFit = null;
+        for (BibEntry memoryEntry : memoryEntries) {
+            double score = DuplicateCheck.compareEntriesStrictly(entry, memoryEntry);
+            if (score > bestScore) {
+                bestScore = score;
+                bestFit = memoryEntry;
+            }
+        }
+        return bestFit;
+    }
+
+    private static Map<Map<String, String>, Deque<BibEntry>> getEntriesByFields(List<BibEntry> entries) {
+        Map<Map<String, String>, Deque<BibEntry>> entriesByFields = new HashMap<>(entries.size() * 2);
+        for (BibEntry entry : entries) {
+            entriesByFields.computeIfAbsent(getFields(entry), fields -> new ArrayDeque<>()).add(entry);
+        }
+        return entriesByFields;
+    }
+
+    /**
+     * Returns a copy of the fields of the given entry. Two entries are identical for {@link
+     * DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)} if and only if their fields are equal.
+     */
+    private static Map<String, String> getFields(BibEntry entry) {
+        return new HashMap<>(entry.getFieldMap());
+    }
+
+    private static void removeByIdentity(List<BibEntry> entries, BibEntry entry) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i) == entry) {
+                entries.remove(i);
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * An entry of the temporary copy which has been changed on disk, or deleted if there is no matching entry on disk.
+     */
+    static class EntryChange {
+
+        private final BibEntry tmpEntry;
+        private final Optional<BibEntry> diskEntry;
+
+
+        EntryChange(BibEntry tmpEntry, Optional<BibEntry> diskEntry) {
+            this.tmpEntry = tmpEntry;
+            this.diskEntry = diskEntry;
+        }
+
+        BibEntry getTmpEntry() {
+            return tmpEntry;
+        }
+
+        Optional<BibEntry> getDiskEntry() {
+            return diskEntry;
+        }
+    }
+}
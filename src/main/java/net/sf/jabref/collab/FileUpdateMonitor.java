@@ -2,10 +2,22 @@ package net.sf.jabref.collab;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.jabref.logic.util.io.FileUtil;
 
@@ -14,38 +26,189 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * This thread monitors a set of files, each associated with a FileUpdateListener, for changes
- * in the file's last modification time stamp. The
+ * in the file's last modification time stamp or size.
+ * <p>
+ * The directories of the files are watched by a {@link WatchService}, thus a change is noticed as soon as the file
+ * system reports it and the thread sleeps while nothing happens. A file is checked once no further event has been
+ * reported for {@link #DEBOUNCE_DELAY} milliseconds, so that a burst of writes results in a single notification.
+ * Files whose directory cannot be watched, or all files if the file system does not support watching, are polled
+ * every {@link #WAIT} milliseconds.
+ * <p>
+ * The listeners are notified in a separate thread. Files can be added and removed from any thread.
  */
 public class FileUpdateMonitor implements Runnable {
     private static final Log LOGGER = LogFactory.getLog(FileUpdateMonitor.class);
 
     private static final int WAIT = 4000;
+    private static final int DEBOUNCE_DELAY = 100;
 
-    private int numberOfUpdateListener;
-    private final Map<String, Entry> entries = new HashMap<>();
+    private final AtomicInteger numberOfUpdateListener = new AtomicInteger();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // null if the file system does not support watching
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+    private final long pollingInterval;
+    private final ScheduledExecutorService checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "JabRef FileUpdateMonitor checks");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    public FileUpdateMonitor() {
+        this(createWatchService(), WAIT);
+    }
+
+    /**
+     * @param watchService the service watching the directories of the files, or null to poll all files
+     */
+    FileUpdateMonitor(WatchService watchService, long pollingInterval) {
+        this.watchService = watchService;
+        this.pollingInterval = pollingInterval;
+        checkExecutor.scheduleWithFixedDelay(this::checkPolledFiles, pollingInterval, pollingInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static WatchService createWatchService() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.info("Cannot watch files for changes, falling back to polling", e);
+            return null;
+        }
+    }
 
     @Override
     public void run() {
-        // The running variable is used to make the thread stop when needed.
-        while (true) {
-            for(Entry e : entries.values()) {
-                try {
-                    if (e.hasBeenUpdated()) {
-                        e.notifyListener();
+        if (watchService == null) {
+            // all files are polled by the check executor
+            return;
+        }
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        scheduleChecks(directory, null);
+                    } else {
+                        scheduleChecks(directory, directory.resolve((Path) event.context()));
                     }
-                } catch (IOException ex) {
-                    e.notifyFileRemoved();
                 }
+                if (!key.reset()) {
+                    // the directory has been removed
+                    unwatch(directory, key);
+                    scheduleChecks(directory, null);
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
+        } catch (ClosedWatchServiceException ex) {
+            LOGGER.debug("FileUpdateMonitor has been closed. Terminating...", ex);
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Stops watching and polling all files.
+     */
+    public void shutdown() {
+        checkExecutor.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                LOGGER.debug("Could not close watch service", ex);
+            }
+        }
+    }
+
+    /**
+     * Schedules a check of the given file in the given directory, or all files in that directory if file is null.
+     */
+    private void scheduleChecks(Path directory, Path file) {
+        for (Entry entry : entries.values()) {
+            if (directory.equals(entry.directory) && ((file == null) || file.equals(entry.file))) {
+                scheduleCheck(entry, DEBOUNCE_DELAY);
+            }
+        }
+    }
+
+    private void scheduleCheck(Entry entry, long delay) {
+        synchronized (entry) {
+            if (entry.scheduledCheck != null) {
+                // another event arrived within the delay, thus wait again
+                entry.scheduledCheck.cancel(false);
             }
+            entry.scheduledCheck = checkExecutor.schedule(() -> check(entry), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void check(Entry entry) {
+        if (!entries.containsValue(entry)) {
+            // removed in the meantime
+            return;
+        }
+        try {
+            if (entry.hasBeenUpdated()) {
+                entry.notifyListener();
+            }
+        } catch (IOException ex) {
+            entry.notifyFileRemoved();
+        }
+    }
+
+    private void checkPolledFiles() {
+        for (Entry entry : entries.values()) {
+            if (!entry.isWatched()) {
+                check(entry);
+            }
+        }
+    }
 
-            // Sleep for a while before starting a new polling round.
+    /**
+     * Watches the directory of the given entry, unless it is already watched.
+     */
+    private synchronized void watch(Entry entry) {
+        if (watchService == null) {
+            return;
+        }
+        WatchKey key = watchKeys.get(entry.directory);
+        if (key == null) {
             try {
-                Thread.sleep(WAIT);
-            } catch (InterruptedException ex) {
-                LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
+                key = entry.directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchKeys.put(entry.directory, key);
+            } catch (IOException | UnsupportedOperationException ex) {
+                LOGGER.info("Cannot watch " + entry.directory + " for changes, falling back to polling", ex);
                 return;
             }
         }
+        entry.watchKey = key;
+    }
+
+    /**
+     * Stops watching the directory of the given entry, unless other files in it are monitored.
+     */
+    private synchronized void unwatch(Entry removedEntry) {
+        if ((removedEntry.watchKey == null)
+                || entries.values().stream().anyMatch(entry -> entry.directory.equals(removedEntry.directory))) {
+            return;
+        }
+        removedEntry.watchKey.cancel();
+        watchKeys.remove(removedEntry.directory);
+    }
+
+    private synchronized void unwatch(Path directory, WatchKey key) {
+        watchKeys.remove(directory, key);
+        for (Entry entry : entries.values()) {
+            if (entry.watchKey == key) {
+                // poll the file in case it is created again
+                entry.watchKey = null;
+            }
+        }
     }
 
     /**
@@ -58,9 +221,10 @@ public class FileUpdateMonitor implements Runnable {
         if (!file.exists()) {
             throw new IOException("File not found");
         }
-        numberOfUpdateListener++;
-        String key = String.valueOf(numberOfUpdateListener);
-        entries.put(key, new Entry(ul, file.toPath()));
+        String key = String.valueOf(numberOfUpdateListener.incrementAndGet());
+        Entry entry = new Entry(ul, file.toPath().toAbsolutePath().normalize());
+        entries.put(key, entry);
+        watch(entry);
         return key;
     }
 
@@ -92,6 +256,8 @@ public class FileUpdateMonitor implements Runnable {
         Entry entry = entries.get(handle);
         if (entry != null) {
             entry.decreaseTimeStamp();
+            // check again even if no further change is reported
+            scheduleCheck(entry, pollingInterval);
         }
     }
 
@@ -100,7 +266,10 @@ public class FileUpdateMonitor implements Runnable {
      * @param handle String The handle for the listener to remove.
      */
     public void removeUpdateListener(String handle) {
-        entries.remove(handle);
+        Entry entry = entries.remove(handle);
+        if (entry != null) {
+            unwatch(entry);
+        }
     }
 
     public void updateTimeStamp(String key) {
@@ -137,14 +306,19 @@ public class FileUpdateMonitor implements Runnable {
 
         private final FileUpdateListener listener;
         private final Path file;
+        private final Path directory;
         private final Path tmpFile;
         private long timeStamp;
         private long fileSize;
+        // null if the file is polled
+        private volatile WatchKey watchKey;
+        private ScheduledFuture<?> scheduledCheck;
 
 
         public Entry(FileUpdateListener ul, Path f) throws IOException {
             listener = ul;
             file = f;
+            directory = f.getParent();
             timeStamp = Files.getLastModifiedTime(file).toMillis();
             fileSize = Files.size(file);
             tmpFile = FileUpdateMonitor.getTempFile();
@@ -159,7 +333,7 @@ public class FileUpdateMonitor implements Runnable {
          * @throws IOException if the file does no longer exist.
          * @return boolean true if the file has changed.
          */
-        public boolean hasBeenUpdated() throws IOException {
+        public synchronized boolean hasBeenUpdated() throws IOException {
             long modified = Files.getLastModifiedTime(file).toMillis();
             if (modified == 0L) {
                 throw new IOException("File deleted");
@@ -168,7 +342,7 @@ public class FileUpdateMonitor implements Runnable {
             return (timeStamp != modified) || (fileSize != fileSizeNow);
         }
 
-        public void updateTimeStamp() throws IOException {
+        public synchronized void updateTimeStamp() throws IOException {
             timeStamp = Files.getLastModifiedTime(file).toMillis();
             if (timeStamp == 0L) {
                 notifyFileRemoved();
@@ -189,8 +363,10 @@ public class FileUpdateMonitor implements Runnable {
          */
         public void notifyListener() throws IOException {
             // Update time stamp.
-            timeStamp = Files.getLastModifiedTime(file).toMillis();
-            fileSize = Files.size(file);
+            synchronized (this) {
+                timeStamp = Files.getLastModifiedTime(file).toMillis();
+                fileSize = Files.size(file);
+            }
             listener.fileUpdated();
         }
 
@@ -205,9 +381,13 @@ public class FileUpdateMonitor implements Runnable {
             return tmpFile;
         }
 
-        public void decreaseTimeStamp() {
+        public synchronized void decreaseTimeStamp() {
             timeStamp--;
         }
+
+        boolean isWatched() {
+            return watchKey != null;
+        }
     }
 
 
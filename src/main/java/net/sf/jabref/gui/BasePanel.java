@@ -101,10 +101,12 @@ import net.sf.jabref.logic.exporter.FileSaveSession;
 import net.sf.jabref.logic.exporter.SaveException;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.SaveSession;
+import net.sf.jabref.logic.groups.GroupMembershipIndex;
 import net.sf.jabref.logic.l10n.Encodings;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.layout.Layout;
 import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.logic.search.SearchIndex;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.logic.util.FileExtensions;
 import net.sf.jabref.logic.util.UpdateField;
@@ -116,6 +118,7 @@ import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.DatabaseLocation;
 import net.sf.jabref.model.database.KeyCollisionException;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -211,6 +214,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
 
     private SearchQuery currentSearchQuery;
 
+    // created on the first search, see getSearchIndex()
+    private SearchIndex searchIndex;
+    // created when the groups are first shown, see getGroupMembershipIndex()
+    private GroupMembershipIndex groupMembershipIndex;
+
 
     public BasePanel(JabRefFrame frame, BibDatabaseContext bibDatabaseContext) {
         Objects.requireNonNull(frame);
@@ -468,28 +476,33 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                 }
 
                 Map<BibEntry, String> oldvals = new HashMap<>();
-                // Iterate again, removing already set keys. This is skipped if overwriting
-                // is disabled, since all entries with keys set will have been removed.
-                if (!Globals.prefs.getBoolean(JabRefPreferences.AVOID_OVERWRITING_KEY)) {
-                    for (BibEntry entry : entries) {
-                        bes = entry;
-                        // Store the old value:
-                        oldvals.put(bes, bes.getCiteKeyOptional().orElse(null));
-                        bes.clearCiteKey();
-                    }
-                }
-
                 final NamedCompound ce = new NamedCompound(Localization.lang("Autogenerate BibTeX keys"));
 
-                // Finally, set the new keys:
-                for (BibEntry entry : entries) {
-                    bes = entry;
-                    BibtexKeyPatternUtil.makeLabel(bibDatabaseContext.getMetaData()
+                // Listeners are notified once about all new keys
+                BibDatabase database = bibDatabaseContext.getDatabase();
+                database.startBatch();
+                try {
+                    // Iterate again, removing already set keys. This is skipped if overwriting
+                    // is disabled, since all entries with keys set will have been removed.
+                    if (!Globals.prefs.getBoolean(JabRefPreferences.AVOID_OVERWRITING_KEY)) {
+                        for (BibEntry entry : entries) {
+                            bes = entry;
+                            // Store the old value:
+                            oldvals.put(bes, bes.getCiteKeyOptional().orElse(null));
+                            bes.clearCiteKey();
+                        }
+                    }
+
+                    // Finally, set the new keys:
+                    BibtexKeyPatternUtil.makeLabels(bibDatabaseContext.getMetaData()
                             .getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
-                            bibDatabaseContext.getDatabase(),
-                            bes, Globals.prefs.getBibtexKeyPatternPreferences());
-                    ce.addEdit(new UndoableKeyChange(bibDatabaseContext.getDatabase(), bes, oldvals.get(bes),
-                            bes.getCiteKeyOptional().orElse(null)));
+                            database, entries, Globals.prefs.getBibtexKeyPatternPreferences());
+                    for (BibEntry entry : entries) {
+                        ce.addEdit(new UndoableKeyChange(database, entry, oldvals.get(entry),
+                                entry.getCiteKeyOptional().orElse(null)));
+                    }
+                } finally {
+                    database.endBatch();
                 }
                 ce.end();
                 getUndoManager().addEdit(ce);
@@ -593,14 +606,19 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
             }
             int counter = 0;
             final NamedCompound ce = new NamedCompound(Localization.lang("Replace string"));
-            if (rsd.selOnly()) {
-                for (BibEntry be : mainTable.getSelectedEntries()) {
-                    counter += rsd.replace(be, ce);
-                }
-            } else {
-                for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
-                    counter += rsd.replace(entry, ce);
+            bibDatabaseContext.getDatabase().startBatch();
+            try {
+                if (rsd.selOnly()) {
+                    for (BibEntry be : mainTable.getSelectedEntries()) {
+                        counter += rsd.replace(be, ce);
+                    }
+                } else {
+                    for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
+                        counter += rsd.replace(entry, ce);
+                    }
                 }
+            } finally {
+                bibDatabaseContext.getDatabase().endBatch();
             }
 
             output(Localization.lang("Replaced") + ' ' + counter + ' '
@@ -1265,6 +1283,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         public void listen(EntryChangedEvent entryChangedEvent) {
             searchAutoCompleter.addBibtexEntry(entryChangedEvent.getBibEntry());
         }
+
+        @Subscribe
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            entriesChangedEvent.getBibEntries().forEach(searchAutoCompleter::addBibtexEntry);
+        }
     }
 
     /**
@@ -1282,6 +1305,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         public void listen(EntryChangedEvent entryChangedEvent) {
             BasePanel.this.autoCompleters.addEntry(entryChangedEvent.getBibEntry());
         }
+
+        @Subscribe
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            entriesChangedEvent.getBibEntries().forEach(BasePanel.this.autoCompleters::addEntry);
+        }
     }
 
     /**
@@ -1299,6 +1327,12 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
             frame.getGlobalSearchBar().performSearch();
         }
 
+        @Subscribe
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            frame.getGlobalSearchBar().setDontSelectSearchBar(true);
+            frame.getGlobalSearchBar().performSearch();
+        }
+
         @Subscribe
         public void listen(EntryRemovedEvent removedEntryEvent) {
             frame.getGlobalSearchBar().performSearch();
@@ -1903,22 +1937,29 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
     public void autoGenerateKeysBeforeSaving() {
         if (Globals.prefs.getBoolean(JabRefPreferences.GENERATE_KEYS_BEFORE_SAVING)) {
             NamedCompound ce = new NamedCompound(Localization.lang("Autogenerate BibTeX keys"));
-            boolean any = false;
-
+            List<BibEntry> entriesWithoutKey = new ArrayList<>();
             for (BibEntry bes : bibDatabaseContext.getDatabase().getEntries()) {
                 Optional<String> oldKey = bes.getCiteKeyOptional();
                 if (!(oldKey.isPresent()) || oldKey.get().isEmpty()) {
-                    BibtexKeyPatternUtil.makeLabel(bibDatabaseContext.getMetaData()
-                            .getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
-                            bibDatabaseContext.getDatabase(),
-                            bes, Globals.prefs.getBibtexKeyPatternPreferences());
-                    ce.addEdit(new UndoableKeyChange(bibDatabaseContext.getDatabase(), bes, null,
-                            bes.getCiteKeyOptional().get())); // Cite key is set here
-                    any = true;
+                    entriesWithoutKey.add(bes);
                 }
             }
+
+            bibDatabaseContext.getDatabase().startBatch();
+            try {
+                BibtexKeyPatternUtil.makeLabels(bibDatabaseContext.getMetaData()
+                        .getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
+                        bibDatabaseContext.getDatabase(), entriesWithoutKey,
+                        Globals.prefs.getBibtexKeyPatternPreferences());
+            } finally {
+                bibDatabaseContext.getDatabase().endBatch();
+            }
+            for (BibEntry bes : entriesWithoutKey) {
+                ce.addEdit(new UndoableKeyChange(bibDatabaseContext.getDatabase(), bes, null,
+                        bes.getCiteKeyOptional().get())); // Cite key is set here
+            }
             // Store undo information, if any:
-            if (any) {
+            if (!entriesWithoutKey.isEmpty()) {
                 ce.end();
                 getUndoManager().addEdit(ce);
             }
@@ -2147,6 +2188,16 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         if (fileMonitorHandle != null) {
             Globals.getFileUpdateMonitor().removeUpdateListener(fileMonitorHandle);
         }
+        synchronized (this) {
+            if (searchIndex != null) {
+                searchIndex.close();
+                searchIndex = null;
+            }
+            if (groupMembershipIndex != null) {
+                groupMembershipIndex.close();
+                groupMembershipIndex = null;
+            }
+        }
         // Check if there is a FileUpdatePanel for this BasePanel being shown. If so,
         // remove it:
         if (sidePaneManager.hasComponent("fileUpdate")) {
@@ -2414,6 +2465,20 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         return citationStyleCache;
     }
 
+    public synchronized SearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new SearchIndex(getDatabase());
+        }
+        return searchIndex;
+    }
+
+    public synchronized GroupMembershipIndex getGroupMembershipIndex() {
+        if (groupMembershipIndex == null) {
+            groupMembershipIndex = new GroupMembershipIndex(getDatabase());
+        }
+        return groupMembershipIndex;
+    }
+
     public PreviewPanel getPreviewPanel() {
         if (selectionListener == null) {
             // only occurs if this is called while instantiating this BasePanel
@@ -1700,6 +1700,8 @@ public class JabRefFrame extends JFrame implements OutputPrinter {
 
         // Register undo/redo listener
         bp.getUndoManager().registerListener(new UndoRedoEventManager());
+
+        Globals.getAutoSaveManager().ifPresent(manager -> manager.registerPanel(bp));
     }
 
     public BasePanel addTab(BibDatabaseContext databaseContext, boolean raisePanel) {
@@ -2249,6 +2251,7 @@ public class JabRefFrame extends JFrame implements OutputPrinter {
 
     private void removeTab(BasePanel panel) {
         panel.cleanUp();
+        Globals.getAutoSaveManager().ifPresent(manager -> manager.unregisterPanel(panel));
         AutoSaveManager.deleteAutoSaveFile(panel);
         tabbedPane.remove(panel);
         if (tabbedPane.getTabCount() > 0) {
@@ -86,17 +86,23 @@ public class CleanupAction extends AbstractWorker {
             }
         }
 
-        for (BibEntry entry : panel.getSelectedEntries()) {
-            // undo granularity is on entry level
-            NamedCompound ce = new NamedCompound(Localization.lang("Cleanup entry"));
-
-            doCleanup(cleanupPreset, entry, ce);
-
-            ce.end();
-            if (ce.hasEdits()) {
-                modifiedEntriesCount++;
-                panel.getUndoManager().addEdit(ce);
+        // the table, caches and a shared database are updated once for all cleaned up entries
+        panel.getDatabase().startBatch();
+        try {
+            for (BibEntry entry : panel.getSelectedEntries()) {
+                // undo granularity is on entry level
+                NamedCompound ce = new NamedCompound(Localization.lang("Cleanup entry"));
+
+                doCleanup(cleanupPreset, entry, ce);
+
+                ce.end();
+                if (ce.hasEdits()) {
+                    modifiedEntriesCount++;
+                    panel.getUndoManager().addEdit(ce);
+                }
             }
+        } finally {
+            panel.getDatabase().endBatch();
         }
     }
 
@@ -225,21 +225,26 @@ public class MassSetFieldAction extends MnemonicAwareAction {
 
         String[] fields = getFieldNames(((String) field.getSelectedItem()).trim().toLowerCase());
         NamedCompound ce = new NamedCompound(Localization.lang("Set field"));
-        if (rename.isSelected()) {
-            if (fields.length > 1) {
-                JOptionPane.showMessageDialog(diag, Localization.lang("You can only rename one field at a time"), "",
-                        JOptionPane.ERROR_MESSAGE);
-                return; // Do not close the dialog.
-            } else {
+        if (rename.isSelected() && (fields.length > 1)) {
+            JOptionPane.showMessageDialog(diag, Localization.lang("You can only rename one field at a time"), "",
+                    JOptionPane.ERROR_MESSAGE);
+            return; // Do not close the dialog.
+        }
+
+        bp.getDatabase().startBatch();
+        try {
+            if (rename.isSelected()) {
                 ce.addEdit(MassSetFieldAction.massRenameField(entryList, fields[0], renameTo.getText(),
                         overwrite.isSelected()));
+            } else {
+                for (String field1 : fields) {
+                    ce.addEdit(MassSetFieldAction.massSetField(entryList, field1,
+                            set.isSelected() ? toSet : null,
+                                    overwrite.isSelected()));
+                }
             }
-        } else {
-            for (String field1 : fields) {
-                ce.addEdit(MassSetFieldAction.massSetField(entryList, field1,
-                        set.isSelected() ? toSet : null,
-                                overwrite.isSelected()));
-            }
+        } finally {
+            bp.getDatabase().endBatch();
         }
         ce.end();
         bp.getUndoManager().addEdit(ce);
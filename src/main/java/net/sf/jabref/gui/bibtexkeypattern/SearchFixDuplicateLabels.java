@@ -91,13 +91,18 @@ public class SearchFixDuplicateLabels extends AbstractWorker {
         // Do the actual generation:
         if (!toGenerateFor.isEmpty()) {
             NamedCompound ce = new NamedCompound(Localization.lang("Resolve duplicate BibTeX keys"));
+            List<String> oldKeys = new ArrayList<>(toGenerateFor.size());
             for (BibEntry entry : toGenerateFor) {
-                String oldKey = entry.getCiteKeyOptional().orElse(null);
-                BibtexKeyPatternUtil.makeLabel(panel.getBibDatabaseContext().getMetaData()
-                        .getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
-                        panel.getDatabase(), entry,
-                        Globals.prefs.getBibtexKeyPatternPreferences());
-                ce.addEdit(new UndoableKeyChange(panel.getDatabase(), entry, oldKey, entry.getCiteKeyOptional().get()));
+                oldKeys.add(entry.getCiteKeyOptional().orElse(null));
+            }
+            BibtexKeyPatternUtil.makeLabels(panel.getBibDatabaseContext().getMetaData()
+                    .getCiteKeyPattern(Globals.prefs.getBibtexKeyPatternPreferences().getKeyPattern()),
+                    panel.getDatabase(), toGenerateFor,
+                    Globals.prefs.getBibtexKeyPatternPreferences());
+            for (int i = 0; i < toGenerateFor.size(); i++) {
+                BibEntry entry = toGenerateFor.get(i);
+                ce.addEdit(new UndoableKeyChange(panel.getDatabase(), entry, oldKeys.get(i),
+                        entry.getCiteKeyOptional().get()));
             }
             ce.end();
             panel.getUndoManager().addEdit(ce);
@@ -1,32 +1,33 @@
 package net.sf.jabref.gui.exporter;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.SwingUtilities;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
-import net.sf.jabref.logic.exporter.BibDatabaseWriter;
-import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
-import net.sf.jabref.logic.exporter.FileSaveSession;
-import net.sf.jabref.logic.exporter.SaveException;
+import net.sf.jabref.logic.autosave.ChangeJournal;
 import net.sf.jabref.logic.exporter.SavePreferences;
-import net.sf.jabref.logic.exporter.SaveSession;
 import net.sf.jabref.logic.util.io.AutoSaveUtil;
 import net.sf.jabref.preferences.JabRefPreferences;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-
 /**
  * Background task and utilities for autosave feature.
+ * <p>
+ * The changes of each database are recorded by a {@link ChangeJournal} as they happen. The timer only compacts the
+ * journals of modified databases into their autosave files.
  */
 public class AutoSaveManager {
 
-    private static final Log LOGGER = LogFactory.getLog(AutoSaveManager.class);
-
     private final JabRefFrame frame;
+    private final Map<BasePanel, ChangeJournal> journals = new ConcurrentHashMap<>();
     private Timer t;
 
     public AutoSaveManager(JabRefFrame frame) {
@@ -39,6 +40,10 @@ public class AutoSaveManager {
             t.cancel();
         }
 
+        for (BasePanel panel : frame.getBasePanelList()) {
+            registerPanel(panel);
+        }
+
         TimerTask task = new AutoSaveTask();
         t = new Timer();
         long interval = (long) 60000 * Globals.prefs.getInt(JabRefPreferences.AUTO_SAVE_INTERVAL);
@@ -49,47 +54,77 @@ public class AutoSaveManager {
         t.cancel();
     }
 
+    /**
+     * Starts recording the changes of the database of the given panel, if the database is stored in a file.
+     */
+    public void registerPanel(BasePanel panel) {
+        Optional<File> databaseFile = panel.getBibDatabaseContext().getDatabaseFile();
+        if (!databaseFile.isPresent()) {
+            return;
+        }
+        Path autoSaveFile = AutoSaveUtil.getAutoSaveFile(databaseFile.get()).toPath();
+        ChangeJournal journal = journals.get(panel);
+        if ((journal != null) && !journal.getSnapshotFile().equals(autoSaveFile)) {
+            // the database has been saved to another file
+            unregisterPanel(panel);
+        }
+        journals.computeIfAbsent(panel, key -> new ChangeJournal(panel.getBibDatabaseContext(), autoSaveFile,
+                getSavePreferences(panel)));
+    }
+
+    /**
+     * Stops recording the changes of the database of the given panel and deletes its autosave.
+     */
+    public void unregisterPanel(BasePanel panel) {
+        ChangeJournal journal = journals.remove(panel);
+        if (journal != null) {
+            journal.discard();
+            journal.close();
+        }
+    }
+
+    /**
+     * Deletes the autosave of the given panel in the background, after the changes queued so far.
+     *
+     * @return false if the changes of the panel are not recorded
+     */
+    private boolean discardJournal(BasePanel panel) {
+        ChangeJournal journal = journals.get(panel);
+        if (journal == null) {
+            return false;
+        }
+        journal.discard();
+        // the database may have been saved to another file
+        registerPanel(panel);
+        return true;
+    }
+
+    private static SavePreferences getSavePreferences(BasePanel panel) {
+        return SavePreferences.loadForSaveFromPreferences(Globals.prefs)
+                .withEncoding(panel.getBibDatabaseContext().getMetaData().getEncoding()
+                        .orElse(Globals.prefs.getDefaultEncoding()));
+    }
+
 
     private class AutoSaveTask extends TimerTask {
 
         @Override
         public void run() {
-            // Since this method is running in the background, we must be prepared that
-            // there could be changes done by the user while this method is running.
+            // The snapshot of a database is taken in the event dispatch thread, where the user changes it,
+            // and written in the background.
 
             for (BasePanel panel : frame.getBasePanelList()) {
                 if (panel.isModified() && (panel.getBibDatabaseContext().getDatabaseFile().isPresent())) {
-                        AutoSaveManager.autoSave(panel);
+                    registerPanel(panel);
+                    ChangeJournal journal = journals.get(panel);
+                    if (journal != null) {
+                        SwingUtilities.invokeLater(journal::compact);
+                    }
                 }
             }
         }
     }
 
-
-    /**
-     * Perform an autosave.
-     * @param panel The BasePanel to autosave for.
-     * @return true if successful, false otherwise.
-     */
-    private static boolean autoSave(BasePanel panel) {
-        File databaseFile = panel.getBibDatabaseContext().getDatabaseFile().orElse(null);
-        File backupFile = AutoSaveUtil.getAutoSaveFile(databaseFile);
-        try {
-            SavePreferences prefs = SavePreferences.loadForSaveFromPreferences(Globals.prefs)
-                    .withMakeBackup(false)
-                    .withEncoding(panel.getBibDatabaseContext().getMetaData().getEncoding()
-                            .orElse(Globals.prefs.getDefaultEncoding()));
-
-            BibDatabaseWriter<SaveSession> databaseWriter = new BibtexDatabaseWriter<>(FileSaveSession::new);
-            SaveSession ss = databaseWriter.saveDatabase(panel.getBibDatabaseContext(), prefs);
-            ss.commit(backupFile.toPath());
-        } catch (SaveException e) {
-            LOGGER.error("Problem with automatic save", e);
-            return false;
-        }
-        return true;
-    }
-
     /**
      * Delete this BasePanel's autosave if it exists.
      * @param panel The BasePanel in question.
@@ -99,7 +134,12 @@ public class AutoSaveManager {
         if (!panel.getBibDatabaseContext().getDatabaseFile().isPresent()) {
             return true;
         }
+        Optional<AutoSaveManager> manager = Globals.getAutoSaveManager();
+        if (manager.isPresent() && manager.get().discardJournal(panel)) {
+            return true;
+        }
         File backupFile = AutoSaveUtil.getAutoSaveFile(panel.getBibDatabaseContext().getDatabaseFile().get());
+        ChangeJournal.getJournalFile(backupFile.toPath()).toFile().delete();
         if (backupFile.exists()) {
             return backupFile.delete();
         } else {
@@ -113,6 +153,7 @@ public class AutoSaveManager {
      */
     public void clearAutoSaves() {
         for (BasePanel panel : frame.getBasePanelList()) {
+            unregisterPanel(panel);
             AutoSaveManager.deleteAutoSaveFile(panel);
         }
     }
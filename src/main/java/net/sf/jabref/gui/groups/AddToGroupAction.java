@@ -55,10 +55,15 @@ public class AddToGroupAction extends AbstractAction {
 
         NamedCompound undoAll = new NamedCompound(Localization.lang("change assignment of entries"));
 
-        if (move) {
-            moveToGroup(entries, undoAll);
-        } else {
-            addToGroup(entries, undoAll);
+        panel.getDatabase().startBatch();
+        try {
+            if (move) {
+                moveToGroup(entries, undoAll);
+            } else {
+                addToGroup(entries, undoAll);
+            }
+        } finally {
+            panel.getDatabase().endBatch();
         }
 
         undoAll.end();
@@ -71,7 +76,7 @@ public class AddToGroupAction extends AbstractAction {
 
     public void moveToGroup(List<BibEntry> entries, NamedCompound undoAll) {
         List<GroupTreeNode> groupsContainingEntries =
-                node.getNode().getRoot().getContainingGroups(entries, false).stream().filter(node -> node.getGroup().supportsRemove()).collect(
+                panel.getGroupMembershipIndex().getContainingGroups(node.getNode().getRoot(), entries, false).stream().filter(node -> node.getGroup().supportsRemove()).collect(
                         Collectors.toList());
 
         List<AbstractGroup> affectedGroups = groupsContainingEntries.stream().map(GroupTreeNode::getGroup).collect(
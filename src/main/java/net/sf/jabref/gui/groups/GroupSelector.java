@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -64,8 +65,6 @@ import net.sf.jabref.model.groups.MoveGroupChange;
 import net.sf.jabref.model.groups.event.GroupUpdatedEvent;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.model.search.SearchMatcher;
-import net.sf.jabref.model.search.matchers.MatcherSet;
-import net.sf.jabref.model.search.matchers.MatcherSets;
 import net.sf.jabref.model.search.matchers.NotMatcher;
 import net.sf.jabref.preferences.JabRefPreferences;
 
@@ -566,13 +565,9 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
     }
 
     private void updateShownEntriesAccordingToSelectedGroups() {
-        final MatcherSet searchRules = MatcherSets
-                .build(andCb.isSelected() ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
-
-        for(GroupTreeNodeViewModel node : getLeafsOfSelection()) {
-            SearchMatcher searchRule = node.getNode().getSearchRule();
-            searchRules.addRule(searchRule);
-        }
+        List<GroupTreeNode> nodes = getLeafsOfSelection().stream().map(GroupTreeNodeViewModel::getNode)
+                .collect(Collectors.toList());
+        SearchMatcher searchRules = panel.getGroupMembershipIndex().getSearchRule(nodes, andCb.isSelected());
         SearchMatcher searchRule = invCb.isSelected() ? new NotMatcher(searchRules) : searchRules;
         GroupingWorker worker = new GroupingWorker(searchRule);
         worker.getWorker().run();
@@ -1235,7 +1230,8 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
             groupsTree.revalidate();
             return;
         }
-        List<GroupTreeNode> nodeList = groupsRoot.getNode().getContainingGroups(list, requireAll);
+        List<GroupTreeNode> nodeList = panel.getGroupMembershipIndex().getContainingGroups(groupsRoot.getNode(), list,
+                requireAll);
         groupsTree.setMatchingGroups(nodeList);
         // ensure that all highlighted nodes are visible
         for (GroupTreeNode node : nodeList) {
@@ -1249,7 +1245,7 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
      * Show groups that, if selected, would show at least one of the entries in the specified list.
      */
     private void showOverlappingGroups(List<BibEntry> matches) {
-        List<GroupTreeNode> nodes = groupsRoot.getNode().getMatchingGroups(matches);
+        List<GroupTreeNode> nodes = panel.getGroupMembershipIndex().getMatchingGroups(groupsRoot.getNode(), matches);
         groupsTree.setOverlappingGroups(nodes);
     }
 
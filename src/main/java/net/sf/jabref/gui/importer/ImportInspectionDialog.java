@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -89,12 +90,17 @@ import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.database.DuplicateCandidateIndex;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.FieldProperty;
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.model.entry.InternalBibtexFields;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
 import net.sf.jabref.model.groups.AllEntriesGroup;
 import net.sf.jabref.model.groups.EntriesGroupChange;
 import net.sf.jabref.model.groups.GroupTreeNode;
@@ -176,6 +182,31 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
     private final JLabel duplLabel = new JLabel(IconTheme.JabRefIcon.DUPLICATE.getSmallIcon());
     private final JLabel fileLabel = new JLabel(IconTheme.JabRefIcon.FILE.getSmallIcon());
     private final JLabel urlLabel = new JLabel(IconTheme.JabRefIcon.WWW.getSmallIcon());
+
+    /**
+     * Index of the background database for the duplicate check. It is built once and only rebuilt if the database
+     * changed meanwhile, as fetchers add the entries one by one.
+     */
+    private DuplicateCandidateIndex duplicateIndex;
+    private int indexedDatabaseChanges;
+    private final AtomicInteger databaseChanges = new AtomicInteger();
+    private final BibDatabaseListener databaseChangeCounter = new BibDatabaseListener() {
+
+        @Override
+        public void listen(EntryAddedEvent event) {
+            databaseChanges.incrementAndGet();
+        }
+
+        @Override
+        public void listen(EntryRemovedEvent event) {
+            databaseChanges.incrementAndGet();
+        }
+
+        @Override
+        public void listen(FieldChangedEvent event) {
+            databaseChanges.incrementAndGet();
+        }
+    };
     private static final List<String> INSPECTION_FIELDS = Arrays.asList(FieldName.AUTHOR, FieldName.TITLE, FieldName.YEAR, BibEntry.KEY_FIELD);
     private static final int DUPL_COL = 1;
     private static final int FILE_COL = 2;
@@ -200,6 +231,9 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         this.newDatabase = newDatabase;
         setIconImage(new ImageIcon(IconTheme.getIconUrl("jabrefIcon48")).getImage());
         preview = new PreviewPanel(panel, bibDatabaseContext);
+        if (bibDatabaseContext != null) {
+            bibDatabaseContext.getDatabase().addListener(databaseChangeCounter);
+        }
 
         duplLabel.setToolTipText(Localization.lang("Possible duplicate of existing entry. Click to resolve."));
 
@@ -373,6 +407,11 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
      */
     public void addEntries(Collection<BibEntry> entriesToAdd) {
 
+        DuplicateCandidateIndex duplicateIndex = null;
+        if (panel != null) {
+            duplicateIndex = getDuplicateIndex();
+        }
+
         for (BibEntry entry : entriesToAdd) {
             // We exploit the entry's search status for indicating "Keep"
             // status:
@@ -383,7 +422,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
             // database (if
             // applicable) and against entries already in the table.
             if ((panel != null) && (DuplicateCheck
-                    .containsDuplicate(panel.getDatabase(), entry, panel.getBibDatabaseContext().getMode()).isPresent()
+                    .containsDuplicate(duplicateIndex, entry, panel.getBibDatabaseContext().getMode()).isPresent()
                     || (internalDuplicate(this.entries, entry).isPresent()))) {
                 entry.setGroupHit(true);
                 SwingUtilities.invokeLater(() -> deselectAllDuplicates.setEnabled(true));
@@ -397,6 +436,27 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         }
     }
 
+    /**
+     * Returns the index of the background database, which is rebuilt only if the database changed since it was built.
+     */
+    private synchronized DuplicateCandidateIndex getDuplicateIndex() {
+        // read before the entries, so that a change in between leads to another rebuild next time
+        int changes = databaseChanges.get();
+        if ((duplicateIndex == null) || (indexedDatabaseChanges != changes)) {
+            duplicateIndex = new DuplicateCandidateIndex(bibDatabaseContext.getDatabase().getEntries());
+            indexedDatabaseChanges = changes;
+        }
+        return duplicateIndex;
+    }
+
+    @Override
+    public void dispose() {
+        if (bibDatabaseContext != null) {
+            bibDatabaseContext.getDatabase().removeListener(databaseChangeCounter);
+        }
+        super.dispose();
+    }
+
     /**
      * Checks if there are duplicates to the given entry in the Collection. Does
      * not report the entry as duplicate of itself if it is in the Collection.
@@ -1,5 +1,10 @@
 package net.sf.jabref.gui.maintable;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -52,6 +57,25 @@ public class ListSynchronizer {
         }
     }
 
+    @Subscribe
+    public void listen(EntriesChangedEvent entriesChangedEvent) {
+        Set<BibEntry> changedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        changedEntries.addAll(entriesChangedEvent.getBibEntries());
+
+        lock();
+        try {
+            // a single pass over the list updates all changed entries
+            for (int i = 0; (i < list.size()) && !changedEntries.isEmpty(); i++) {
+                BibEntry entry = list.get(i);
+                if (changedEntries.remove(entry)) {
+                    list.set(i, entry);
+                }
+            }
+        } finally {
+            unlock();
+        }
+    }
+
     private void lock() {
         list.getReadWriteLock().writeLock().lock();
     }
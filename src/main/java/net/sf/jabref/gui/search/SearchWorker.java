@@ -3,7 +3,6 @@ package net.sf.jabref.gui.search;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import javax.swing.SwingWorker;
 
@@ -11,7 +10,6 @@ import net.sf.jabref.JabRefGUI;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.maintable.MainTableDataModel;
 import net.sf.jabref.logic.search.SearchQuery;
-import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
@@ -26,14 +24,12 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
     private static final Log LOGGER = LogFactory.getLog(SearchWorker.class);
 
     private final BasePanel basePanel;
-    private final BibDatabase database;
 
     private final SearchQuery searchQuery;
     private final SearchDisplayMode searchDisplayMode;
 
     public SearchWorker(BasePanel basePanel, SearchQuery searchQuery, SearchDisplayMode searchDisplayMode) {
         this.basePanel = Objects.requireNonNull(basePanel);
-        this.database = Objects.requireNonNull(basePanel.getDatabase());
         this.searchQuery = Objects.requireNonNull(searchQuery);
         this.searchDisplayMode = Objects.requireNonNull(searchDisplayMode);
         LOGGER.debug("Search (" + this.searchDisplayMode.getDisplayName() + "): " + this.searchQuery);
@@ -41,9 +37,7 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
 
     @Override
     protected List<BibEntry> doInBackground() throws Exception {
-        return database.getEntries().parallelStream()
-                .filter(searchQuery::isMatch)
-                .collect(Collectors.toList());
+        return basePanel.getSearchIndex().getMatches(searchQuery);
     }
 
     @Override
@@ -36,9 +36,23 @@ public class SharedDatabaseUIManager {
         this.jabRefFrame = jabRefFrame;
     }
 
+    // the events are posted by the synchronization thread, thus dialogs are shown on the event dispatch thread
     @Subscribe
     public void listen(ConnectionLostEvent connectionLostEvent) {
+        SwingUtilities.invokeLater(() -> showConnectionLostDialog(connectionLostEvent));
+    }
+
+    @Subscribe
+    public void listen(UpdateRefusedEvent updateRefusedEvent) {
+        SwingUtilities.invokeLater(() -> showMergeDialog(updateRefusedEvent));
+    }
+
+    @Subscribe
+    public void listen(SharedEntryNotPresentEvent event) {
+        SwingUtilities.invokeLater(() -> handleSharedEntryNotPresent(event));
+    }
 
+    private void showConnectionLostDialog(ConnectionLostEvent connectionLostEvent) {
         jabRefFrame.output(Localization.lang("Connection lost."));
 
         String[] options = {Localization.lang("Reconnect"), Localization.lang("Work offline"),
@@ -63,9 +77,7 @@ public class SharedDatabaseUIManager {
         }
     }
 
-    @Subscribe
-    public void listen(UpdateRefusedEvent updateRefusedEvent) {
-
+    private void showMergeDialog(UpdateRefusedEvent updateRefusedEvent) {
         jabRefFrame.output(Localization.lang("Update refused."));
 
         new MergeSharedEntryDialog(jabRefFrame, dbmsSynchronizer, updateRefusedEvent.getLocalBibEntry(),
@@ -73,8 +85,7 @@ public class SharedDatabaseUIManager {
                     updateRefusedEvent.getBibDatabaseContext().getMode()).showMergeDialog();
     }
 
-    @Subscribe
-    public void listen(SharedEntryNotPresentEvent event) {
+    private void handleSharedEntryNotPresent(SharedEntryNotPresentEvent event) {
         BasePanel panel = jabRefFrame.getCurrentBasePanel();
         EntryEditor entryEditor = panel.getCurrentEditor();
 
@@ -0,0 +1,517 @@
+package net.sf.jabref.logic.autosave;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.jabref.logic.exporter.BibDatabaseWriter;
+import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
+import net.sf.jabref.logic.exporter.FileSaveSession;
+import net.sf.jabref.logic.exporter.SaveException;
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.IdGenerator;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Journal of the changes to the entries of a database, used to recover them after a crash.
+ * <p>
+ * At the first change, a snapshot of the database is written to the given autosave file. Every following change is
+ * appended to a journal file next to the snapshot. Both are written in the background: changes which arrive while the
+ * journal is written are collected and written (and forced to disk) together. {@link #compact()} writes a new snapshot
+ * containing all changes so far and starts an empty journal. {@link #replay(Path, BibDatabase)} applies the journal to
+ * the database parsed from the snapshot.
+ * <p>
+ * The journal identifies entries by their position in the snapshot, entries added later by the following numbers.
+ * Changes of the strings, the preamble and the meta data are not journaled, they are saved with the next snapshot.
+ */
+public class ChangeJournal implements BibDatabaseListener {
+
+    private static final Log LOGGER = LogFactory.getLog(ChangeJournal.class);
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String HEADER = "JabRef change journal";
+
+    private static final String ADD = "A";
+    private static final String SET = "S";
+    private static final String CLEAR = "C";
+    private static final String REMOVE = "R";
+
+    private final BibDatabaseContext databaseContext;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final SavePreferences savePreferences;
+    private final ExecutorService executor;
+
+    // guarded by this
+    private final List<Record> pendingRecords = new ArrayList<>();
+    private boolean flushScheduled;
+    private boolean started;
+    private boolean changedSinceSnapshot;
+    private int generation;
+    // the generation of the snapshot the journal file belongs to
+    private int journalGeneration = -1;
+
+    // only used by the executor
+    private Map<BibEntry, Integer> indices = new IdentityHashMap<>();
+    private int nextIndex;
+
+
+    public ChangeJournal(BibDatabaseContext databaseContext, Path snapshotFile, SavePreferences savePreferences) {
+        this.databaseContext = Objects.requireNonNull(databaseContext);
+        this.snapshotFile = Objects.requireNonNull(snapshotFile);
+        this.journalFile = getJournalFile(snapshotFile);
+        // entries are written in the order of their IDs, which are easy to compare
+        this.savePreferences = savePreferences.withMakeBackup(false).withSaveInOriginalOrder(true);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JabRef ChangeJournal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        databaseContext.getDatabase().addListener(this);
+    }
+
+    /**
+     * Returns the journal belonging to the given snapshot (autosave) file.
+     */
+    public static Path getJournalFile(Path snapshotFile) {
+        return snapshotFile.resolveSibling(snapshotFile.getFileName() + JOURNAL_SUFFIX);
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    @Override
+    public synchronized void listen(EntryAddedEvent event) {
+        if (isJournaled()) {
+            BibEntry entry = event.getBibEntry();
+            addRecord(new Record(ADD, entry, entry.getType(), null, new HashMap<>(entry.getFieldMap())));
+        }
+    }
+
+    @Override
+    public synchronized void listen(EntryRemovedEvent event) {
+        if (isJournaled()) {
+            addRecord(new Record(REMOVE, event.getBibEntry(), null, null, null));
+        }
+    }
+
+    @Override
+    public synchronized void listen(FieldChangedEvent event) {
+        if (isJournaled()) {
+            addRecord(event);
+        }
+    }
+
+    @Override
+    public synchronized void listen(EntriesChangedEvent event) {
+        if (isJournaled()) {
+            event.getFieldChanges().forEach(this::addRecord);
+        }
+    }
+
+    /**
+     * Writes a new snapshot and starts an empty journal, if there were changes since the last snapshot. If no snapshot
+     * was written yet, it is written now.
+     */
+    public synchronized void compact() {
+        if (!started || changedSinceSnapshot) {
+            takeSnapshot();
+        }
+    }
+
+    /**
+     * Deletes the snapshot and the journal, for instance after the database has been saved. The next change starts
+     * a new snapshot.
+     */
+    public void discard() {
+        synchronized (this) {
+            started = false;
+            changedSinceSnapshot = false;
+            generation++;
+            pendingRecords.clear();
+        }
+        submit(this::deleteFiles);
+    }
+
+    /**
+     * Stops journaling. Waits until the pending changes are written.
+     */
+    public void close() {
+        databaseContext.getDatabase().removeListener(this);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Change journal of " + snapshotFile + " was not written completely");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the journal of the given snapshot to the database parsed from the snapshot. Does nothing if there is no
+     * journal or if the journal does not belong to the snapshot.
+     *
+     * @return the number of applied changes
+     */
+    public static int replay(Path snapshotFile, BibDatabase database) throws IOException {
+        Path journalFile = getJournalFile(snapshotFile);
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+
+        String content = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        String[] lines = content.split("\n", -1);
+        if (!lines[0].equals(getHeader(snapshotFile))) {
+            LOGGER.info("Ignoring change journal " + journalFile + ", it does not belong to " + snapshotFile);
+            return 0;
+        }
+
+        Map<Integer, BibEntry> entries = new HashMap<>();
+        List<BibEntry> parsedEntries = database.getEntries();
+        for (int i = 0; i < parsedEntries.size(); i++) {
+            entries.put(i, parsedEntries.get(i));
+        }
+
+        int changes = 0;
+        // the last line is either empty or has not been written completely
+        for (int i = 1; i < (lines.length - 1); i++) {
+            String[] record = lines[i].split("\t", -1);
+            try {
+                int index = Integer.parseInt(record[1]);
+                BibEntry entry = entries.get(index);
+                if (ADD.equals(record[0])) {
+                    BibEntry addedEntry = new BibEntry(IdGenerator.next(), unescape(record[2]));
+                    database.insertEntry(addedEntry);
+                    entries.put(index, addedEntry);
+                } else if (entry == null) {
+                    // the entry has been removed before
+                    continue;
+                } else if (SET.equals(record[0])) {
+                    setField(entry, unescape(record[2]), unescape(record[3]));
+                } else if (CLEAR.equals(record[0])) {
+                    entry.clearField(unescape(record[2]));
+                } else if (REMOVE.equals(record[0])) {
+                    database.removeEntry(entry);
+                    entries.remove(index);
+                } else {
+                    throw new IllegalArgumentException("Unknown change " + record[0]);
+                }
+                changes++;
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                LOGGER.warn("Cannot replay line " + (i + 1) + " of change journal " + journalFile, e);
+                break;
+            }
+        }
+        return changes;
+    }
+
+    private static void setField(BibEntry entry, String fieldName, String value) {
+        if (BibEntry.TYPE_HEADER.equals(fieldName)) {
+            entry.setType(value);
+        } else {
+            entry.setField(fieldName, value);
+        }
+    }
+
+    /**
+     * The header of a journal identifies the snapshot it belongs to, a journal left behind by an older snapshot is not
+     * replayed onto a newer one.
+     */
+    private static String getHeader(Path snapshotFile) throws IOException {
+        return HEADER + '\t' + Files.getLastModifiedTime(snapshotFile).toMillis() + '\t' + Files.size(snapshotFile);
+    }
+
+    // returns false if the change is contained in the snapshot started by it
+    private boolean isJournaled() {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        if (!started) {
+            takeSnapshot();
+            return false;
+        }
+        changedSinceSnapshot = true;
+        return true;
+    }
+
+    private void addRecord(FieldChangedEvent event) {
+        String operation = event.getNewValue() == null ? CLEAR : SET;
+        addRecord(new Record(operation, event.getBibEntry(), event.getFieldName(), event.getNewValue(), null));
+    }
+
+    private void addRecord(Record record) {
+        pendingRecords.add(record);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            submit(this::flush);
+        }
+    }
+
+    private void takeSnapshot() {
+        // the snapshot of the entry list is taken here, in the thread changing the database, but the entries are copied
+        // and written in the background. A change made meanwhile may already be contained in the copy, replaying it
+        // from the journal sets the same value again.
+        List<BibEntry> entries = databaseContext.getDatabase().getEntries();
+        BibDatabaseMode mode = databaseContext.getMode();
+
+        started = true;
+        changedSinceSnapshot = false;
+        generation++;
+        int snapshotGeneration = generation;
+        pendingRecords.clear();
+        submit(() -> writeSnapshot(snapshotGeneration, entries, mode));
+    }
+
+    private void writeSnapshot(int snapshotGeneration, List<BibEntry> entries, BibDatabaseMode mode) {
+        BibDatabase database = databaseContext.getDatabase();
+        BibDatabase snapshot = new BibDatabase();
+        database.getPreamble().ifPresent(snapshot::setPreamble);
+        snapshot.setEpilog(database.getEpilog());
+        for (BibtexString string : database.getStringValues()) {
+            snapshot.addString((BibtexString) string.clone());
+        }
+
+        List<BibEntry> copies = new ArrayList<>(entries.size());
+        Map<BibEntry, BibEntry> originals = new IdentityHashMap<>();
+        for (BibEntry entry : entries) {
+            BibEntry copy = (BibEntry) entry.clone();
+            copy.setParsedSerialization(entry.getParsedSerialization());
+            copy.setChanged(entry.hasChanged());
+            snapshot.insertEntry(copy);
+            copies.add(copy);
+            originals.put(copy, entry);
+        }
+        BibDatabaseContext snapshotContext = new BibDatabaseContext(snapshot, databaseContext.getMetaData(),
+                new Defaults(mode));
+
+        // the writer sorts the entries the same way, thus the position of an entry in the file is known
+        List<BibEntry> sortedCopies = BibDatabaseWriter.getSortedEntries(snapshotContext, copies, savePreferences);
+
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(),
+                    ".tmp");
+            Path sessionFile = temporaryFile;
+            BibDatabaseWriter<FileSaveSession> writer = new BibtexDatabaseWriter<>(
+                    (encoding, makeBackup) -> new FileSaveSession(encoding, makeBackup, sessionFile));
+            writer.savePartOfDatabase(snapshotContext, sortedCopies, savePreferences);
+            try {
+                Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.write(journalFile, (getHeader(snapshotFile) + '\n').getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | SaveException e) {
+            // the previous snapshot and journal remain, the changes are contained in the next snapshot
+            LOGGER.error("Problem with automatic save", e);
+            deleteQuietly(temporaryFile);
+            return;
+        }
+
+        indices = new IdentityHashMap<>();
+        for (BibEntry copy : sortedCopies) {
+            indices.put(originals.get(copy), indices.size());
+        }
+        nextIndex = indices.size();
+
+        synchronized (this) {
+            journalGeneration = snapshotGeneration;
+            if (!pendingRecords.isEmpty() && !flushScheduled) {
+                flushScheduled = true;
+                submit(this::flush);
+            }
+        }
+    }
+
+    private void flush() {
+        List<Record> records;
+        synchronized (this) {
+            flushScheduled = false;
+            if (journalGeneration != generation) {
+                // the records belong to a snapshot which is not written yet
+                return;
+            }
+            records = new ArrayList<>(pendingRecords);
+            pendingRecords.clear();
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Record record : records) {
+            record.appendTo(builder);
+        }
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(builder.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            LOGGER.error("Cannot write change journal " + journalFile, e);
+        }
+    }
+
+    private void deleteFiles() {
+        deleteQuietly(journalFile);
+        deleteQuietly(snapshotFile);
+    }
+
+    private void submit(Runnable task) {
+        if (!executor.isShutdown()) {
+            executor.execute(task);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot delete " + file, e);
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            default:
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String unescape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c == '\\') && ((i + 1) < value.length())) {
+                i++;
+                switch (value.charAt(i)) {
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                default:
+                    builder.append(value.charAt(i));
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+
+    /**
+     * A change of an entry. The entry is resolved to its number in the journal when the change is written.
+     */
+    private class Record {
+
+        private final String operation;
+        private final BibEntry entry;
+        private final String field;
+        private final String value;
+        // the fields of an added entry
+        private final Map<String, String> fields;
+
+
+        Record(String operation, BibEntry entry, String field, String value, Map<String, String> fields) {
+            this.operation = operation;
+            this.entry = entry;
+            this.field = field;
+            this.value = value;
+            this.fields = fields;
+        }
+
+        void appendTo(StringBuilder builder) {
+            Integer index;
+            if (ADD.equals(operation)) {
+                index = nextIndex++;
+                indices.put(entry, index);
+                // the type is passed as field
+                append(builder, ADD, index, field);
+                for (Map.Entry<String, String> addedField : fields.entrySet()) {
+                    append(builder, SET, index, addedField.getKey(), addedField.getValue());
+                }
+                return;
+            }
+
+            if (REMOVE.equals(operation)) {
+                index = indices.remove(entry);
+            } else {
+                index = indices.get(entry);
+            }
+            if (index == null) {
+                // not an entry of the database, or removed already
+                return;
+            }
+            if (REMOVE.equals(operation)) {
+                append(builder, REMOVE, index);
+            } else if (CLEAR.equals(operation)) {
+                append(builder, CLEAR, index, field);
+            } else {
+                append(builder, SET, index, field, value);
+            }
+        }
+
+        private void append(StringBuilder builder, String recordOperation, int index, String... values) {
+            builder.append(recordOperation).append('\t').append(index);
+            for (String recordValue : values) {
+                builder.append('\t').append(escape(recordValue));
+            }
+            builder.append('\n');
+        }
+    }
+}
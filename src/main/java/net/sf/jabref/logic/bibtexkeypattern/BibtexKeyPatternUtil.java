@@ -3,12 +3,16 @@ package net.sf.jabref.logic.bibtexkeypattern;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.logic.formatter.Formatters;
 import net.sf.jabref.logic.formatter.casechanger.Word;
@@ -42,16 +46,15 @@ public class BibtexKeyPatternUtil {
 
     private static final int CHARS_OF_FIRST = 5;
 
-    private static BibDatabase database;
-
-    /**
-     * Required for LabelPatternUtilTest
-     *
-     * @param db the DB to use as global database
-     */
-    public static void setDataBase(BibDatabase db) {
-        database = db;
-    }
+    private static final Pattern AUTH_INI_N = Pattern.compile("authIni[\\d]+");
+    private static final Pattern AUTH_N_OF_M = Pattern.compile("auth[\\d]+_[\\d]+");
+    private static final Pattern AUTH_N = Pattern.compile("auth\\d+");
+    private static final Pattern AUTHORS_N = Pattern.compile("authors\\d+");
+    private static final Pattern EDTR_INI_N = Pattern.compile("edtrIni[\\d]+");
+    private static final Pattern EDTR_N_OF_M = Pattern.compile("edtr[\\d]+_[\\d]+");
+    private static final Pattern EDTR_N = Pattern.compile("edtr\\d+");
+    private static final Pattern KEYWORD_N = Pattern.compile("keyword\\d+");
+    private static final Pattern KEYWORDS_N = Pattern.compile("keywords\\d*");
 
     private static String normalize(String content) {
         List<String> tokens = new ArrayList<>();
@@ -380,108 +383,121 @@ public class BibtexKeyPatternUtil {
      */
     public static void makeLabel(AbstractBibtexKeyPattern citeKeyPattern, BibDatabase dBase, BibEntry entry,
             BibtexKeyPatternPreferences bibtexKeyPatternPreferences) {
-        database = dBase;
-        String key;
-        StringBuilder stringBuilder = new StringBuilder();
-        try {
-            // get the type of entry
-            String entryType = entry.getType();
-            // Get the arrayList corresponding to the type
-            List<String> typeList = new ArrayList<>(citeKeyPattern.getValue(entryType));
-            if (!typeList.isEmpty()) {
-                typeList.remove(0);
-            }
-            boolean field = false;
-            for (String typeListEntry : typeList) {
-                if ("[".equals(typeListEntry)) {
-                    field = true;
-                } else if ("]".equals(typeListEntry)) {
-                    field = false;
-                } else if (field) {
-                    // check whether there is a modifier on the end such as
-                    // ":lower"
-                    List<String> parts = parseFieldMarker(typeListEntry);
-                    String label = makeLabel(entry, parts.get(0), bibtexKeyPatternPreferences.getKeywordDelimiter());
-
-                    // apply modifier if present
-                    if (parts.size() > 1) {
-                        label = applyModifiers(label, parts, 1);
-                    }
+        makeLabels(citeKeyPattern, dBase, Collections.singletonList(entry), bibtexKeyPatternPreferences);
+    }
 
-                    stringBuilder.append(label);
+    /**
+     * Generates BibTeX labels for all given entries and saves the unique labels in the entries. The result is the
+     * same as calling {@link #makeLabel(AbstractBibtexKeyPattern, BibDatabase, BibEntry, BibtexKeyPatternPreferences)}
+     * for each entry in the given order, but the pattern of each entry type is parsed once and the labels are
+     * generated in parallel. Only the duplicate keys are resolved sequentially, in a single pass.
+     *
+     * Wrap the call in {@link BibDatabase#startBatch()} and {@link BibDatabase#endBatch()} to notify the listeners
+     * once about all changed keys.
+     *
+     * @param dBase the database used to avoid duplicate keys
+     */
+    public static void makeLabels(AbstractBibtexKeyPattern citeKeyPattern, BibDatabase dBase, List<BibEntry> entries,
+            BibtexKeyPatternPreferences bibtexKeyPatternPreferences) {
+        Map<String, CompiledBibtexKeyPattern> compiledPatterns = new ConcurrentHashMap<>();
+        Optional<Pattern> keyPatternRegex = compileKeyPatternRegex(bibtexKeyPatternPreferences);
+
+        // generating a key only reads the entry and the strings of the database
+        List<String> keys = entries.parallelStream().map(entry -> {
+            CompiledBibtexKeyPattern compiledPattern = compiledPatterns.computeIfAbsent(entry.getType(),
+                    type -> CompiledBibtexKeyPattern.compile(citeKeyPattern.getValue(type)));
+            return generateKey(compiledPattern, keyPatternRegex, dBase, entry, bibtexKeyPatternPreferences);
+        }).collect(Collectors.toList());
+
+        // Keys assigned in this pass which are not yet known to the database: +1 for each new key, -1 for each
+        // replaced key of an entry in the database.
+        Map<String, Integer> keyOccurrenceChanges = new HashMap<>();
+        List<String> uniqueKeys = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            String oldKey = entry.getCiteKeyOptional().orElse(null);
+            String uniqueKey = makeUnique(keys.get(i), oldKey, dBase, keyOccurrenceChanges,
+                    bibtexKeyPatternPreferences);
+
+            if (dBase.containsEntryWithId(entry.getId())) {
+                if (oldKey != null) {
+                    keyOccurrenceChanges.merge(oldKey, -1, Integer::sum);
+                }
+                keyOccurrenceChanges.merge(uniqueKey, 1, Integer::sum);
+            }
+            uniqueKeys.add(uniqueKey);
+        }
 
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            String uniqueKey = uniqueKeys.get(i);
+            if (!uniqueKey.equals(entry.getCiteKeyOptional().orElse(null))) {
+                if (dBase.containsEntryWithId(entry.getId())) {
+                    dBase.setCiteKeyForEntry(entry, uniqueKey);
                 } else {
-                    stringBuilder.append(typeListEntry);
+                    // entry does not (yet) exist in the database, just update the entry
+                    entry.setCiteKey(uniqueKey);
                 }
             }
-        } catch (Exception e) {
-            LOGGER.warn("Cannot make label", e);
         }
+    }
 
-        // Remove all illegal characters from the key.
-        key = checkLegalKey(stringBuilder.toString(), bibtexKeyPatternPreferences.isEnforceLegalKey());
-
-        // Remove Regular Expressions while generating Keys
+    private static Optional<Pattern> compileKeyPatternRegex(BibtexKeyPatternPreferences bibtexKeyPatternPreferences) {
         String regex = bibtexKeyPatternPreferences.getKeyPatternRegex();
-        if ((regex != null) && !regex.trim().isEmpty()) {
-            String replacement = bibtexKeyPatternPreferences.getKeyPatternReplacement();
-            key = key.replaceAll(regex, replacement);
+        if ((regex == null) || regex.trim().isEmpty()) {
+            return Optional.empty();
         }
+        return Optional.of(Pattern.compile(regex));
+    }
 
-        String oldKey = entry.getCiteKeyOptional().orElse(null);
-        int occurrences = database.getNumberOfKeyOccurrences(key);
+    private static String generateKey(CompiledBibtexKeyPattern compiledPattern, Optional<Pattern> keyPatternRegex,
+            BibDatabase database, BibEntry entry, BibtexKeyPatternPreferences bibtexKeyPatternPreferences) {
+        String label = compiledPattern.expand(entry, database, bibtexKeyPatternPreferences.getKeywordDelimiter());
 
-        if (Objects.equals(oldKey, key)) {
-            occurrences--; // No change, so we can accept one dupe.
+        // Remove all illegal characters from the key.
+        String key = checkLegalKey(label, bibtexKeyPatternPreferences.isEnforceLegalKey());
+
+        // Remove Regular Expressions while generating Keys
+        if (keyPatternRegex.isPresent()) {
+            key = keyPatternRegex.get().matcher(key).replaceAll(bibtexKeyPatternPreferences.getKeyPatternReplacement());
         }
+        return key;
+    }
 
+    /**
+     * Appends the first free letter suffix to the key, if it is already in use or letters are always added.
+     *
+     * @param keyOccurrenceChanges the occurrences of keys which are not yet stored in the database
+     */
+    private static String makeUnique(String key, String oldKey, BibDatabase database,
+            Map<String, Integer> keyOccurrenceChanges, BibtexKeyPatternPreferences bibtexKeyPatternPreferences) {
         boolean alwaysAddLetter = bibtexKeyPatternPreferences.isAlwaysAddLetter();
-        boolean firstLetterA = bibtexKeyPatternPreferences.isFirstLetterA();
-
-        if (!alwaysAddLetter && (occurrences == 0)) {
+        if (!alwaysAddLetter && (getNumberOfOtherKeyOccurrences(key, oldKey, database, keyOccurrenceChanges) == 0)) {
             // No dupes found, so we can just go ahead.
-            if (!key.equals(oldKey)) {
-                if (database.containsEntryWithId(entry.getId())) {
-                    database.setCiteKeyForEntry(entry, key);
-                } else {
-                    // entry does not (yet) exist in the database, just update the entry
-                    entry.setCiteKey(key);
-                }
-            }
-
-        } else {
-            // The key is already in use, so we must modify it.
-            int number = 0;
-            if (!alwaysAddLetter && !firstLetterA) {
-                number = 1;
-            }
-
-            String moddedKey = key + getAddition(number);
-            occurrences = database.getNumberOfKeyOccurrences(moddedKey);
-
-            if (Objects.equals(oldKey, moddedKey)) {
-                occurrences--;
-            }
+            return key;
+        }
 
-            while (occurrences > 0) {
-                number++;
-                moddedKey = key + getAddition(number);
+        // The key is already in use, so we must modify it.
+        int number = 0;
+        if (!alwaysAddLetter && !bibtexKeyPatternPreferences.isFirstLetterA()) {
+            number = 1;
+        }
 
-                occurrences = database.getNumberOfKeyOccurrences(moddedKey);
-                if (Objects.equals(oldKey, moddedKey)) {
-                    occurrences--;
-                }
-            }
+        String moddedKey = key + getAddition(number);
+        while (getNumberOfOtherKeyOccurrences(moddedKey, oldKey, database, keyOccurrenceChanges) > 0) {
+            number++;
+            moddedKey = key + getAddition(number);
+        }
+        return moddedKey;
+    }
 
-            if (!moddedKey.equals(oldKey)) {
-                if (database.containsEntryWithId(entry.getId())) {
-                    database.setCiteKeyForEntry(entry, moddedKey);
-                } else {
-                    // entry does not (yet) exist in the database, just update the entry
-                    entry.setCiteKey(moddedKey);
-                }
-            }
+    private static int getNumberOfOtherKeyOccurrences(String key, String oldKey, BibDatabase database,
+            Map<String, Integer> keyOccurrenceChanges) {
+        int occurrences = database.getNumberOfKeyOccurrences(key) + keyOccurrenceChanges.getOrDefault(key, 0);
+        if (Objects.equals(oldKey, key)) {
+            occurrences--; // No change, so we can accept one dupe.
         }
+        return occurrences;
     }
 
     /**
@@ -533,6 +549,13 @@ public class BibtexKeyPatternUtil {
     }
 
     public static String makeLabel(BibEntry entry, String value, Character keywordDelimiter) {
+        return makeLabel(entry, value, keywordDelimiter, null);
+    }
+
+    /**
+     * @param database used to resolve strings in author and editor fields, may be null
+     */
+    public static String makeLabel(BibEntry entry, String value, Character keywordDelimiter, BibDatabase database) {
         String val = value;
         try {
             if (val.startsWith("auth") || val.startsWith("pureauth")) {
@@ -548,7 +571,7 @@ public class BibtexKeyPatternUtil {
                  * substitution of editor.
                  */
                 String authString = entry.getField(FieldName.AUTHOR)
-                        .map(authorString -> normalize(database.resolveForStrings(authorString))).orElse("");
+                        .map(authorString -> normalize(resolveForStrings(database, authorString))).orElse("");
 
                 if (val.startsWith("pure")) {
                     // remove the "pure" prefix so the remaining
@@ -558,7 +581,7 @@ public class BibtexKeyPatternUtil {
 
                 if (authString.isEmpty()) {
                     authString = entry.getField(FieldName.EDITOR)
-                            .map(authorString -> normalize(database.resolveForStrings(authorString))).orElse("");
+                            .map(authorString -> normalize(resolveForStrings(database, authorString))).orElse("");
                 }
 
                 // Gather all author-related checks, so we don't
@@ -581,7 +604,7 @@ public class BibtexKeyPatternUtil {
                     return lastAuthorForenameInitials(authString);
                 } else if ("authorIni".equals(val)) {
                     return oneAuthorPlusIni(authString);
-                } else if (val.matches("authIni[\\d]+")) {
+                } else if (AUTH_INI_N.matcher(val).matches()) {
                     int num = Integer.parseInt(val.substring(7));
                     return authIniN(authString, num);
                 } else if ("auth.auth.ea".equals(val)) {
@@ -592,11 +615,11 @@ public class BibtexKeyPatternUtil {
                     return authEtal(authString, "", "EtAl");
                 } else if ("authshort".equals(val)) {
                     return authshort(authString);
-                } else if (val.matches("auth[\\d]+_[\\d]+")) {
+                } else if (AUTH_N_OF_M.matcher(val).matches()) {
                     String[] nums = val.substring(4).split("_");
                     return authNofMth(authString, Integer.parseInt(nums[0]),
                             Integer.parseInt(nums[1]));
-                } else if (val.matches("auth\\d+")) {
+                } else if (AUTH_N.matcher(val).matches()) {
                     // authN. First N chars of the first author's last
                     // name.
 
@@ -606,7 +629,7 @@ public class BibtexKeyPatternUtil {
                         num = fa.length();
                     }
                     return fa.substring(0, num);
-                } else if (val.matches("authors\\d+")) {
+                } else if (AUTHORS_N.matcher(val).matches()) {
                     return nAuthors(authString, Integer.parseInt(val.substring(7)));
                 } else {
                     // This "auth" business was a dead end, so just
@@ -629,10 +652,10 @@ public class BibtexKeyPatternUtil {
                     return lastAuthorForenameInitials(entry.getField(FieldName.EDITOR).orElse(""));
                 } else if ("editorIni".equals(val)) {
                     return oneAuthorPlusIni(entry.getField(FieldName.EDITOR).orElse(""));
-                } else if (val.matches("edtrIni[\\d]+")) {
+                } else if (EDTR_INI_N.matcher(val).matches()) {
                     int num = Integer.parseInt(val.substring(7));
                     return authIniN(entry.getField(FieldName.EDITOR).orElse(""), num);
-                } else if (val.matches("edtr[\\d]+_[\\d]+")) {
+                } else if (EDTR_N_OF_M.matcher(val).matches()) {
                     String[] nums = val.substring(4).split("_");
                     return authNofMth(entry.getField(FieldName.EDITOR).orElse(""),
                             Integer.parseInt(nums[0]),
@@ -644,7 +667,7 @@ public class BibtexKeyPatternUtil {
                 }
                 // authN. First N chars of the first author's last
                 // name.
-                else if (val.matches("edtr\\d+")) {
+                else if (EDTR_N.matcher(val).matches()) {
                     String fa = firstAuthor(entry.getField(FieldName.EDITOR).orElse(""));
                     int num = Integer.parseInt(val.substring(4));
                     if (num > fa.length()) {
@@ -680,7 +703,7 @@ public class BibtexKeyPatternUtil {
                 } else {
                     return yearString;
                 }
-            } else if (val.matches("keyword\\d+")) {
+            } else if (KEYWORD_N.matcher(val).matches()) {
                 // according to LabelPattern.php, it returns keyword number n
                 int num = Integer.parseInt(val.substring(7));
                 KeywordList separatedKeywords = entry.getKeywords(keywordDelimiter);
@@ -691,7 +714,7 @@ public class BibtexKeyPatternUtil {
                     // num counts from 1 to n, but index in arrayList count from 0 to n-1
                     return separatedKeywords.get(num-1).toString();
                 }
-            } else if (val.matches("keywords\\d*")) {
+            } else if (KEYWORDS_N.matcher(val).matches()) {
                 // return all keywords, not separated
                 int num;
                 if (val.length() > 8) {
@@ -723,6 +746,10 @@ public class BibtexKeyPatternUtil {
 
     }
 
+    private static String resolveForStrings(BibDatabase database, String content) {
+        return database == null ? content : database.resolveForStrings(content);
+    }
+
     /**
      * Computes an appendix to a BibTeX key that could make it unique. We use
      * a-z for numbers 0-25, and then aa-az, ba-bz, etc.
@@ -1252,7 +1279,7 @@ public class BibtexKeyPatternUtil {
      * @param arg The argument string.
      * @return An array of strings representing the parts of the marker
      */
-    private static List<String> parseFieldMarker(String arg) {
+    static List<String> parseFieldMarker(String arg) {
         List<String> parts = new ArrayList<>();
         StringBuilder current = new StringBuilder();
         boolean escaped = false;
@@ -0,0 +1,98 @@
+package net.sf.jabref.logic.bibtexkeypattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.bibtexkeypattern.AbstractBibtexKeyPattern;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The key pattern of an entry type, parsed once into literal text and field markers with their modifiers.
+ * <p>
+ * Instances are immutable, thus a compiled pattern can be used to generate keys for many entries concurrently.
+ */
+public final class CompiledBibtexKeyPattern {
+
+    private static final Log LOGGER = LogFactory.getLog(CompiledBibtexKeyPattern.class);
+
+    private final List<Part> parts;
+
+
+    private CompiledBibtexKeyPattern(List<Part> parts) {
+        this.parts = Collections.unmodifiableList(parts);
+    }
+
+    /**
+     * @param patternValue the value of a key pattern as returned by {@link AbstractBibtexKeyPattern#getValue(String)}:
+     *                     the pattern itself followed by its tokens, where field markers are enclosed by "[" and "]"
+     */
+    public static CompiledBibtexKeyPattern compile(List<String> patternValue) {
+        List<Part> parts = new ArrayList<>();
+        boolean field = false;
+        // the first element is the unparsed pattern
+        for (String token : patternValue.subList(Math.min(1, patternValue.size()), patternValue.size())) {
+            if ("[".equals(token)) {
+                field = true;
+            } else if ("]".equals(token)) {
+                field = false;
+            } else if (field) {
+                // check whether there is a modifier on the end such as ":lower"
+                parts.add(new Part(null, BibtexKeyPatternUtil.parseFieldMarker(token)));
+            } else {
+                parts.add(new Part(token, Collections.emptyList()));
+            }
+        }
+        return new CompiledBibtexKeyPattern(parts);
+    }
+
+    /**
+     * Expands the pattern for the given entry. The result is not yet checked for illegal characters.
+     *
+     * @param database used to resolve strings in author and editor fields, may be null
+     */
+    public String expand(BibEntry entry, BibDatabase database, Character keywordDelimiter) {
+        StringBuilder stringBuilder = new StringBuilder();
+        try {
+            for (Part part : parts) {
+                if (part.isLiteral()) {
+                    stringBuilder.append(part.literal);
+                } else {
+                    String label = BibtexKeyPatternUtil.makeLabel(entry, part.marker.get(0), keywordDelimiter,
+                            database);
+
+                    // apply modifier if present
+                    if (part.marker.size() > 1) {
+                        label = BibtexKeyPatternUtil.applyModifiers(label, part.marker, 1);
+                    }
+                    stringBuilder.append(label);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Cannot make label", e);
+        }
+        return stringBuilder.toString();
+    }
+
+
+    private static class Part {
+
+        private final String literal;
+        // field name followed by its modifiers
+        private final List<String> marker;
+
+
+        Part(String literal, List<String> marker) {
+            this.literal = literal;
+            this.marker = Collections.unmodifiableList(marker);
+        }
+
+        boolean isLiteral() {
+            return literal != null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package net.sf.jabref.logic.bst;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * The operand stack of the {@link VM}. It holds strings, integers, missing values (null) and functions.
+ * <p>
+ * Unlike {@link java.util.Stack}, it is not synchronized, and integers are stored unboxed, so that the integer
+ * operations of the built-in functions do not allocate.
+ */
+public class BstStack {
+
+    // marks the slots whose value is stored in integers
+    private static final Object INTEGER = new Object();
+
+    private Object[] values = new Object[16];
+    private int[] integers = new int[16];
+    private int size;
+
+
+    public void push(Object value) {
+        if (value instanceof Integer) {
+            pushInt((Integer) value);
+            return;
+        }
+        ensureCapacity();
+        values[size++] = value;
+    }
+
+    public void pushInt(int value) {
+        ensureCapacity();
+        values[size] = INTEGER;
+        integers[size++] = value;
+    }
+
+    /**
+     * Pops the top value, boxing it if it is an integer.
+     *
+     * @throws EmptyStackException if the stack is empty
+     */
+    public Object pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        size--;
+        Object value = values[size];
+        values[size] = null;
+        if (value == INTEGER) {
+            return integers[size];
+        }
+        return value;
+    }
+
+    /**
+     * Pops the top value, which must be an integer, see {@link #isInteger(int)}.
+     *
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int popInt() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        size--;
+        values[size] = null;
+        return integers[size];
+    }
+
+    /**
+     * Returns whether the value at the given depth is an integer, where the top has the depth 0.
+     */
+    public boolean isInteger(int depth) {
+        return (depth < size) && (values[size - 1 - depth] == INTEGER);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean empty() {
+        return isEmpty();
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            integers = Arrays.copyOf(integers, size * 2);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package net.sf.jabref.logic.bst;
 
-import java.util.Stack;
-
 import net.sf.jabref.logic.bst.BibtexCaseChanger.FORMAT_MODE;
 import net.sf.jabref.logic.bst.VM.BstEntry;
 import net.sf.jabref.logic.bst.VM.BstFunction;
@@ -41,7 +39,7 @@ public class ChangeCaseFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
+        BstStack stack = vm.getStack();
 
         if (stack.size() < 2) {
             throw new VMException("Not enough operands on stack for operation change.case$");
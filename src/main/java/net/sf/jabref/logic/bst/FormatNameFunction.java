@@ -1,7 +1,5 @@
 package net.sf.jabref.logic.bst;
 
-import java.util.Stack;
-
 import net.sf.jabref.logic.bst.VM.BstEntry;
 import net.sf.jabref.logic.bst.VM.BstFunction;
 import net.sf.jabref.model.entry.Author;
@@ -34,7 +32,7 @@ public class FormatNameFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
+        BstStack stack = vm.getStack();
 
         if (stack.size() < 3) {
             throw new VMException("Not enough operands on stack for operation format.name$");
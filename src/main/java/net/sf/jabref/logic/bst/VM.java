@@ -9,7 +9,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,7 +49,10 @@ public class VM implements Warn {
 
     private Map<String, BstFunction> functions = new HashMap<>();
 
-    private Stack<Object> stack = new Stack<>();
+    private BstStack stack = new BstStack();
+
+    // incremented whenever identifiers are declared or defined, invalidating their resolutions
+    private int generation;
 
     public static final Integer FALSE = 0;
 
@@ -130,14 +132,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation >");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with >");
             }
+            int i2 = stack.popInt();
+            int i1 = stack.popInt();
 
-            stack.push(((Integer) o1).compareTo((Integer) o2) > 0 ? VM.TRUE : VM.FALSE);
+            stack.pushInt(i1 > i2 ? 1 : 0);
         });
 
         /** Analogous. */
@@ -145,14 +146,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation <");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with <");
             }
+            int i2 = stack.popInt();
+            int i1 = stack.popInt();
 
-            stack.push(((Integer) o1).compareTo((Integer) o2) < 0 ? VM.TRUE : VM.FALSE);
+            stack.pushInt(i1 < i2 ? 1 : 0);
         });
 
         /**
@@ -163,6 +163,10 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation =");
             }
+            if (stack.isInteger(0) && stack.isInteger(1)) {
+                stack.pushInt(stack.popInt() == stack.popInt() ? 1 : 0);
+                return;
+            }
             Object o1 = stack.pop();
             Object o2 = stack.pop();
 
@@ -184,14 +188,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation +");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with +");
             }
+            int i2 = stack.popInt();
+            int i1 = stack.popInt();
 
-            stack.push((Integer) o1 + (Integer) o2);
+            stack.pushInt(i1 + i2);
         });
 
         /**
@@ -202,14 +205,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation -");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only subtract two integers with -");
             }
+            int i2 = stack.popInt();
+            int i1 = stack.popInt();
 
-            stack.push((Integer) o1 - (Integer) o2);
+            stack.pushInt(i1 - i2);
         });
 
         /**
@@ -287,7 +289,7 @@ public class VM implements Warn {
 
             String s = (String) o1;
 
-            stack.push((int) s.charAt(0));
+            stack.pushInt(s.charAt(0));
         });
 
         /**
@@ -353,14 +355,12 @@ public class VM implements Warn {
             }
             Object f1 = stack.pop();
             Object f2 = stack.pop();
-            Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!stack.isInteger(0) || (!isFunction(f1) && isFunction(f2))) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
-            if ((Integer) i > 0) {
+            if (stack.popInt() > 0) {
                 VM.this.executeInContext(f2, context);
             } else {
                 VM.this.executeInContext(f1, context);
@@ -454,7 +454,7 @@ public class VM implements Warn {
             }
             String s = (String) o1;
 
-            stack.push(AuthorList.parse(s).getNumberOfAuthors());
+            stack.pushInt(AuthorList.parse(s).getNumberOfAuthors());
         });
 
         /**
@@ -692,7 +692,7 @@ public class VM implements Warn {
                 result++;
             }
         }
-        stack.push(result);
+        stack.pushInt(result);
     }
 
     private void whileFunction(BstEntry context) {
@@ -702,19 +702,17 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!isFunction(f1) && isFunction(f2)) {
             throw new VMException("Expecting two functions for while$.");
         }
 
         do {
             VM.this.executeInContext(f1, context);
 
-            Object i = stack.pop();
-            if (!(i instanceof Integer)) {
-                throw new VMException("First parameter to while has to return an integer but was " + i);
+            if (!stack.isInteger(0)) {
+                throw new VMException("First parameter to while has to return an integer but was " + stack.pop());
             }
-            if ((Integer) i <= 0) {
+            if (stack.popInt() <= 0) {
                 break;
             }
             VM.this.executeInContext(f2, context);
@@ -840,6 +838,7 @@ public class VM implements Warn {
 
         // Reset
         bbl = new StringBuilder();
+        generation++;
 
         strings = new HashMap<>();
 
@@ -850,7 +849,7 @@ public class VM implements Warn {
         functions = new HashMap<>();
         functions.putAll(buildInFunctions);
 
-        stack = new Stack<>();
+        stack = new BstStack();
 
         // Create entries
         entries = new ArrayList<>(bibtex.size());
@@ -920,6 +919,7 @@ public class VM implements Warn {
                 mEntry.setValue(fieldValue);
             }
         }
+        generation++;
 
         for (BstEntry e : entries) {
             if (!e.getFields().containsKey(FieldName.CROSSREF)) {
@@ -944,6 +944,7 @@ public class VM implements Warn {
         String name = child.getChild(0).getText();
         String replacement = child.getChild(1).getText();
         functions.put(name, new MacroFunction(replacement));
+        generation++;
     }
 
 
@@ -1006,6 +1007,7 @@ public class VM implements Warn {
         for (BstEntry entry : entries) {
             entry.localStrings.put("sort.key$", null);
         }
+        generation++;
     }
 
     private void reverse(Tree child) {
@@ -1035,7 +1037,11 @@ public class VM implements Warn {
     }
 
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
+        if (o instanceof StackFunction) {
+            ((StackFunction) o).execute(context);
+        } else if (o instanceof QuotedIdentifier) {
+            ((QuotedIdentifier) o).reference.execute(context);
+        } else if (o instanceof Tree) {
             Tree t = (Tree) o;
             new StackFunction(t).execute(context);
         } else if (o instanceof Identifier) {
@@ -1043,18 +1049,38 @@ public class VM implements Warn {
         }
     }
 
+    private static boolean isFunction(Object o) {
+        return (o instanceof Identifier) || (o instanceof StackFunction) || (o instanceof Tree);
+    }
+
     private void execute(Tree child) {
         execute(child.getChild(0).getText(), null);
     }
 
 
+    /**
+     * A function defined by the style. Its body is compiled once, so that executing it neither walks the tree nor
+     * looks up the meaning of its identifiers again.
+     */
     public class StackFunction implements BstFunction {
 
         private final Tree localTree;
 
+        private final BstFunction[] instructions;
+
+        // the line of each instruction for error messages
+        private final int[] lines;
+
 
         public StackFunction(Tree stack) {
             localTree = stack;
+            instructions = new BstFunction[stack.getChildCount()];
+            lines = new int[instructions.length];
+            for (int i = 0; i < instructions.length; i++) {
+                Tree c = stack.getChild(i);
+                instructions[i] = compile(c);
+                lines[i] = c.getLine();
+            }
         }
 
         public Tree getTree() {
@@ -1064,35 +1090,15 @@ public class VM implements Warn {
         @Override
         public void execute(BstEntry context) {
 
-            for (int i = 0; i < localTree.getChildCount(); i++) {
-
-                Tree c = localTree.getChild(i);
+            for (int i = 0; i < instructions.length; i++) {
                 try {
-
-                    switch (c.getType()) {
-                    case BstParser.STRING:
-                        String s = c.getText();
-                        push(s.substring(1, s.length() - 1));
-                        break;
-                    case BstParser.INTEGER:
-                        push(Integer.parseInt(c.getText().substring(1)));
-                        break;
-                    case BstParser.QUOTED:
-                        push(new Identifier(c.getText().substring(1)));
-                        break;
-                    case BstParser.STACK:
-                        push(c);
-                        break;
-                    default:
-                        VM.this.execute(c.getText(), context);
-                        break;
-                    }
+                    instructions[i].execute(context);
                 } catch (VMException e) {
                     if (file == null) {
-                        LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
+                        LOGGER.error("ERROR " + e.getMessage() + " (" + lines[i] + ")");
                     } else {
                         LOGGER.error("ERROR " + e.getMessage() + " (" + file.getPath() + ":"
-                                + c.getLine() + ")");
+                                + lines[i] + ")");
                     }
                     throw e;
                 }
@@ -1101,11 +1107,172 @@ public class VM implements Warn {
         }
     }
 
+    private BstFunction compile(Tree c) {
+        switch (c.getType()) {
+        case BstParser.STRING:
+            String s = c.getText();
+            String string = s.substring(1, s.length() - 1);
+            return context -> stack.push(string);
+        case BstParser.INTEGER:
+            int integer = Integer.parseInt(c.getText().substring(1));
+            return context -> stack.pushInt(integer);
+        case BstParser.QUOTED:
+            Identifier identifier = new QuotedIdentifier(c.getText().substring(1));
+            return context -> stack.push(identifier);
+        case BstParser.STACK:
+            StackFunction function = new StackFunction(c);
+            return context -> stack.push(function);
+        default:
+            return new Reference(c.getText());
+        }
+    }
+
+    /**
+     * A quoted identifier in a compiled function, which executes its reference if passed to if$ or while$.
+     */
+    private class QuotedIdentifier extends Identifier {
+
+        private final Reference reference;
+
 
-    private void push(Tree t) {
-        stack.push(t);
+        public QuotedIdentifier(String name) {
+            super(name);
+            reference = new Reference(name);
+        }
+    }
+
+    private enum ReferenceKind {
+        FIELD,
+        LOCAL_STRING,
+        LOCAL_INTEGER,
+        STRING,
+        INTEGER,
+        FUNCTION
     }
 
+    /**
+     * An identifier in a compiled function. It is resolved as {@link #execute(String, BstEntry)} does when it is
+     * first executed within an entry and outside of one, and again after further identifiers have been declared. All
+     * entries declare the same variables, thus the resolution within one entry holds for the others.
+     */
+    private class Reference implements BstFunction {
+
+        private final String name;
+
+        private Resolution inEntry;
+
+        private Resolution outsideEntry;
+
+
+        public Reference(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute(BstEntry context) {
+            Resolution resolution = context == null ? outsideEntry : inEntry;
+            if ((resolution == null) || (resolution.generation != generation)) {
+                resolution = resolve(context);
+                if (context == null) {
+                    outsideEntry = resolution;
+                } else {
+                    inEntry = resolution;
+                }
+            }
+
+            switch (resolution.kind) {
+            case FIELD:
+                if (pushValue(context.getFields())) {
+                    return;
+                }
+                break;
+            case LOCAL_STRING:
+                if (pushValue(context.localStrings)) {
+                    return;
+                }
+                break;
+            case LOCAL_INTEGER:
+                if (pushValue(context.localIntegers)) {
+                    return;
+                }
+                break;
+            case STRING:
+                if (pushValue(strings)) {
+                    return;
+                }
+                break;
+            case INTEGER:
+                if (pushValue(integers)) {
+                    return;
+                }
+                break;
+            default:
+                // OK to have a null context
+                resolution.function.execute(context);
+                return;
+            }
+
+            // the variable has been removed meanwhile, thus look it up again
+            VM.this.execute(name, context);
+        }
+
+        private boolean pushValue(Map<String, ?> variables) {
+            Object value = variables.get(name);
+            if ((value == null) && !variables.containsKey(name)) {
+                return false;
+            }
+            stack.push(value);
+            return true;
+        }
+
+        private Resolution resolve(BstEntry context) {
+            if (context != null) {
+                if (context.getFields().containsKey(name)) {
+                    return new Resolution(ReferenceKind.FIELD, null);
+                }
+                if (context.localStrings.containsKey(name)) {
+                    return new Resolution(ReferenceKind.LOCAL_STRING, null);
+                }
+                if (context.localIntegers.containsKey(name)) {
+                    return new Resolution(ReferenceKind.LOCAL_INTEGER, null);
+                }
+            }
+            if (strings.containsKey(name)) {
+                return new Resolution(ReferenceKind.STRING, null);
+            }
+            if (integers.containsKey(name)) {
+                return new Resolution(ReferenceKind.INTEGER, null);
+            }
+
+            BstFunction function = functions.get(name);
+            if (function != null) {
+                return new Resolution(ReferenceKind.FUNCTION, function);
+            }
+
+            throw new VMException("No matching identifier found: " + name);
+        }
+    }
+
+    /**
+     * What an identifier refers to, valid as long as no further identifiers are declared
+     */
+    private class Resolution {
+
+        private final ReferenceKind kind;
+
+        // the function if the identifier names one
+        private final BstFunction function;
+
+        private final int generation = VM.this.generation;
+
+
+        public Resolution(ReferenceKind kind, BstFunction function) {
+            this.kind = kind;
+            this.function = function;
+        }
+    }
+
+
     private void execute(String name, BstEntry context) {
 
         if (context != null) {
@@ -1145,7 +1312,7 @@ public class VM implements Warn {
         String name = child.getChild(0).getText();
         Tree localStack = child.getChild(1);
         functions.put(name, new StackFunction(localStack));
-
+        generation++;
     }
 
     /**
@@ -1164,6 +1331,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             integers.put(name, 0);
         }
+        generation++;
     }
 
     /**
@@ -1180,6 +1348,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             strings.put(name, null);
         }
+        generation++;
     }
 
 
@@ -1208,18 +1377,10 @@ public class VM implements Warn {
     }
 
 
-    private void push(Integer integer) {
-        stack.push(integer);
-    }
-
     private void push(String string) {
         stack.push(string);
     }
 
-    private void push(Identifier identifier) {
-        stack.push(identifier);
-    }
-
     public Map<String, String> getStrings() {
         return strings;
     }
@@ -1236,7 +1397,7 @@ public class VM implements Warn {
         return functions;
     }
 
-    public Stack<Object> getStack() {
+    public BstStack getStack() {
         return stack;
     }
 
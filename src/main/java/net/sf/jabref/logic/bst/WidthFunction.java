@@ -1,7 +1,5 @@
 package net.sf.jabref.logic.bst;
 
-import java.util.Stack;
-
 import net.sf.jabref.logic.bst.VM.BstEntry;
 import net.sf.jabref.logic.bst.VM.BstFunction;
 
@@ -26,7 +24,7 @@ public class WidthFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
+        BstStack stack = vm.getStack();
 
         if (stack.isEmpty()) {
             throw new VMException("Not enough operands on stack for operation width$");
@@ -35,10 +33,10 @@ public class WidthFunction implements BstFunction {
 
         if (!(o1 instanceof String)) {
             vm.warn("A string is needed for change.case$");
-            stack.push(0);
+            stack.pushInt(0);
             return;
         }
 
-        stack.push(BibtexWidth.width((String) o1));
+        stack.pushInt(BibtexWidth.width((String) o1));
     }
 }
@@ -0,0 +1,75 @@
+package net.sf.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import de.undercouch.citeproc.CSL;
+import de.undercouch.citeproc.ItemDataProvider;
+import de.undercouch.citeproc.csl.CSLItemData;
+
+/**
+ * A citeproc engine for one style which is kept alive to render many entries. Creating the engine evaluates the
+ * citeproc JavaScript library and the style, which takes far longer than rendering an entry.
+ * <p>
+ * An instance must not be used by several threads at once, see {@link CitationStyleGenerator} for the pool.
+ */
+class CSLAdapter {
+
+    private final SingleItemDataProvider dataProvider = new SingleItemDataProvider();
+    private final CSL cslInstance;
+    private CitationStyleOutputFormat outputFormat;
+
+
+    CSLAdapter(String style) throws IOException {
+        cslInstance = new CSL(dataProvider, style);
+    }
+
+    /**
+     * Renders the bibliography entry of the given item.
+     * <p>
+     * Several items are rendered one after another rather than in one bibliography, as the style sorts the
+     * bibliography and citeproc-java does not tell which entry belongs to which item.
+     * <p>
+     * If rendering fails, the engine may keep a partly registered item and must not be used anymore.
+     */
+    String makeBibliographyEntry(CSLItemData item, CitationStyleOutputFormat format) {
+        if (outputFormat != format) {
+            cslInstance.setOutputFormat(format.getFormat());
+            outputFormat = format;
+        }
+        if (Objects.equals(dataProvider.getId(), item.getId())) {
+            // citeproc keeps the data of registered items, thus unregister it in case it has been changed
+            cslInstance.registerCitationItems();
+        }
+        dataProvider.setItem(item);
+        cslInstance.registerCitationItems(item.getId());
+        return cslInstance.makeBibliography().getEntries()[0];
+    }
+
+    /**
+     * Provides the item currently rendered to the engine
+     */
+    private static class SingleItemDataProvider implements ItemDataProvider {
+
+        private CSLItemData item;
+
+
+        void setItem(CSLItemData item) {
+            this.item = item;
+        }
+
+        String getId() {
+            return item == null ? null : item.getId();
+        }
+
+        @Override
+        public CSLItemData retrieveItem(String id) {
+            return item;
+        }
+
+        @Override
+        public String[] getIds() {
+            return item == null ? new String[0] : new String[] {item.getId()};
+        }
+    }
+}
@@ -6,21 +6,32 @@ import java.util.Objects;
 import java.util.Optional;
 
 import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
-import net.sf.jabref.model.entry.event.EntryChangedEvent;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
 
-import com.google.common.eventbus.Subscribe;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 
 /**
  * Caches the generated Citations for quicker access
  * {@link CitationStyleGenerator} generates the citaiton with JavaScript which may take some time
+ * <p>
+ * The cache may be used by several threads. It holds a bounded number of citations, each together with the style and
+ * the content of the entry it has been generated from, so a citation generated while the entry or the style changed
+ * is never returned.
  */
 public class CitationStyleCache {
 
-    private Optional<CitationStyle> citationStyle = Optional.of(CitationStyle.getDefault());
-    private Map<BibEntry, String> citationStylesCache = new HashMap<>();
+    private static final int CACHE_SIZE = 1000;
+
+    private volatile CitationStyle citationStyle;
+    // the keys are compared by identity, as the content of an entry changes
+    private final Cache<BibEntry, Citation> citationStylesCache = CacheBuilder.newBuilder().weakKeys()
+            .maximumSize(CACHE_SIZE).build();
 
 
     public CitationStyleCache(BibDatabaseContext bibDatabaseContext) {
@@ -29,49 +40,86 @@ public class CitationStyleCache {
 
     public CitationStyleCache(BibDatabaseContext bibDatabaseContext, CitationStyle citationStyle) {
         this.setCitationStyle(citationStyle);
-        bibDatabaseContext.getDatabase().registerListener(new BibDatabaseEntryListener());
+        bibDatabaseContext.getDatabase().addListener(new BibDatabaseEntryListener());
     }
 
     /**
      * returns the citation for the given BibEntry and the set CitationStyle
      */
     public String getCitationFor(BibEntry entry) {
-        String citation = citationStylesCache.get(entry);
-        if (citation == null) {
-            citation = CitationStyleGenerator.generateCitation(entry, this.citationStyle.get().getSource());
+        CitationStyle style = this.citationStyle;
+        Citation citation = citationStylesCache.getIfPresent(entry);
+        if ((citation == null) || !citation.isGeneratedFrom(style, entry)) {
+            // take the content before generating, as the entry may be changed meanwhile
+            String type = entry.getType();
+            Map<String, String> fields = new HashMap<>(entry.getFieldMap());
+            String text = CitationStyleGenerator.generateCitation(entry, style.getSource());
+            citation = new Citation(style, type, fields, text);
             citationStylesCache.put(entry, citation);
         }
-        return citation;
+        return citation.text;
     }
 
     public void setCitationStyle(CitationStyle citationStyle) {
         Objects.requireNonNull(citationStyle);
-        if (!this.citationStyle.isPresent() || !this.citationStyle.get().equals(citationStyle)){
-            this.citationStyle = Optional.of(citationStyle);
-            this.citationStylesCache.clear();
+        if (!citationStyle.equals(this.citationStyle)) {
+            this.citationStyle = citationStyle;
+            this.citationStylesCache.invalidateAll();
         }
     }
 
     public Optional<CitationStyle> getCitationStyle() {
-        return citationStyle;
+        return Optional.of(citationStyle);
     }
 
 
-    private class BibDatabaseEntryListener {
+    /**
+     * A generated citation together with the style and the content of the entry it has been generated from
+     */
+    private static class Citation {
+
+        private final CitationStyle style;
+        private final String type;
+        private final Map<String, String> fields;
+        private final String text;
+
+
+        Citation(CitationStyle style, String type, Map<String, String> fields, String text) {
+            this.style = style;
+            this.type = type;
+            this.fields = fields;
+            this.text = text;
+        }
+
+        boolean isGeneratedFrom(CitationStyle style, BibEntry entry) {
+            return this.style.equals(style) && Objects.equals(type, entry.getType())
+                    && fields.equals(entry.getFieldMap());
+        }
+    }
+
+    private class BibDatabaseEntryListener implements BibDatabaseListener {
         /**
          * removes the outdated citation of the changed entry
          */
-        @Subscribe
-        public void listen(EntryChangedEvent entryChangedEvent) {
-            citationStylesCache.remove(entryChangedEvent.getBibEntry());
+        @Override
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            citationStylesCache.invalidate(fieldChangedEvent.getBibEntry());
+        }
+
+        /**
+         * removes the outdated citations of all entries changed in a batch
+         */
+        @Override
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            citationStylesCache.invalidateAll(entriesChangedEvent.getBibEntries());
         }
 
         /**
          * removes the citation of the removed entry as it's not needed anymore
          */
-        @Subscribe
+        @Override
         public void listen(EntryRemovedEvent entryRemovedEvent) {
-            citationStylesCache.remove(entryRemovedEvent.getBibEntry());
+            citationStylesCache.invalidate(entryRemovedEvent.getBibEntry());
         }
     }
 
@@ -2,15 +2,17 @@ package net.sf.jabref.logic.citationstyle;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import net.sf.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.entry.BibEntry;
 
-import de.undercouch.citeproc.CSL;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import de.undercouch.citeproc.bibtex.BibTeXConverter;
 import de.undercouch.citeproc.csl.CSLItemData;
-import de.undercouch.citeproc.output.Bibliography;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jbibtex.BibTeXEntry;
@@ -21,6 +23,9 @@ import org.jbibtex.TokenMgrError;
 
 /**
  * WARNING: the citation is generated with JavaScript which may take some time, better call it in outside the main Thread
+ * <p>
+ * The citeproc engines are pooled per style, as creating one takes far longer than rendering an entry. An engine is
+ * used by one thread at a time, thus entries can be rendered in parallel with several engines.
  */
 public class CitationStyleGenerator {
 
@@ -28,6 +33,11 @@ public class CitationStyleGenerator {
     private static final UnicodeToLatexFormatter UNICODE_TO_LATEX_FORMATTER = new UnicodeToLatexFormatter();
     private static final BibTeXConverter BIBTEX_CONVERTER = new BibTeXConverter();
 
+    private static final int MAX_POOLED_STYLES = 5;
+    private static final int MAX_POOLED_ENGINES_PER_STYLE = Runtime.getRuntime().availableProcessors();
+    private static final Cache<String, Queue<CSLAdapter>> ENGINE_POOL = CacheBuilder.newBuilder()
+            .maximumSize(MAX_POOLED_STYLES).build();
+
 
     /**
      * Generates a Citation based on the given entry and style
@@ -42,6 +52,19 @@ public class CitationStyleGenerator {
      * WARNING: the citation is generated with JavaScript which may take some time, better call it in outside the main Thread
      */
     protected static String generateCitation(BibEntry entry, String style, CitationStyleOutputFormat outputFormat) {
+        try {
+            CSLAdapter engine = borrowEngine(style);
+            String citation = generateCitation(engine, entry, outputFormat);
+            // an engine which failed is not returned to the pool, as it may be left half updated
+            returnEngine(style, engine);
+            return citation;
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            LOGGER.error("Could not generate BibEntry Citation", e);
+            return "";
+        }
+    }
+
+    private static String generateCitation(CSLAdapter engine, BibEntry entry, CitationStyleOutputFormat outputFormat) {
         try {
             String citeKey = entry.getCiteKeyOptional().orElse("");
             BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(entry.getType()), new Key(citeKey));
@@ -51,11 +74,8 @@ public class CitationStyleGenerator {
             }
 
             CSLItemData cslItemData = BIBTEX_CONVERTER.toItemData(bibTeXEntry);
-            Bibliography bibliography = CSL.makeAdhocBibliography(style, outputFormat.getFormat(), cslItemData);
-            return bibliography.getEntries()[0];
+            return engine.makeBibliographyEntry(cslItemData, outputFormat);
 
-        } catch (IOException | ArrayIndexOutOfBoundsException e) {
-            LOGGER.error("Could not generate BibEntry Citation", e);
         } catch (TokenMgrError e) {
             LOGGER.error("Bad character inside BibEntry", e);
             // sadly one cannot easily retrieve the bad char from the TokenMgrError
@@ -65,8 +85,25 @@ public class CitationStyleGenerator {
                     .append(e.getLocalizedMessage())
                     .toString();
         }
+    }
+
+    private static CSLAdapter borrowEngine(String style) throws IOException {
+        CSLAdapter engine = getPool(style).poll();
+        if (engine == null) {
+            engine = new CSLAdapter(style);
+        }
+        return engine;
+    }
+
+    private static void returnEngine(String style, CSLAdapter engine) {
+        Queue<CSLAdapter> pool = getPool(style);
+        if (pool.size() < MAX_POOLED_ENGINES_PER_STYLE) {
+            pool.offer(engine);
+        }
+    }
 
-        return "";
+    private static Queue<CSLAdapter> getPool(String style) {
+        return ENGINE_POOL.asMap().computeIfAbsent(style, key -> new ConcurrentLinkedQueue<>());
     }
 
 }
@@ -23,6 +23,9 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
     private static final String COMMENT_PREFIX = "@Comment";
     private static final String PREAMBLE_PREFIX = "@Preamble";
 
+    // one entry writer is used for all changed entries of a save, unchanged entries are written as they were parsed
+    private BibEntryWriter entryWriter;
+    private LatexFieldFormatterPreferences entryWriterPreferences;
 
     public BibtexDatabaseWriter(SaveSessionFactory<E> saveSessionFactory) {
         super(saveSessionFactory);
@@ -145,10 +148,12 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
     @Override
     protected void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
             LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException {
-        BibEntryWriter bibtexEntryWriter = new BibEntryWriter(
-                new LatexFieldFormatter(latexFieldFormatterPreferences), true);
+        if ((entryWriter == null) || (entryWriterPreferences != latexFieldFormatterPreferences)) {
+            entryWriter = new BibEntryWriter(new LatexFieldFormatter(latexFieldFormatterPreferences), true);
+            entryWriterPreferences = latexFieldFormatterPreferences;
+        }
         try {
-            bibtexEntryWriter.write(entry, getWriter(), mode, isReformatFile);
+            entryWriter.write(entry, getWriter(), mode, isReformatFile);
         } catch (IOException e) {
             throw new SaveException(e, entry);
         }
@@ -15,6 +15,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.JabRefMain;
 import net.sf.jabref.logic.layout.Layout;
@@ -23,6 +25,8 @@ import net.sf.jabref.logic.layout.LayoutHelper;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.entry.BibEntry;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -46,6 +50,15 @@ public class ExportFormat implements IExportFormat {
 
     private static final Log LOGGER = LogFactory.getLog(ExportFormat.class);
 
+    // number of entries laid out at once, if the entries are laid out in parallel
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
+    private static final int LAYOUT_CACHE_SIZE = 500;
+
+    // shared by all instances, as the export formats are created again for every export
+    private static final Cache<LayoutKey, CachedLayout> LAYOUT_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(LAYOUT_CACHE_SIZE).build();
+
     /**
      * Initialize another export format based on templates stored in dir with
      * layoutFile lfFilename.
@@ -148,18 +161,10 @@ public class ExportFormat implements IExportFormat {
      * @throws IOException if the reader could not be created
      */
     private Reader getReader(String filename) throws IOException {
-        // If this is a custom export, just use the given filename:
-        String dir;
-        if (customExport) {
-            dir = "";
-        } else {
-            dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
-        }
-
         // Attempt to get a Reader for the file path given, either by
         // loading it as a resource (from within JAR), or as a normal file. If
         // unsuccessful (e.g. file not found), an IOException is thrown.
-        String name = dir + filename;
+        String name = getLayoutPath(filename);
         Reader reader;
         // Try loading as a resource first. This works for files inside the JAR:
         URL reso = JabRefMain.class.getResource(name);
@@ -179,6 +184,14 @@ public class ExportFormat implements IExportFormat {
         return reader;
     }
 
+    private String getLayoutPath(String filename) {
+        // If this is a custom export, just use the given filename:
+        if (customExport) {
+            return filename;
+        }
+        return LAYOUT_PREFIX + (directory == null ? "" : directory + '/') + filename;
+    }
+
     /**
      * Perform the export of {@code database}.
      *
@@ -216,8 +229,6 @@ public class ExportFormat implements IExportFormat {
 
         try (VerifyingWriter ps = ss.getWriter()) {
 
-            Layout beginLayout = null;
-
             // Check if this export filter has bundled name formatters:
             // Add these to the preferences, so all layouts have access to the custom name formatters:
             readFormatterFile();
@@ -225,17 +236,12 @@ public class ExportFormat implements IExportFormat {
             List<String> missingFormatters = new ArrayList<>(1);
 
             // Print header
-            try (Reader reader = getReader(lfFileName + ".begin.layout")) {
-                LayoutHelper layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                beginLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was cast, export filter doesn't have a begin
-                // file.
-            }
+            // If the layout is not present, export filter doesn't have a begin file.
+            Optional<Layout> beginLayout = getLayout(lfFileName + ".begin.layout");
             // Write the header
-            if (beginLayout != null) {
-                ps.write(beginLayout.doLayout(databaseContext, encoding));
-                missingFormatters.addAll(beginLayout.getMissingFormatters());
+            if (beginLayout.isPresent()) {
+                ps.write(beginLayout.get().doLayout(databaseContext, encoding));
+                missingFormatters.addAll(beginLayout.get().getMissingFormatters());
             }
 
             /*
@@ -248,68 +254,61 @@ public class ExportFormat implements IExportFormat {
             List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences);
 
             // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + ".layout")) {
-                layoutHelper = new LayoutHelper(reader,layoutPreferences);
-                defLayout = layoutHelper.getLayoutFromText();
-            }
-            if (defLayout != null) {
-                missingFormatters.addAll(defLayout.getMissingFormatters());
-                if (!missingFormatters.isEmpty()) {
-                    LOGGER.warn(missingFormatters);
-                }
+            String defaultLayoutFileName = lfFileName + ".layout";
+            Layout defLayout = getLayout(defaultLayoutFileName)
+                    .orElseThrow(() -> new IOException("Cannot read layout file: '" + defaultLayoutFileName + "'."));
+            missingFormatters.addAll(defLayout.getMissingFormatters());
+            if (!missingFormatters.isEmpty()) {
+                LOGGER.warn(missingFormatters);
             }
-            Map<String, Layout> layouts = new HashMap<>();
-            Layout layout;
 
-            ExportFormats.entryNumber = 0;
+            // We try to get a type-specific layout for each entry type, otherwise we go with the default one.
+            Map<String, Layout> layouts = new HashMap<>();
+            boolean dependsOnEntryOrder = defLayout.dependsOnEntryOrder();
             for (BibEntry entry : sorted) {
-                ExportFormats.entryNumber++; // Increment entry counter.
-                // Get the layout
                 String type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type + ".layout")) {
-                        // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
-                        if (layout != null) {
-                            missingFormatters.addAll(layout.getMissingFormatters());
-                        }
-
-                    } catch (IOException ex) {
-                        // The exception indicates that no type-specific layout
-                        // exists, so we
-                        // go with the default one.
-                        layout = defLayout;
-                    }
+                if (!layouts.containsKey(type)) {
+                    Optional<Layout> typeLayout = getLayout(lfFileName + '.' + type + ".layout");
+                    typeLayout.ifPresent(layout -> missingFormatters.addAll(layout.getMissingFormatters()));
+                    Layout layout = typeLayout.orElse(defLayout);
+                    layouts.put(type, layout);
+                    dependsOnEntryOrder |= layout.dependsOnEntryOrder();
                 }
+            }
 
-                // Write the entry
-                if (layout != null) {
-                    ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
+            LayoutHelper.setCurrentGroup(null);
+            if (dependsOnEntryOrder || (sorted.size() < (2 * EXPORT_CHUNK_SIZE))) {
+                ExportFormats.entryNumber = 0;
+                for (BibEntry entry : sorted) {
+                    ExportFormats.entryNumber++; // Increment entry counter.
+                    // Write the entry
+                    ps.write(layouts.get(entry.getType()).doLayout(entry, databaseContext.getDatabase()));
                 }
+            } else {
+                // The layouts neither number the entries nor group them, thus the entries of a chunk are laid out
+                // in parallel. The chunks are written in order, so only one chunk is kept in memory.
+                for (int start = 0; start < sorted.size(); start += EXPORT_CHUNK_SIZE) {
+                    List<BibEntry> chunk = sorted.subList(start, Math.min(start + EXPORT_CHUNK_SIZE, sorted.size()));
+                    List<String> texts = chunk.parallelStream()
+                            .map(entry -> layouts.get(entry.getType()).doLayout(entry, databaseContext.getDatabase()))
+                            .collect(Collectors.toList());
+                    for (String text : texts) {
+                        ps.write(text);
+                    }
+                }
+                ExportFormats.entryNumber = sorted.size();
             }
 
             // Print footer
 
             // changed section - begin (arudert)
-            Layout endLayout = null;
-            try (Reader reader = getReader(lfFileName + ".end.layout")) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                endLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was thrown, export filter doesn't have an end
-                // file.
-            }
+            // If the layout is not present, export filter doesn't have an end file.
+            Optional<Layout> endLayout = getLayout(lfFileName + ".end.layout");
 
             // Write footer
-            if (endLayout != null) {
-                ps.write(endLayout.doLayout(databaseContext, this.encoding));
-                missingFormatters.addAll(endLayout.getMissingFormatters());
+            if (endLayout.isPresent()) {
+                ps.write(endLayout.get().doLayout(databaseContext, this.encoding));
+                missingFormatters.addAll(endLayout.get().getMissingFormatters());
             }
 
             // Clear custom name formatters:
@@ -325,6 +324,40 @@ public class ExportFormat implements IExportFormat {
 
     }
 
+    /**
+     * Returns the compiled layout of the given layout file. Layouts are compiled once per layout file and layout
+     * preferences and cached. The layouts of a custom export are compiled again, if the layout file or the name
+     * formatter file was modified in the meantime.
+     *
+     * @return the layout, or an empty optional if the layout file does not exist or cannot be read
+     */
+    private Optional<Layout> getLayout(String filename) {
+        long lastModified = getLastModified(filename);
+        LayoutKey key = new LayoutKey(getLayoutPath(filename), layoutPreferences);
+        CachedLayout cachedLayout = LAYOUT_CACHE.getIfPresent(key);
+        if ((cachedLayout != null) && (cachedLayout.lastModified == lastModified)) {
+            return cachedLayout.layout;
+        }
+
+        Optional<Layout> layout;
+        try (Reader reader = getReader(filename)) {
+            layout = Optional.ofNullable(new LayoutHelper(reader, layoutPreferences).getLayoutFromText());
+        } catch (IOException ex) {
+            layout = Optional.empty();
+        }
+        LAYOUT_CACHE.put(key, new CachedLayout(layout, lastModified));
+        return layout;
+    }
+
+    private long getLastModified(String filename) {
+        if (!customExport) {
+            // the layouts of built-in exports are part of JabRef
+            return 0;
+        }
+        // name formatters are resolved when compiling the layout
+        return new File(filename).lastModified() + new File(lfFileName + ".formatters").lastModified();
+    }
+
     @Override
     public void performExport(final BibDatabaseContext databaseContext, Path file, final Charset encoding,
             List<BibEntry> entries) throws Exception {
@@ -378,4 +411,49 @@ public class ExportFormat implements IExportFormat {
         }
         ss.commit(file);
     }
+
+
+    /**
+     * Identifies a compiled layout by the path of its layout file and the preferences its formatters were created with
+     */
+    private static class LayoutKey {
+
+        private final String path;
+        private final LayoutFormatterPreferences layoutPreferences;
+
+
+        LayoutKey(String path, LayoutFormatterPreferences layoutPreferences) {
+            this.path = path;
+            this.layoutPreferences = layoutPreferences;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof LayoutKey) {
+                LayoutKey that = (LayoutKey) o;
+                return path.equals(that.path) && Objects.equals(layoutPreferences, that.layoutPreferences);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, layoutPreferences);
+        }
+    }
+
+    private static class CachedLayout {
+
+        private final Optional<Layout> layout;
+        private final long lastModified;
+
+
+        CachedLayout(Optional<Layout> layout, long lastModified) {
+            this.layout = layout;
+            this.lastModified = lastModified;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package net.sf.jabref.logic.exporter;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -33,6 +34,7 @@ public class FileSaveSession extends SaveSession {
     private static final String BACKUP_EXTENSION = ".bak";
     private static final String TEMP_PREFIX = "jabref";
     private static final String TEMP_SUFFIX = "save.bib";
+    private static final int BUFFER_SIZE = 64 * 1024;
     private final Path temporaryFile;
 
 
@@ -47,7 +49,7 @@ public class FileSaveSession extends SaveSession {
 
     private static VerifyingWriter getWriterForFile(Charset encoding, Path file) throws SaveException {
         try {
-            return new VerifyingWriter(Files.newOutputStream(file), encoding);
+            return new VerifyingWriter(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), encoding);
         } catch (IOException e) {
             throw new SaveException(e);
         }
@@ -5,6 +5,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -16,6 +17,8 @@ import java.util.TreeSet;
 public class VerifyingWriter extends OutputStreamWriter {
 
     private final CharsetEncoder encoder;
+    // ASCII text, such as most of a BibTeX file, does not need to be checked with such an encoding
+    private final boolean encodesAscii;
     private boolean couldEncodeAll = true;
     private final Set<Character> problemCharacters = new TreeSet<>();
 
@@ -23,12 +26,13 @@ public class VerifyingWriter extends OutputStreamWriter {
     public VerifyingWriter(OutputStream out, Charset encoding) {
         super(out, encoding);
         encoder = encoding.newEncoder();
+        encodesAscii = encoding.contains(StandardCharsets.US_ASCII);
     }
 
     @Override
     public void write(String str) throws IOException {
         super.write(str);
-        if (!encoder.canEncode(str)) {
+        if (!(encodesAscii && isAscii(str)) && !encoder.canEncode(str)) {
             for (int i = 0; i < str.length(); i++) {
                 if (!encoder.canEncode(str.charAt(i))) {
                     problemCharacters.add(str.charAt(i));
@@ -38,6 +42,15 @@ public class VerifyingWriter extends OutputStreamWriter {
         }
     }
 
+    private static boolean isAscii(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean couldEncodeAll() {
         return couldEncodeAll;
     }
@@ -0,0 +1,411 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.groups.AbstractGroup;
+import net.sf.jabref.model.groups.GroupHierarchyType;
+import net.sf.jabref.model.groups.GroupTreeNode;
+import net.sf.jabref.model.search.SearchMatcher;
+
+/**
+ * Index of the entries of a {@link BibDatabase} contained in each group of a group tree, which answers hit counts and
+ * the groups containing a selection without evaluating the groups again.
+ * <p>
+ * The members of each group are kept as a bit set over the numbers of the entries. The entries matched by a node, i.e.,
+ * by its {@link GroupTreeNode#getSearchRule() search rule}, are derived from these bit sets by intersecting them with
+ * the matches of the parent of refining groups and by uniting them with the matches of the children of including
+ * groups.
+ * <p>
+ * The members are kept up to date by listening to the changes of the database. Changes of the group tree are detected
+ * by comparing it with the indexed tree on every query; only groups which have been replaced are evaluated again.
+ * Thus, the results are always the same as those of the corresponding methods of {@link GroupTreeNode}.
+ */
+public class GroupMembershipIndex {
+
+    /**
+     * Entries by their number in the index. Numbers are handed out in insertion order and are not reused; removed
+     * entries leave a <code>null</code>.
+     */
+    private final List<BibEntry> entries = new ArrayList<>();
+    private final Map<String, Integer> numberById = new HashMap<>();
+
+    /**
+     * The nodes of the indexed tree in preorder
+     */
+    private final List<NodeState> nodes = new ArrayList<>();
+    private final Map<GroupTreeNode, NodeState> stateByNode = new IdentityHashMap<>();
+
+    private final BibDatabase database;
+    private final BibDatabaseListener databaseListener = new BibDatabaseEntryListener();
+
+
+    public GroupMembershipIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+        // as for the search index, the entries are indexed while the database is locked, thus no insertion or removal
+        // happens between reading the entries and registering the listener
+        synchronized (database) {
+            synchronized (this) {
+                database.addListener(databaseListener);
+                for (BibEntry entry : database.getEntries()) {
+                    addEntry(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the changes of the database. The index must not be used afterwards.
+     */
+    public void close() {
+        database.removeListener(databaseListener);
+    }
+
+    /**
+     * Determines the number of entries of the database which are matched by the given node.
+     *
+     * @see GroupTreeNode#numberOfHits(List)
+     */
+    public synchronized int getNumberOfHits(GroupTreeNode node) {
+        NodeState state = getState(node);
+        if (state.hits < 0) {
+            state.hits = getMatches(state).cardinality();
+        }
+        return state.hits;
+    }
+
+    /**
+     * Returns the nodes of the subtree of the given node whose groups contain any or all of the given entries.
+     *
+     * @see GroupTreeNode#getContainingGroups(List, boolean)
+     */
+    public synchronized List<GroupTreeNode> getContainingGroups(GroupTreeNode node, List<BibEntry> selection,
+            boolean requireAll) {
+        BitSet selected = getNumbers(selection);
+        if (selected == null) {
+            return node.getContainingGroups(selection, requireAll);
+        }
+
+        List<GroupTreeNode> groups = new ArrayList<>();
+        for (NodeState state : getSubtree(node)) {
+            if (requireAll) {
+                BitSet missing = (BitSet) selected.clone();
+                missing.andNot(state.members);
+                if (missing.isEmpty()) {
+                    groups.add(state.node);
+                }
+            } else if (state.members.intersects(selected)) {
+                groups.add(state.node);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the nodes of the subtree of the given node which match any of the given entries.
+     *
+     * @see GroupTreeNode#getMatchingGroups(List)
+     */
+    public synchronized List<GroupTreeNode> getMatchingGroups(GroupTreeNode node, List<BibEntry> selection) {
+        BitSet selected = getNumbers(selection);
+        if (selected == null) {
+            return node.getMatchingGroups(selection);
+        }
+
+        List<GroupTreeNode> groups = new ArrayList<>();
+        for (NodeState state : getSubtree(node)) {
+            if (getMatches(state).intersects(selected)) {
+                groups.add(state.node);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Returns a matcher for the entries matched by all or any of the given nodes. The matcher reflects the state of the
+     * database when it was created, entries added later are evaluated by the search rules of the nodes.
+     */
+    public synchronized SearchMatcher getSearchRule(List<GroupTreeNode> selectedNodes, boolean requireAll) {
+        BitSet matches = null;
+        for (GroupTreeNode node : selectedNodes) {
+            BitSet nodeMatches = getMatches(getState(node));
+            if (matches == null) {
+                matches = (BitSet) nodeMatches.clone();
+            } else if (requireAll) {
+                matches.and(nodeMatches);
+            } else {
+                matches.or(nodeMatches);
+            }
+        }
+
+        if (matches == null) {
+            // like an empty MatcherSet
+            return entry -> requireAll;
+        }
+
+        BitSet result = matches;
+        Map<String, Integer> numbers = new HashMap<>(numberById);
+        return entry -> {
+            Integer number = numbers.get(entry.getId());
+            if (number == null) {
+                return requireAll ? selectedNodes.stream().allMatch(node -> node.getSearchRule().isMatch(entry))
+                        : selectedNodes.stream().anyMatch(node -> node.getSearchRule().isMatch(entry));
+            }
+            return result.get(number);
+        };
+    }
+
+    /**
+     * Returns the numbers of the given entries, or <code>null</code> if one of them is not in the database.
+     */
+    private BitSet getNumbers(List<BibEntry> selection) {
+        BitSet numbers = new BitSet(entries.size());
+        for (BibEntry entry : selection) {
+            Integer number = numberById.get(entry.getId());
+            if (number == null) {
+                return null;
+            }
+            numbers.set(number);
+        }
+        return numbers;
+    }
+
+    private NodeState getState(GroupTreeNode node) {
+        updateTree(node.getRoot());
+        return stateByNode.get(node);
+    }
+
+    private List<NodeState> getSubtree(GroupTreeNode node) {
+        NodeState state = getState(node);
+        int start = nodes.indexOf(state);
+        int end = start + 1;
+        while ((end < nodes.size()) && (nodes.get(end).level > state.level)) {
+            end++;
+        }
+        return nodes.subList(start, end);
+    }
+
+    /**
+     * Compares the given tree with the indexed one and takes over the members of the groups which did not change.
+     */
+    private void updateTree(GroupTreeNode root) {
+        if (compareSubtree(root, 0, 0) == nodes.size()) {
+            return;
+        }
+
+        List<NodeState> newNodes = new ArrayList<>(nodes.size());
+        collect(root, null, 0, newNodes);
+        Map<AbstractGroup, NodeState> stateByGroup = new IdentityHashMap<>();
+        for (NodeState state : nodes) {
+            stateByGroup.put(state.group, state);
+        }
+        stateByNode.clear();
+        for (NodeState state : newNodes) {
+            NodeState oldState = stateByGroup.get(state.group);
+            if ((oldState != null) && oldState.name.equals(state.name)) {
+                state.members = oldState.members;
+            } else {
+                state.members = computeMembers(state.group);
+            }
+            stateByNode.put(state.node, state);
+        }
+        nodes.clear();
+        nodes.addAll(newNodes);
+    }
+
+    /**
+     * Compares the subtree of the given node with the indexed nodes starting at the given index.
+     *
+     * @return the index after the subtree, or -1 if the subtree differs
+     */
+    private int compareSubtree(GroupTreeNode node, int level, int index) {
+        if ((index >= nodes.size()) || !nodes.get(index).isStateOf(node, level)) {
+            return -1;
+        }
+        int next = index + 1;
+        for (GroupTreeNode child : node.getChildren()) {
+            next = compareSubtree(child, level + 1, next);
+            if (next < 0) {
+                return -1;
+            }
+        }
+        return next;
+    }
+
+    private static void collect(GroupTreeNode node, NodeState parent, int level, List<NodeState> states) {
+        NodeState state = new NodeState(node, parent, level);
+        states.add(state);
+        for (GroupTreeNode child : node.getChildren()) {
+            collect(child, state, level + 1, states);
+        }
+    }
+
+    private BitSet computeMembers(AbstractGroup group) {
+        BitSet members = new BitSet(entries.size());
+        for (int number = 0; number < entries.size(); number++) {
+            BibEntry entry = entries.get(number);
+            if ((entry != null) && group.contains(entry)) {
+                members.set(number);
+            }
+        }
+        return members;
+    }
+
+    private BitSet getMatches(NodeState state) {
+        return getMatches(state, state.context);
+    }
+
+    /**
+     * Mirrors {@link GroupTreeNode#getSearchRule()}, where the original context is the one of the node the search rule
+     * is created for.
+     */
+    private BitSet getMatches(NodeState state, GroupHierarchyType originalContext) {
+        if (state.context == GroupHierarchyType.INDEPENDENT) {
+            return state.members;
+        }
+        BitSet matches = state.matches[originalContext.ordinal()];
+        if (matches != null) {
+            return matches;
+        }
+
+        matches = (BitSet) state.members.clone();
+        if ((state.context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+            for (NodeState child : getChildren(state)) {
+                matches.or(getMatches(child, originalContext));
+            }
+        } else if ((state.context == GroupHierarchyType.REFINING) && (state.parent != null)
+                && (originalContext != GroupHierarchyType.INCLUDING)) {
+            matches.and(getMatches(state.parent, originalContext));
+        }
+        state.matches[originalContext.ordinal()] = matches;
+        return matches;
+    }
+
+    private List<NodeState> getChildren(NodeState state) {
+        List<NodeState> children = new ArrayList<>(state.node.getNumberOfChildren());
+        for (GroupTreeNode child : state.node.getChildren()) {
+            children.add(stateByNode.get(child));
+        }
+        return children;
+    }
+
+    private void invalidateMatches() {
+        for (NodeState state : nodes) {
+            state.invalidateMatches();
+        }
+    }
+
+    private void addEntry(BibEntry entry) {
+        int number = entries.size();
+        entries.add(entry);
+        numberById.put(entry.getId(), number);
+        updateEntry(entry);
+    }
+
+    private void updateEntry(BibEntry entry) {
+        Integer number = numberById.get(entry.getId());
+        if (number == null) {
+            return;
+        }
+        for (NodeState state : nodes) {
+            state.members.set(number, state.group.contains(entry));
+        }
+        invalidateMatches();
+    }
+
+    private void removeEntry(BibEntry entry) {
+        Integer number = numberById.remove(entry.getId());
+        if (number == null) {
+            return;
+        }
+        for (NodeState state : nodes) {
+            state.members.clear(number);
+        }
+        entries.set(number, null);
+        invalidateMatches();
+    }
+
+
+    /**
+     * A node of the indexed tree, together with the properties of its group at the time it was indexed
+     */
+    private static class NodeState {
+
+        private final GroupTreeNode node;
+        private final NodeState parent;
+        private final int level;
+        private final AbstractGroup group;
+        private final String name;
+        private final GroupHierarchyType context;
+        private BitSet members;
+        // the matches of the node by original context, created when needed
+        private final BitSet[] matches = new BitSet[GroupHierarchyType.values().length];
+        private int hits = -1;
+
+
+        NodeState(GroupTreeNode node, NodeState parent, int level) {
+            this.node = node;
+            this.parent = parent;
+            this.level = level;
+            this.group = node.getGroup();
+            this.name = group.getName();
+            this.context = group.getHierarchicalContext();
+        }
+
+        boolean isStateOf(GroupTreeNode otherNode, int otherLevel) {
+            AbstractGroup otherGroup = otherNode.getGroup();
+            return (node == otherNode) && (level == otherLevel) && (group == otherGroup)
+                    && name.equals(otherGroup.getName()) && (context == otherGroup.getHierarchicalContext());
+        }
+
+        void invalidateMatches() {
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = null;
+            }
+            hits = -1;
+        }
+    }
+
+    private class BibDatabaseEntryListener implements BibDatabaseListener {
+
+        @Override
+        public void listen(EntryAddedEvent entryAddedEvent) {
+            synchronized (GroupMembershipIndex.this) {
+                addEntry(entryAddedEvent.getBibEntry());
+            }
+        }
+
+        @Override
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            synchronized (GroupMembershipIndex.this) {
+                updateEntry(fieldChangedEvent.getBibEntry());
+            }
+        }
+
+        @Override
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            synchronized (GroupMembershipIndex.this) {
+                entriesChangedEvent.getBibEntries().forEach(GroupMembershipIndex.this::updateEntry);
+            }
+        }
+
+        @Override
+        public void listen(EntryRemovedEvent entryRemovedEvent) {
+            synchronized (GroupMembershipIndex.this) {
+                removeEntry(entryRemovedEvent.getBibEntry());
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package net.sf.jabref.logic.importer;
 import java.io.File;
 import java.io.IOException;
 
+import net.sf.jabref.logic.autosave.ChangeJournal;
 import net.sf.jabref.logic.importer.fileformat.BibtexImporter;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.util.io.AutoSaveUtil;
@@ -81,6 +82,14 @@ public class OpenDatabase {
         ParserResult result = new BibtexImporter(importFormatPreferences).importDatabase(fileToOpen.toPath(),
                 importFormatPreferences.getEncoding());
 
+        // an autosave file comes with the journal of the changes made after it was written
+        if (!result.isNullResult()) {
+            int replayedChanges = ChangeJournal.replay(fileToOpen.toPath(), result.getDatabase());
+            if (replayedChanges > 0) {
+                LOGGER.info("Recovered " + replayedChanges + " changes from the change journal of " + fileToOpen);
+            }
+        }
+
         if (importFormatPreferences.isKeywordSyncEnabled()) {
             for (BibEntry entry : result.getDatabase().getEntries()) {
                 SpecialFieldsUtils.syncSpecialFieldsFromKeywords(entry);
@@ -67,7 +67,7 @@ public class BibtexImporter extends Importer {
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return BibtexParser.parse(reader, importFormatPreferences);
+        return new ParallelBibtexParser(importFormatPreferences).parse(reader);
     }
 
     @Override
@@ -4,15 +4,14 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -60,16 +59,28 @@ public class BibtexParser implements Parser {
 
     private static final Log LOGGER = LogFactory.getLog(BibtexParser.class);
 
-    private PushbackReader pushbackReader;
+    private static final int LOOKAHEAD = 64;
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    /**
+     * The complete input is held in this buffer and scanned by index. Characters which are pushed back and do not
+     * match the previously read character (see {@link #fixKey()}) are kept in {@link #pushback}.
+     */
+    private char[] buffer;
+    private int bufferLength;
+    private int position;
+    private final char[] pushback = new char[BibtexParser.LOOKAHEAD];
+    private int pushbackCount;
     private BibDatabase database;
     private Map<String, EntryType> entryTypes;
     private boolean eof;
     private int line = 1;
     private final FieldContentParser fieldContentParser;
     private ParserResult parserResult;
-    private static final Integer LOOKAHEAD = 64;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
+    private final StringBuilder pureTextFromFile = new StringBuilder();
     private final ImportFormatPreferences importFormatPreferences;
+    // if set, parsed entries are collected here instead of being inserted into the database (see parseChunk)
+    private List<BibEntry> chunkEntries;
 
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences) {
@@ -155,7 +166,8 @@ public class BibtexParser implements Parser {
      */
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        CharBuffer content = readFully(in);
+        setInput(content.array(), 0, content.limit());
 
         // Bibtex related contents.
         initializeParserResult();
@@ -166,7 +178,40 @@ public class BibtexParser implements Parser {
             return parseFileContent();
         } catch (KeyCollisionException kce) {
             throw new IOException("Duplicate ID in bibtex file: " + kce);
+        } finally {
+            // do not keep the file content alive as long as the parser
+            buffer = null;
+        }
+    }
+
+    /**
+     * Reads the whole reader into a char array. The scan afterwards works on indices only, which avoids the per
+     * character synchronization of a {@link java.io.PushbackReader}.
+     *
+     * @return a buffer wrapping the array, whose limit is the number of characters read
+     */
+    static CharBuffer readFully(Reader in) throws IOException {
+        char[] content = new char[READ_CHUNK_SIZE];
+        int length = 0;
+        int charsRead;
+        while ((charsRead = in.read(content, length, content.length - length)) != -1) {
+            length += charsRead;
+            if (length == content.length) {
+                content = Arrays.copyOf(content, content.length * 2);
+            }
         }
+
+        return CharBuffer.wrap(content, 0, length);
+    }
+
+    private void setInput(char[] content, int start, int end) {
+        buffer = content;
+        bufferLength = end;
+        position = start;
+        pushbackCount = 0;
+        line = 1;
+        eof = false;
+        pureTextFromFile.setLength(0);
     }
 
     private void initializeParserResult() {
@@ -175,9 +220,55 @@ public class BibtexParser implements Parser {
         parserResult = new ParserResult(database, null, entryTypes);
     }
 
+    /**
+     * Parses the characters between start (inclusive) and end (exclusive) of the given content. Used by {@link
+     * ParallelBibtexParser}, which merges the results of all chunks.
+     * <p>
+     * In contrast to {@link #parse(Reader)}, the parsed entries are not inserted into the database of the returned
+     * result but added to the given list and the JabRef meta data comments are not converted into {@link MetaData}
+     * but put into the given map. The database of the result only carries the strings, the preamble and the epilog.
+     *
+     * @param firstLine the line number of the first character of the chunk, used in error messages
+     */
+    ParserResult parseChunk(char[] content, int start, int end, int firstLine, Map<String, String> meta,
+            List<BibEntry> entries) throws IOException {
+        setInput(content, start, end);
+        line = firstLine;
+        initializeParserResult();
+        chunkEntries = Objects.requireNonNull(entries);
+
+        skipWhitespace();
+
+        try {
+            parseTopLevelItems(meta);
+            parseRemainingContent();
+            return parserResult;
+        } catch (KeyCollisionException kce) {
+            throw new IOException("Duplicate ID in bibtex file: " + kce);
+        } finally {
+            buffer = null;
+            chunkEntries = null;
+        }
+    }
+
     private ParserResult parseFileContent() throws IOException {
         Map<String, String> meta = new HashMap<>();
 
+        parseTopLevelItems(meta);
+
+        // Instantiate meta data:
+        try {
+            parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
+        } catch (ParseException exception) {
+            parserResult.addWarning(exception.getLocalizedMessage());
+        }
+
+        parseRemainingContent();
+
+        return parserResult;
+    }
+
+    private void parseTopLevelItems(Map<String, String> meta) throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -206,17 +297,6 @@ public class BibtexParser implements Parser {
 
             skipWhitespace();
         }
-
-        // Instantiate meta data:
-        try {
-            parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
-        } catch (ParseException exception) {
-            parserResult.addWarning(exception.getLocalizedMessage());
-        }
-
-        parseRemainingContent();
-
-        return parserResult;
     }
 
     private void parseRemainingContent() {
@@ -242,7 +322,14 @@ public class BibtexParser implements Parser {
             // store complete parsed serialization (comments, type definition + type contents)
             entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
 
-            boolean duplicateKey = database.insertEntry(entry);
+            boolean duplicateKey;
+            if (chunkEntries == null) {
+                duplicateKey = database.insertEntry(entry);
+            } else {
+                // duplicates are determined when the chunks are merged
+                chunkEntries.add(entry);
+                duplicateKey = false;
+            }
             if (duplicateKey) {
                 parserResult.addDuplicateKey(entry.getCiteKey());
             } else if (!entry.getCiteKeyOptional().isPresent() || entry.getCiteKeyOptional().get().isEmpty()) {
@@ -350,12 +437,9 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
-        }
-
-        return entry.toString();
+        String text = pureTextFromFile.toString();
+        pureTextFromFile.setLength(0);
+        return text;
     }
 
     /**
@@ -458,10 +542,17 @@ public class BibtexParser implements Parser {
     }
 
     private int read() throws IOException {
-        int character = pushbackReader.read();
+        int character;
+        if (pushbackCount > 0) {
+            character = pushback[--pushbackCount];
+        } else if (position < bufferLength) {
+            character = buffer[position++];
+        } else {
+            character = -1;
+        }
 
         if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+            pureTextFromFile.append((char) character);
         }
         if (character == '\n') {
             line++;
@@ -473,9 +564,19 @@ public class BibtexParser implements Parser {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        if ((pushbackCount == 0) && (position > 0) && !isEOFCharacter(character)
+                && (buffer[position - 1] == character)) {
+            // the common case: step back in the buffer instead of remembering the character
+            position--;
+        } else if (pushbackCount < pushback.length) {
+            pushback[pushbackCount++] = (char) character;
+        } else {
+            throw new IOException("Pushback buffer overflow");
+        }
+
+        int lastIndex = pureTextFromFile.length() - 1;
+        if ((lastIndex >= 0) && (pureTextFromFile.charAt(lastIndex) == character)) {
+            pureTextFromFile.setLength(lastIndex);
         }
     }
 
@@ -0,0 +1,305 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParseException;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.importer.util.MetaDataParser;
+import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.KeyCollisionException;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.EntryType;
+
+/**
+ * Parses large BibTeX files using several cores.
+ * <p>
+ * The input is split at top-level <code>@</code> boundaries into chunks, which are parsed independently on a fork-join
+ * pool. The chunk results are merged in file order into one {@link BibDatabase}, so the order of the entries, the
+ * strings, the preamble and the JabRef meta data comments are the same as when parsing the input with {@link
+ * BibtexParser}. Inputs smaller than one chunk are parsed as a single chunk in the calling thread.
+ * <p>
+ * A chunk boundary is only placed directly in front of an item which starts at the beginning of a line and which is
+ * separated from the preceding entry or string only by whitespace. Thus, comments in front of an entry always end up
+ * in the same chunk as the entry itself.
+ */
+public class ParallelBibtexParser {
+
+    /**
+     * Chunks are not made smaller than this number of characters, as the overhead would outweigh the gain
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 18;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ImportFormatPreferences importFormatPreferences;
+    private final int parallelism;
+    private final int minChunkSize;
+
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences) {
+        this(importFormatPreferences, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, int parallelism) {
+        this(importFormatPreferences, parallelism, MIN_CHUNK_SIZE);
+    }
+
+    ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, int parallelism, int minChunkSize) {
+        this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Parses the BibTeX data read from the given reader. The reader will be consumed.
+     *
+     * @see BibtexParser#parse(Reader)
+     */
+    public ParserResult parse(Reader in) throws IOException {
+        Objects.requireNonNull(in);
+        CharBuffer content = BibtexParser.readFully(in);
+        List<Chunk> chunks = splitIntoChunks(content.array(), content.limit());
+
+        List<ChunkResult> chunkResults = new ArrayList<>(chunks.size());
+        if ((chunks.size() == 1) || (parallelism == 1)) {
+            for (Chunk chunk : chunks) {
+                chunkResults.add(parseChunk(content.array(), chunk));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<ChunkResult>> tasks = new ArrayList<>(chunks.size());
+                for (Chunk chunk : chunks) {
+                    tasks.add(pool.submit(() -> parseChunk(content.array(), chunk)));
+                }
+                for (ForkJoinTask<ChunkResult> task : tasks) {
+                    chunkResults.add(task.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Parsing was interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        return merge(chunkResults);
+    }
+
+    private ChunkResult parseChunk(char[] content, Chunk chunk) throws IOException {
+        // BibtexParser is not thread safe, thus each chunk gets its own instance
+        BibtexParser parser = new BibtexParser(importFormatPreferences);
+        Map<String, String> meta = new HashMap<>();
+        List<BibEntry> entries = new ArrayList<>();
+        ParserResult result = parser.parseChunk(content, chunk.start, chunk.end, chunk.firstLine, meta, entries);
+        return new ChunkResult(result, meta, entries);
+    }
+
+    private ParserResult merge(List<ChunkResult> chunkResults) {
+        BibDatabase database = new BibDatabase();
+        Map<String, EntryType> entryTypes = new HashMap<>();
+        ParserResult parserResult = new ParserResult(database, null, entryTypes);
+        Map<String, String> meta = new HashMap<>();
+
+        for (ChunkResult chunkResult : chunkResults) {
+            ParserResult result = chunkResult.result;
+            BibDatabase chunkDatabase = result.getDatabase();
+
+            result.warnings().forEach(parserResult::addWarning);
+            entryTypes.putAll(result.getEntryTypes());
+            meta.putAll(chunkResult.meta);
+            chunkDatabase.getPreamble().ifPresent(database::setPreamble);
+
+            for (BibtexString string : chunkDatabase.getStringValues()) {
+                try {
+                    database.addString(string);
+                } catch (KeyCollisionException ex) {
+                    parserResult.addWarning(Localization.lang("Duplicate string name") + ": " + string.getName());
+                }
+            }
+
+            for (BibEntry entry : chunkResult.entries) {
+                boolean duplicateKey = database.insertEntry(entry);
+                if (duplicateKey) {
+                    parserResult.addDuplicateKey(entry.getCiteKey());
+                }
+            }
+
+            // all chunks but the last one end directly behind an entry, so only the last epilog matters
+            database.setEpilog(chunkDatabase.getEpilog());
+        }
+
+        // Instantiate meta data:
+        try {
+            parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
+        } catch (ParseException exception) {
+            parserResult.addWarning(exception.getLocalizedMessage());
+        }
+
+        return parserResult;
+    }
+
+    /**
+     * Determines the chunks the content is parsed in. This is a single linear pass which only tracks the nesting depth
+     * of the brackets of top-level items.
+     */
+    List<Chunk> splitIntoChunks(char[] content, int length) {
+        int chunkSize = Math.max(minChunkSize, length / (parallelism * CHUNKS_PER_THREAD));
+
+        List<Chunk> chunks = new ArrayList<>();
+        int chunkStart = 0;
+        int chunkFirstLine = 1;
+
+        int depth = 0;
+        char openingBracket = '{';
+        char closingBracket = '}';
+        boolean inItem = false;
+        // whether a new chunk may start after the last item, which is not the case for comments and preambles
+        boolean splittable = false;
+        // the position behind the last item and the line break the parser consumes together with it
+        int itemEnd = 0;
+
+        for (int i = 0; i < length; i++) {
+            char character = content[i];
+            if (depth > 0) {
+                if ((i > 0) && (content[i - 1] == '\\')) {
+                    // escaped brackets are not counted by the parser
+                    continue;
+                }
+                if (character == openingBracket) {
+                    depth++;
+                } else if (character == closingBracket) {
+                    depth--;
+                    if (depth == 0) {
+                        inItem = false;
+                        itemEnd = skipOneNewline(content, i + 1, length);
+                    }
+                }
+            } else if (inItem) {
+                if ((character == '{') || (character == '(')) {
+                    depth = 1;
+                    openingBracket = character;
+                    closingBracket = character == '{' ? '}' : ')';
+                }
+            } else if ((character == '@') && ((i == 0) || (content[i - 1] == '\n'))) {
+                if (splittable && ((i - chunkStart) >= chunkSize) && isWhitespace(content, itemEnd, i)) {
+                    chunks.add(new Chunk(chunkStart, itemEnd, chunkFirstLine));
+                    chunkFirstLine += countLines(content, chunkStart, itemEnd);
+                    chunkStart = itemEnd;
+                }
+
+                inItem = true;
+                String type = readItemType(content, i + 1, length);
+                splittable = !"comment".equalsIgnoreCase(type) && !"preamble".equalsIgnoreCase(type);
+            }
+        }
+
+        chunks.add(new Chunk(chunkStart, length, chunkFirstLine));
+        return chunks;
+    }
+
+    /**
+     * Mirrors the parser, which consumes spaces and one line break after an entry or string
+     */
+    private static int skipOneNewline(char[] content, int start, int length) {
+        int position = start;
+        while ((position < length) && (content[position] == ' ')) {
+            position++;
+        }
+        if ((position < length) && (content[position] == '\r')) {
+            position++;
+        }
+        if ((position < length) && (content[position] == '\n')) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(char[] content, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(content[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countLines(char[] content, int start, int end) {
+        int lines = 0;
+        for (int i = start; i < end; i++) {
+            if (content[i] == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static String readItemType(char[] content, int start, int length) {
+        int position = start;
+        while ((position < length) && Character.isWhitespace(content[position])) {
+            position++;
+        }
+        int typeStart = position;
+        while ((position < length) && Character.isLetterOrDigit(content[position])) {
+            position++;
+        }
+        return new String(content, typeStart, position - typeStart);
+    }
+
+
+    static class Chunk {
+
+        private final int start;
+        private final int end;
+        private final int firstLine;
+
+
+        Chunk(int start, int end, int firstLine) {
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+        }
+
+        int getStart() {
+            return start;
+        }
+
+        int getEnd() {
+            return end;
+        }
+    }
+
+    private static class ChunkResult {
+
+        private final ParserResult result;
+        private final Map<String, String> meta;
+        private final List<BibEntry> entries;
+
+
+        ChunkResult(ParserResult result, Map<String, String> meta, List<BibEntry> entries) {
+            this.result = result;
+            this.meta = meta;
+            this.entries = entries;
+        }
+    }
+}
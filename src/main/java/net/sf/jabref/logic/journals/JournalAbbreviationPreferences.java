@@ -2,6 +2,7 @@ package net.sf.jabref.logic.journals;
 
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Objects;
 
 public class JournalAbbreviationPreferences {
 
@@ -34,4 +35,24 @@ public class JournalAbbreviationPreferences {
     public Charset getDefaultEncoding() {
         return defaultEncoding;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof JournalAbbreviationPreferences) {
+            JournalAbbreviationPreferences that = (JournalAbbreviationPreferences) o;
+            return (useIEEEAbbreviations == that.useIEEEAbbreviations)
+                    && Objects.equals(externalJournalLists, that.externalJournalLists)
+                    && Objects.equals(personalJournalLists, that.personalJournalLists)
+                    && Objects.equals(defaultEncoding, that.defaultEncoding);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(externalJournalLists, personalJournalLists, useIEEEAbbreviations, defaultEncoding);
+    }
 }
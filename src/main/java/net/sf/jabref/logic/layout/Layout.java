@@ -140,6 +140,14 @@ public class Layout {
 
     // added section - end (arudert)
 
+    /**
+     * Returns whether the output for an entry depends on the entries laid out before it. If not, the entries may be
+     * laid out concurrently.
+     */
+    public boolean dependsOnEntryOrder() {
+        return layoutEntries.stream().anyMatch(LayoutEntry::dependsOnEntryOrder);
+    }
+
     public List<String> getMissingFormatters() {
         return new ArrayList<>(missingFormatters);
     }
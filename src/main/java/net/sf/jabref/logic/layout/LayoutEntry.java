@@ -611,6 +611,20 @@ class LayoutEntry {
         return invalidFormatter;
     }
 
+    /**
+     * Checks whether the output depends on the entries laid out before, that is, whether this is a group block or
+     * the {@link Number} formatter is used.
+     */
+    public boolean dependsOnEntryOrder() {
+        if ((type == LayoutHelper.IS_GROUP_START) || (postFormatter instanceof Number)) {
+            return true;
+        }
+        if ((option != null) && option.stream().anyMatch(Number.class::isInstance)) {
+            return true;
+        }
+        return (layoutEntries != null) && layoutEntries.stream().anyMatch(LayoutEntry::dependsOnEntryOrder);
+    }
+
     public static List<List<String>> parseMethodsCalls(String calls) {
 
         List<List<String>> result = new ArrayList<>();
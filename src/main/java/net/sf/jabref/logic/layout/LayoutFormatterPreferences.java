@@ -2,6 +2,7 @@ package net.sf.jabref.logic.layout;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
@@ -53,4 +54,29 @@ public class LayoutFormatterPreferences {
     public Optional<String> getCustomExportNameFormatter(String formatterName) {
         return Optional.ofNullable(customExportNameFormatters.get(formatterName));
     }
+
+    /**
+     * Compares the preferences the layout formatters are created with. The custom export name formatters are left out,
+     * as they are only set while exporting.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof LayoutFormatterPreferences) {
+            LayoutFormatterPreferences that = (LayoutFormatterPreferences) o;
+            return Objects.equals(nameFormatterPreferences, that.nameFormatterPreferences)
+                    && Objects.equals(journalAbbreviationPreferences, that.journalAbbreviationPreferences)
+                    && Objects.equals(fileLinkPreferences, that.fileLinkPreferences)
+                    && (journalAbbreviationLoader == that.journalAbbreviationLoader);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nameFormatterPreferences, journalAbbreviationPreferences, fileLinkPreferences,
+                journalAbbreviationLoader);
+    }
 }
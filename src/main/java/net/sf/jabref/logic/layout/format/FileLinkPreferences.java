@@ -1,6 +1,7 @@
 package net.sf.jabref.logic.layout.format;
 
 import java.util.List;
+import java.util.Objects;
 
 public class FileLinkPreferences {
 
@@ -18,4 +19,22 @@ public class FileLinkPreferences {
     public List<String> getFileDirForDatabase() {
         return fileDirForDatabase;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof FileLinkPreferences) {
+            FileLinkPreferences that = (FileLinkPreferences) o;
+            return Objects.equals(generatedDirForDatabase, that.generatedDirForDatabase)
+                    && Objects.equals(fileDirForDatabase, that.fileDirForDatabase);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(generatedDirForDatabase, fileDirForDatabase);
+    }
 }
@@ -1,6 +1,7 @@
 package net.sf.jabref.logic.layout.format;
 
 import java.util.List;
+import java.util.Objects;
 
 public class NameFormatterPreferences {
 
@@ -21,4 +22,22 @@ public class NameFormatterPreferences {
     public List<String> getNameFormatterValue() {
         return nameFormatterValue;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof NameFormatterPreferences) {
+            NameFormatterPreferences that = (NameFormatterPreferences) o;
+            return Objects.equals(nameFormatterKey, that.nameFormatterKey)
+                    && Objects.equals(nameFormatterValue, that.nameFormatterValue);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nameFormatterKey, nameFormatterValue);
+    }
 }
@@ -0,0 +1,495 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
+import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
+import net.sf.jabref.model.search.rules.GrammarBasedSearchRule.ComparisonOperator;
+import net.sf.jabref.model.search.rules.SearchRule;
+import net.sf.jabref.model.search.rules.SentenceAnalyzer;
+import net.sf.jabref.search.SearchBaseVisitor;
+import net.sf.jabref.search.SearchParser;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * Inverted index over the words of all fields of the entries of a {@link BibDatabase}, which speeds up contains-based
+ * searches.
+ * <p>
+ * Each word (maximal sequence of letters and digits) of the latex free and lower cased field contents is mapped to the
+ * entries containing it. A search word can only be contained in a field if its longest run of letters and digits is
+ * contained in one of the indexed words of that field. Thus, looking up all indexed words containing that run yields a
+ * superset of the matching entries, which is then filtered by the {@link SearchQuery} itself. Hence, the result is
+ * always the same as scanning the whole database. The indexed words containing a run are found through the short
+ * substrings (grams) of the words, so a lookup does not depend on the size of the vocabulary.
+ * <p>
+ * Grammar based queries are narrowed down as far as their words and field comparisons allow, regular expression queries
+ * are answered by scanning.
+ * <p>
+ * The index is kept up to date by listening to the changes of the database until it is closed.
+ */
+public class SearchIndex {
+
+    /**
+     * Entries by their number in the index. Numbers are handed out in insertion order and are not reused; removed
+     * entries leave a <code>null</code>.
+     */
+    private final List<BibEntry> entries = new ArrayList<>();
+    private final Map<String, Integer> numberById = new HashMap<>();
+    /**
+     * The sorted words of each entry, needed to update the postings when an entry changes
+     */
+    private final Map<Integer, String[]> wordsByNumber = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    /**
+     * The indexed words by each of their substrings of up to {@link #GRAM_LENGTH} characters, which tells the words
+     * containing a run without looking at the whole vocabulary
+     */
+    private final Map<String, Set<String>> wordsByGram = new HashMap<>();
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final BibDatabase database;
+    private final BibDatabaseListener databaseListener = new BibDatabaseEntryListener();
+
+
+    public SearchIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+        // Entries are only inserted and removed while the database is locked, and the listener is notified within that
+        // lock. Registering the listener and indexing the entries under the lock thus neither misses nor repeats one.
+        synchronized (database) {
+            synchronized (this) {
+                database.addListener(databaseListener);
+                for (BibEntry entry : database.getEntries()) {
+                    addEntry(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the changes of the database. The index must not be used afterwards.
+     */
+    public void close() {
+        database.removeListener(databaseListener);
+    }
+
+    /**
+     * Returns the entries matching the given query in the order of the database.
+     */
+    public List<BibEntry> getMatches(SearchQuery query) {
+        Objects.requireNonNull(query);
+
+        List<BibEntry> candidates;
+        synchronized (this) {
+            candidates = getEntries(getCandidates(query));
+        }
+        return candidates.parallelStream().filter(query::isMatch).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the numbers of the entries which might match the query or <code>null</code> if every entry might match.
+     */
+    private BitSet getCandidates(SearchQuery query) {
+        SearchRule rule = query.getRule();
+        if (rule instanceof ContainBasedSearchRule) {
+            return getCandidatesForWords(query.getSearchWords());
+        } else if (rule instanceof GrammarBasedSearchRule) {
+            ParseTree tree = ((GrammarBasedSearchRule) rule).getTree();
+            if (tree != null) {
+                return new CandidateVisitor(((GrammarBasedSearchRule) rule).isRegExpSearch()).visit(tree);
+            }
+        }
+        return null;
+    }
+
+    private BitSet getCandidatesForWords(List<String> searchWords) {
+        BitSet candidates = null;
+        for (String searchWord : searchWords) {
+            BitSet wordCandidates = getCandidatesForWord(searchWord);
+            if (wordCandidates == null) {
+                continue;
+            }
+
+            if (candidates == null) {
+                candidates = wordCandidates;
+            } else {
+                candidates.and(wordCandidates);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private BitSet getCandidatesForWord(String searchWord) {
+        String run = getLongestRun(searchWord.toLowerCase());
+        if (run.isEmpty()) {
+            // consists of special characters only and cannot be looked up
+            return null;
+        }
+
+        BitSet candidates = new BitSet(entries.size());
+        for (String word : getWordsContaining(run)) {
+            postings.get(word).addTo(candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the indexed words containing the given run
+     */
+    private Collection<String> getWordsContaining(String run) {
+        if (run.length() <= GRAM_LENGTH) {
+            return wordsByGram.getOrDefault(run, Collections.emptySet());
+        }
+
+        // a word containing the run contains all its grams, thus only the words of the rarest gram are checked
+        Set<String> rarestGramWords = null;
+        for (int i = 0; (i + GRAM_LENGTH) <= run.length(); i++) {
+            Set<String> gramWords = wordsByGram.get(run.substring(i, i + GRAM_LENGTH));
+            if (gramWords == null) {
+                return Collections.emptyList();
+            }
+            if ((rarestGramWords == null) || (gramWords.size() < rarestGramWords.size())) {
+                rarestGramWords = gramWords;
+            }
+        }
+
+        List<String> words = new ArrayList<>();
+        for (String word : rarestGramWords) {
+            if (word.contains(run)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private List<BibEntry> getEntries(BitSet numbers) {
+        List<BibEntry> result = new ArrayList<>();
+        if (numbers == null) {
+            for (BibEntry entry : entries) {
+                if (entry != null) {
+                    result.add(entry);
+                }
+            }
+        } else {
+            for (int number = numbers.nextSetBit(0); number >= 0; number = numbers.nextSetBit(number + 1)) {
+                result.add(entries.get(number));
+            }
+        }
+        return result;
+    }
+
+    private void addEntry(BibEntry entry) {
+        if (numberById.containsKey(entry.getId())) {
+            return;
+        }
+
+        int number = entries.size();
+        entries.add(entry);
+        numberById.put(entry.getId(), number);
+
+        String[] words = getWords(entry);
+        for (String word : words) {
+            addPosting(word, number);
+        }
+        wordsByNumber.put(number, words);
+    }
+
+    private void updateEntry(BibEntry entry) {
+        Integer number = numberById.get(entry.getId());
+        if (number == null) {
+            return;
+        }
+
+        String[] oldWords = wordsByNumber.get(number);
+        String[] newWords = getWords(entry);
+
+        // both arrays are sorted, so a merge finds the differences
+        int oldIndex = 0;
+        int newIndex = 0;
+        while ((oldIndex < oldWords.length) || (newIndex < newWords.length)) {
+            int comparison;
+            if (oldIndex == oldWords.length) {
+                comparison = 1;
+            } else if (newIndex == newWords.length) {
+                comparison = -1;
+            } else {
+                comparison = oldWords[oldIndex].compareTo(newWords[newIndex]);
+            }
+
+            if (comparison < 0) {
+                removePosting(oldWords[oldIndex], number);
+                oldIndex++;
+            } else if (comparison > 0) {
+                addPosting(newWords[newIndex], number);
+                newIndex++;
+            } else {
+                oldIndex++;
+                newIndex++;
+            }
+        }
+        wordsByNumber.put(number, newWords);
+    }
+
+    private void removeEntry(BibEntry entry) {
+        Integer number = numberById.remove(entry.getId());
+        if (number == null) {
+            return;
+        }
+
+        for (String word : wordsByNumber.remove(number)) {
+            removePosting(word, number);
+        }
+        entries.set(number, null);
+    }
+
+    private void addPosting(String word, int number) {
+        PostingList postingList = postings.get(word);
+        if (postingList == null) {
+            postingList = new PostingList();
+            postings.put(word, postingList);
+            for (String gram : getGrams(word)) {
+                wordsByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(word);
+            }
+        }
+        postingList.add(number);
+    }
+
+    private void removePosting(String word, int number) {
+        PostingList postingList = postings.get(word);
+        if (postingList != null) {
+            postingList.remove(number);
+            if (postingList.isEmpty()) {
+                postings.remove(word);
+                for (String gram : getGrams(word)) {
+                    Set<String> gramWords = wordsByGram.get(gram);
+                    gramWords.remove(word);
+                    if (gramWords.isEmpty()) {
+                        wordsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns all distinct substrings of the given word with at most {@link #GRAM_LENGTH} characters
+     */
+    private static Set<String> getGrams(String word) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < word.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, word.length()); end++) {
+                grams.add(word.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the sorted and distinct words of all fields of the given entry
+     */
+    private static String[] getWords(BibEntry entry) {
+        TreeSet<String> words = new TreeSet<>();
+        for (String field : entry.getFieldNames()) {
+            entry.getLatexFreeField(field).ifPresent(content -> addWords(content.toLowerCase(), words));
+        }
+        return words.toArray(new String[words.size()]);
+    }
+
+    private static void addWords(String text, TreeSet<String> words) {
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            words.add(text.substring(start));
+        }
+    }
+
+    /**
+     * Returns the longest sequence of letters and digits of the given search word
+     */
+    static String getLongestRun(String searchWord) {
+        TreeSet<String> runs = new TreeSet<>();
+        addWords(searchWord, runs);
+        String longestRun = "";
+        for (String run : runs) {
+            if (run.length() > longestRun.length()) {
+                longestRun = run;
+            }
+        }
+        return longestRun;
+    }
+
+
+    /**
+     * Sorted list of entry numbers. As new entries get the highest number, adding usually appends.
+     */
+    private static class PostingList {
+
+        private int[] numbers = new int[2];
+        private int size;
+
+
+        void add(int number) {
+            int index = Arrays.binarySearch(numbers, 0, size, number);
+            if (index >= 0) {
+                return;
+            }
+            index = -(index + 1);
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            System.arraycopy(numbers, index, numbers, index + 1, size - index);
+            numbers[index] = number;
+            size++;
+        }
+
+        void remove(int number) {
+            int index = Arrays.binarySearch(numbers, 0, size, number);
+            if (index >= 0) {
+                System.arraycopy(numbers, index + 1, numbers, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(BitSet bitSet) {
+            for (int i = 0; i < size; i++) {
+                bitSet.set(numbers[i]);
+            }
+        }
+    }
+
+    /**
+     * Determines the candidates of a grammar based search. Negations and regular expressions cannot be narrowed down
+     * and yield <code>null</code>, i.e., all entries.
+     */
+    private class CandidateVisitor extends SearchBaseVisitor<BitSet> {
+
+        private final boolean regex;
+
+
+        CandidateVisitor(boolean regex) {
+            this.regex = regex;
+        }
+
+        @Override
+        public BitSet visitStart(SearchParser.StartContext context) {
+            return visit(context.expression());
+        }
+
+        @Override
+        public BitSet visitParenExpression(SearchParser.ParenExpressionContext context) {
+            return visit(context.expression());
+        }
+
+        @Override
+        public BitSet visitUnaryExpression(SearchParser.UnaryExpressionContext context) {
+            return null;
+        }
+
+        @Override
+        public BitSet visitBinaryExpression(SearchParser.BinaryExpressionContext context) {
+            BitSet left = visit(context.left);
+            BitSet right = visit(context.right);
+            if ("AND".equalsIgnoreCase(context.operator.getText())) {
+                if (left == null) {
+                    return right;
+                } else if (right != null) {
+                    left.and(right);
+                }
+                return left;
+            } else {
+                if ((left == null) || (right == null)) {
+                    return null;
+                }
+                left.or(right);
+                return left;
+            }
+        }
+
+        @Override
+        public BitSet visitComparison(SearchParser.ComparisonContext context) {
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (context.left == null) {
+                // searches all fields like a contains based search
+                return getCandidatesForWords(new SentenceAnalyzer(right).getWords());
+            }
+
+            ComparisonOperator operator = ComparisonOperator.build(context.operator.getText());
+            if (regex || (operator == ComparisonOperator.DOES_NOT_CONTAIN)
+                    || BibEntry.TYPE_HEADER.equalsIgnoreCase(context.left.getText())) {
+                return null;
+            }
+            return getCandidatesForWord(right);
+        }
+    }
+
+    private class BibDatabaseEntryListener implements BibDatabaseListener {
+
+        @Override
+        public void listen(EntryAddedEvent entryAddedEvent) {
+            synchronized (SearchIndex.this) {
+                addEntry(entryAddedEvent.getBibEntry());
+            }
+        }
+
+        @Override
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            synchronized (SearchIndex.this) {
+                updateEntry(fieldChangedEvent.getBibEntry());
+            }
+        }
+
+        @Override
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            synchronized (SearchIndex.this) {
+                entriesChangedEvent.getBibEntries().forEach(SearchIndex.this::updateEntry);
+            }
+        }
+
+        @Override
+        public void listen(EntryRemovedEvent entryRemovedEvent) {
+            synchronized (SearchIndex.this) {
+                removeEntry(entryRemovedEvent.getBibEntry());
+            }
+        }
+    }
+}
@@ -87,6 +87,10 @@ public class SearchQuery implements SearchMatcher {
         }
     }
 
+    SearchRule getRule() {
+        return rule;
+    }
+
     public boolean isGrammarBasedSearch() {
         return rule instanceof GrammarBasedSearchRule;
     }
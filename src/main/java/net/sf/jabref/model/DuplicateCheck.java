@@ -6,9 +6,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.database.DuplicateCandidateIndex;
 import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.EntryType;
@@ -215,6 +217,37 @@ public class DuplicateCheck {
         return Optional.empty(); // No duplicate found.
     }
 
+    /**
+     * Like {@link #containsDuplicate(BibDatabase, BibEntry, BibDatabaseMode)}, but only compares the entry with the
+     * candidates of the given index. Thus, when checking many entries against the same database, the index has to be
+     * built only once.
+     *
+     * @param index The index of the entries to search.
+     * @param entry The entry of which we are looking for duplicates.
+     * @return The first duplicate entry found. Empty if no duplicates are found.
+     */
+    public static Optional<BibEntry> containsDuplicate(DuplicateCandidateIndex index, BibEntry entry,
+            BibDatabaseMode bibDatabaseMode) {
+        for (BibEntry other : index.getCandidates(entry)) {
+            if (DuplicateCheck.isDuplicate(entry, other, bibDatabaseMode)) {
+                return Optional.of(other); // Duplicate found.
+            }
+        }
+        return Optional.empty(); // No duplicate found.
+    }
+
+    /**
+     * Finds all pairs of duplicates among the given entries. Instead of comparing every pair, only the candidate pairs
+     * of a {@link DuplicateCandidateIndex} are checked, in parallel.
+     *
+     * @return The pairs of duplicates, ordered as the entries are
+     */
+    public static List<List<BibEntry>> findDuplicates(List<BibEntry> entries, BibDatabaseMode bibDatabaseMode) {
+        return new DuplicateCandidateIndex(entries).getCandidatePairs().parallelStream()
+                .filter(pair -> DuplicateCheck.isDuplicate(pair.get(0), pair.get(1), bibDatabaseMode))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Compare two strings on the basis of word-by-word correlation analysis.
      *
@@ -12,10 +12,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.model.EntryTypes;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -27,66 +31,98 @@ import net.sf.jabref.model.entry.MonthUtil;
 import net.sf.jabref.model.entry.event.EntryChangedEvent;
 import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.event.ListenerList;
 import net.sf.jabref.model.strings.StringUtil;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
  * A bibliography database.
+ * <p>
+ * Reads do not block: {@link #getEntries()} returns an immutable snapshot of the entries, which is copied at most once
+ * per modification, and the lookups by id and bibtex key use concurrent maps holding immutable lists. Modifications are
+ * synchronized on the database and invalidate the snapshot. Thus, a background search can iterate the entries while
+ * entries are inserted or removed.
  */
 public class BibDatabase {
 
     private static final Log LOGGER = LogFactory.getLog(BibDatabase.class);
 
     /**
-     * State attributes
+     * State attributes, modifications are guarded by this database
      */
-    private final List<BibEntry> entries = Collections.synchronizedList(new ArrayList<>());
+    private final List<BibEntry> entries = new ArrayList<>();
+    /**
+     * Immutable copy of the entries handed out to readers, <code>null</code> if the entries have been modified since
+     */
+    private volatile List<BibEntry> entriesSnapshot = Collections.emptyList();
 
-    private String preamble;
+    private volatile String preamble;
     // All file contents below the last entry in the file
-    private String epilog = "";
+    private volatile String epilog = "";
     private final Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
 
     /**
-     * this is kept in sync with the database (upon adding/removing an entry, it is updated as well)
+     * The entries by their bibtex key. This is kept in sync with the database (upon adding/removing an entry and upon
+     * changing a key, it is updated as well). The lists are immutable and replaced on change.
      */
-    private final DuplicationChecker duplicationChecker = new DuplicationChecker();
+    private final Map<String, List<BibEntry>> entriesByKey = new ConcurrentHashMap<>();
 
     /**
      * contains all entry.getID() of the current database
      */
-    private final Set<String> internalIDs = new HashSet<>();
+    private final Set<String> internalIDs = ConcurrentHashMap.newKeySet();
+
+    private final ListenerList<BibDatabaseListener> listeners = new ListenerList<>();
+
+    /**
+     * Created when the first subscriber registers, listeners inside JabRef are notified through {@link #listeners}
+     */
+    private volatile EventBus eventBus;
 
-    private final EventBus eventBus = new EventBus();
+    /**
+     * Registered on all entries of this database, so that the entries need no event bus of their own
+     */
+    private final Consumer<FieldChangedEvent> entryChangeRelay = this::relayEntryChangeEvent;
+
+    /**
+     * Number of nested batches in progress and the changes collected by them, guarded by this database
+     */
+    private int batchDepth;
+    private final List<FieldChangedEvent> batchedChanges = new ArrayList<>();
 
 
     public BibDatabase() {
-        this.registerListener(new KeyChangeListener(this));
+        this.addListener(new KeyChangeListener(this));
     }
 
     /**
-     * Returns the number of entries.
+     * Returns the number of entries. Reads the size of the current snapshot, the entries are not copied.
      */
     public int getEntryCount() {
-        return entries.size();
+        List<BibEntry> snapshot = entriesSnapshot;
+        if (snapshot != null) {
+            return snapshot.size();
+        }
+        synchronized (this) {
+            return entries.size();
+        }
     }
 
     /**
      * Checks if the database contains entries.
      */
     public boolean hasEntries() {
-        return !entries.isEmpty();
+        return getEntryCount() > 0;
     }
 
     /**
      * Returns an EntrySorter with the sorted entries from this base,
      * sorted by the given Comparator.
      */
-    public synchronized EntrySorter getSorter(Comparator<BibEntry> comp) {
+    public EntrySorter getSorter(Comparator<BibEntry> comp) {
         return new EntrySorter(new ArrayList<>(getEntries()), comp);
     }
 
@@ -97,8 +133,21 @@ public class BibDatabase {
         return internalIDs.contains(id);
     }
 
+    /**
+     * Returns an unmodifiable snapshot of the entries. Later modifications of the database are not reflected in the
+     * returned list.
+     */
     public List<BibEntry> getEntries() {
-        return Collections.unmodifiableList(entries);
+        List<BibEntry> snapshot = entriesSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (entriesSnapshot == null) {
+                    entriesSnapshot = Collections.unmodifiableList(new ArrayList<>(entries));
+                }
+                snapshot = entriesSnapshot;
+            }
+        }
+        return snapshot;
     }
 
     /**
@@ -119,13 +168,15 @@ public class BibDatabase {
     /**
      * Returns the entry with the given bibtex key.
      */
-    public synchronized Optional<BibEntry> getEntryByKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCiteKeyOptional().orElse(null))) {
-                return Optional.of(entry);
-            }
+    public Optional<BibEntry> getEntryByKey(String key) {
+        List<BibEntry> entriesWithKey = entriesByKey.get(key);
+        if (entriesWithKey == null) {
+            return Optional.empty();
+        } else if (entriesWithKey.size() == 1) {
+            return Optional.of(entriesWithKey.get(0));
+        } else {
+            return Optional.of(getEntriesByKey(key).get(0));
         }
-        return Optional.empty();
     }
 
     /**
@@ -135,17 +186,26 @@ public class BibDatabase {
      * @param key
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
+    public List<BibEntry> getEntriesByKey(String key) {
+        List<BibEntry> entriesWithKey = entriesByKey.get(key);
+        if (entriesWithKey == null) {
+            return new ArrayList<>();
+        } else if (entriesWithKey.size() == 1) {
+            return new ArrayList<>(entriesWithKey);
+        }
 
-        for (BibEntry entry : entries) {
-            entry.getCiteKeyOptional().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
+        // duplicate keys are rare, so restoring the database order by a scan is fine
+        synchronized (this) {
+            Set<String> ids = entriesByKey.getOrDefault(key, Collections.emptyList()).stream().map(BibEntry::getId)
+                    .collect(Collectors.toSet());
+            List<BibEntry> result = new ArrayList<>(ids.size());
+            for (BibEntry entry : entries) {
+                if (ids.contains(entry.getId())) {
                     result.add(entry);
                 }
-            });
+            }
+            return result;
         }
-        return result;
     }
 
     /**
@@ -178,10 +238,14 @@ public class BibDatabase {
 
         internalIDs.add(id);
         entries.add(entry);
-        entry.registerListener(this);
+        entriesSnapshot = null;
+        boolean duplicate = addToKeyIndex(entry, entry.getCiteKey());
+        entry.registerChangeListener(entryChangeRelay);
 
-        eventBus.post(new EntryAddedEvent(entry, eventSource));
-        return duplicationChecker.checkForDuplicateKeyAndAdd(null, entry.getCiteKey());
+        EntryAddedEvent event = new EntryAddedEvent(entry, eventSource);
+        listeners.post(event, BibDatabaseListener::listen);
+        postEvent(event);
+        return duplicate;
     }
 
     /**
@@ -205,36 +269,104 @@ public class BibDatabase {
 
         boolean anyRemoved = entries.removeIf(entry -> entry.getId().equals(toBeDeleted.getId()));
         if (anyRemoved) {
+            entriesSnapshot = null;
             internalIDs.remove(toBeDeleted.getId());
-            toBeDeleted.getCiteKeyOptional().ifPresent(duplicationChecker::removeKeyFromSet);
-            eventBus.post(new EntryRemovedEvent(toBeDeleted, eventSource));
+            toBeDeleted.unregisterChangeListener(entryChangeRelay);
+            removeFromKeyIndex(toBeDeleted, toBeDeleted.getCiteKey());
+            EntryRemovedEvent event = new EntryRemovedEvent(toBeDeleted, eventSource);
+            listeners.post(event, BibDatabaseListener::listen);
+            postEvent(event);
         }
     }
 
+    /**
+     * Returns the number of occurrences of the given key in this database.
+     */
     public int getNumberOfKeyOccurrences(String key) {
-        return duplicationChecker.getNumberOfKeyOccurrences(key);
+        if (key == null) {
+            return 0;
+        }
+        List<BibEntry> entriesWithKey = entriesByKey.get(key);
+        return entriesWithKey == null ? 0 : entriesWithKey.size();
     }
 
     /**
      * Sets the given key to the given entry.
      * If the key is null, the entry field will be cleared.
      *
-     * @return true, if the entry contains the key, false if not
+     * @return true, if another entry already has the new key, false if not
      */
     public synchronized boolean setCiteKeyForEntry(BibEntry entry, String key) {
         String oldKey = entry.getCiteKey();
+        // the key index is updated when the resulting field change is relayed
         if (key == null) {
             entry.clearCiteKey();
         } else {
             entry.setCiteKey(key);
         }
-        return duplicationChecker.checkForDuplicateKeyAndAdd(oldKey, key);
+
+        if ((key == null) || key.equals(oldKey)) {
+            return false;
+        }
+        List<BibEntry> entriesWithKey = entriesByKey.getOrDefault(key, Collections.emptyList());
+        return entriesWithKey.stream().anyMatch(other -> !other.getId().equals(entry.getId()));
+    }
+
+    /**
+     * Adds the entry to the key index
+     *
+     * @return true, if another entry already has the key
+     */
+    private boolean addToKeyIndex(BibEntry entry, String key) {
+        if ((key == null) || key.isEmpty()) {
+            return false;
+        }
+        List<BibEntry> entriesWithKey = entriesByKey.get(key);
+        if (entriesWithKey == null) {
+            entriesWithKey = Collections.singletonList(entry);
+        } else {
+            entriesWithKey = new ArrayList<>(entriesWithKey);
+            entriesWithKey.add(entry);
+            entriesWithKey = Collections.unmodifiableList(entriesWithKey);
+        }
+        entriesByKey.put(key, entriesWithKey);
+        if (entriesWithKey.size() > 1) {
+            LOGGER.warn("Warning there is a duplicate key: " + key);
+            return true;
+        }
+        return false;
+    }
+
+    private void removeFromKeyIndex(BibEntry entry, String key) {
+        if ((key == null) || key.isEmpty()) {
+            return;
+        }
+        List<BibEntry> entriesWithKey = entriesByKey.get(key);
+        if (entriesWithKey != null) {
+            List<BibEntry> remaining = entriesWithKey.stream().filter(other -> !other.getId().equals(entry.getId()))
+                    .collect(Collectors.toList());
+            if (remaining.isEmpty()) {
+                entriesByKey.remove(key);
+            } else {
+                entriesByKey.put(key, Collections.unmodifiableList(remaining));
+            }
+        }
+    }
+
+    private synchronized void updateKeyIndex(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (!containsEntryWithId(entry.getId())) {
+            // the entry has already been removed
+            return;
+        }
+        removeFromKeyIndex(entry, event.getOldValue());
+        addToKeyIndex(entry, event.getNewValue());
     }
 
     /**
      * Sets the database's preamble.
      */
-    public synchronized void setPreamble(String preamble) {
+    public void setPreamble(String preamble) {
         this.preamble = preamble;
     }
 
@@ -242,11 +374,12 @@ public class BibDatabase {
      * Returns the database's preamble.
      * If the preamble text consists only of whitespace, then also an empty optional is returned.
      */
-    public synchronized Optional<String> getPreamble() {
-        if (StringUtil.isBlank(preamble)) {
+    public Optional<String> getPreamble() {
+        String currentPreamble = preamble;
+        if (StringUtil.isBlank(currentPreamble)) {
             return Optional.empty();
         } else {
-            return Optional.of(preamble);
+            return Optional.of(currentPreamble);
         }
     }
 
@@ -333,7 +466,7 @@ public class BibDatabase {
     /**
      * Returns true if a string with the given label already exists.
      */
-    public synchronized boolean hasStringLabel(String label) {
+    public boolean hasStringLabel(String label) {
         for (BibtexString value : bibtexStrings.values()) {
             if (value.getName().equals(label)) {
                 return true;
@@ -579,12 +712,13 @@ public class BibDatabase {
      *
      *   - {@link EntryAddedEvent}
      *   - {@link EntryChangedEvent}
+     *   - {@link EntriesChangedEvent}
      *   - {@link EntryRemovedEvent}
      *
      * @param listener listener (subscriber) to add
      */
     public void registerListener(Object listener) {
-        this.eventBus.register(listener);
+        getEventBus().register(listener);
     }
 
     /**
@@ -592,12 +726,96 @@ public class BibDatabase {
      * @param listener listener (subscriber) to remove
      */
     public void unregisterListener(Object listener) {
-        this.eventBus.unregister(listener);
+        EventBus bus = eventBus;
+        if (bus != null) {
+            bus.unregister(listener);
+        }
+    }
+
+    /**
+     * Adds a listener which is called directly on every change, before the subscribers registered with
+     * {@link #registerListener(Object)} are notified. This is considerably cheaper than an event bus subscriber.
+     */
+    public void addListener(BibDatabaseListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener which is notified by the given executor, for instance in a background thread.
+     */
+    public void addListener(BibDatabaseListener listener, Executor executor) {
+        listeners.add(listener, executor);
+    }
+
+    public void removeListener(BibDatabaseListener listener) {
+        listeners.remove(listener);
+    }
+
+    private EventBus getEventBus() {
+        EventBus bus = eventBus;
+        if (bus == null) {
+            synchronized (this) {
+                if (eventBus == null) {
+                    eventBus = new EventBus();
+                }
+                bus = eventBus;
+            }
+        }
+        return bus;
+    }
+
+    private void postEvent(Object event) {
+        EventBus bus = eventBus;
+        if (bus != null) {
+            bus.post(event);
+        }
     }
 
-    @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
-        eventBus.post(event);
+        if (BibEntry.KEY_FIELD.equals(event.getFieldName())) {
+            // update before relaying, so that listeners already see the new key
+            updateKeyIndex(event);
+        }
+        synchronized (this) {
+            if (batchDepth > 0) {
+                batchedChanges.add(event);
+                return;
+            }
+        }
+        listeners.post(event, BibDatabaseListener::listen);
+        postEvent(event);
+    }
+
+    /**
+     * Starts a batch of changes. Until the batch is ended by {@link #endBatch()}, changes of the entries are not posted
+     * one by one, but collected and posted as a single {@link EntriesChangedEvent} at the end. Added and removed
+     * entries are still posted immediately. Batches may be nested, only the outermost one posts the event.
+     * <p>
+     * Call {@link #endBatch()} in a <code>finally</code> block.
+     */
+    public synchronized void startBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of changes started by {@link #startBatch()}.
+     */
+    public void endBatch() {
+        List<FieldChangedEvent> changes;
+        synchronized (this) {
+            if (batchDepth == 0) {
+                throw new IllegalStateException("No batch has been started");
+            }
+            batchDepth--;
+            if ((batchDepth > 0) || batchedChanges.isEmpty()) {
+                return;
+            }
+            changes = new ArrayList<>(batchedChanges);
+            batchedChanges.clear();
+        }
+        EntriesChangedEvent event = new EntriesChangedEvent(changes);
+        listeners.post(event, BibDatabaseListener::listen);
+        postEvent(event);
     }
 
     public Optional<BibEntry> getReferencedEntry(BibEntry entry) {
@@ -210,16 +210,16 @@ public class BibDatabaseContext {
 
     public void convertToSharedDatabase(Character keywordSeparator, GlobalBibtexKeyPattern globalCiteKeyPattern) {
         this.dbmsSynchronizer = new DBMSSynchronizer(this, keywordSeparator, globalCiteKeyPattern);
-        this.database.registerListener(dbmsSynchronizer);
-        this.metaData.registerListener(dbmsSynchronizer);
+        this.database.addListener(dbmsSynchronizer);
+        this.metaData.addListener(dbmsSynchronizer);
 
         this.location = DatabaseLocation.SHARED;
     }
 
     public void convertToLocalDatabase() {
         if ((this.location == DatabaseLocation.SHARED)) {
-            this.database.unregisterListener(dbmsSynchronizer);
-            this.metaData.unregisterListener(dbmsSynchronizer);
+            this.database.removeListener(dbmsSynchronizer);
+            this.metaData.removeListener(dbmsSynchronizer);
         }
 
         this.location = DatabaseLocation.LOCAL;
@@ -0,0 +1,169 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import net.sf.jabref.model.entry.Author;
+import net.sf.jabref.model.entry.AuthorList;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+
+/**
+ * Blocking index for the duplicate detection.
+ * <p>
+ * Comparing every pair of entries is quadratic in the number of entries. Instead, each entry is put into a few blocks
+ * identified by cheap keys (normalized DOI, normalized ISBN, first author with year, first and last words of the
+ * title), each combined with the entry type as entries of different types are never duplicates. Only entries sharing
+ * a block are candidates for the expensive comparison. Blocks which contain more than {@link #MAX_BLOCK_SIZE} entries
+ * are not selective and are ignored.
+ * <p>
+ * Duplicates which differ in all of the keys, e.g., by typos in the beginning and the end of the title and in the
+ * first author, are not found.
+ */
+public class DuplicateCandidateIndex {
+
+    static final int MAX_BLOCK_SIZE = 500;
+
+    private static final Pattern DOI_PREFIX = Pattern.compile("^(https?://(dx\\.)?doi\\.org/|doi:\\s*)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern NON_ISBN_CHARACTERS = Pattern.compile("[^0-9X]");
+
+    private final List<BibEntry> entries;
+    private final Map<String, List<Integer>> blocks = new HashMap<>();
+
+
+    public DuplicateCandidateIndex(List<BibEntry> entries) {
+        this.entries = new ArrayList<>(Objects.requireNonNull(entries));
+        for (int i = 0; i < this.entries.size(); i++) {
+            for (String key : getBlockingKeys(this.entries.get(i))) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    /**
+     * Returns all pairs of indexed entries sharing at least one block. Each pair is contained once, ordered as the
+     * indexed entries. The pairs themselves are in the order a comparison of all pairs would visit them.
+     */
+    public List<List<BibEntry>> getCandidatePairs() {
+        long[] pairs = new long[16];
+        int size = 0;
+        for (List<Integer> block : blocks.values()) {
+            if (block.size() > MAX_BLOCK_SIZE) {
+                continue;
+            }
+            for (int i = 0; i < (block.size() - 1); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    if (size == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, size * 2);
+                    }
+                    // the positions in a block are ascending, so the first entry is always the smaller one
+                    pairs[size++] = ((long) block.get(i) << 32) | block.get(j);
+                }
+            }
+        }
+        Arrays.sort(pairs, 0, size);
+
+        List<List<BibEntry>> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if ((i > 0) && (pairs[i] == pairs[i - 1])) {
+                continue;
+            }
+            BibEntry first = entries.get((int) (pairs[i] >>> 32));
+            BibEntry second = entries.get((int) pairs[i]);
+            result.add(Arrays.asList(first, second));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indexed entries sharing at least one block with the given entry, in the order of the indexed
+     * entries. The given entry itself does not need to be indexed.
+     */
+    public List<BibEntry> getCandidates(BibEntry entry) {
+        Set<Integer> positions = new TreeSet<>();
+        for (String key : getBlockingKeys(entry)) {
+            List<Integer> block = blocks.getOrDefault(key, Collections.emptyList());
+            if (block.size() <= MAX_BLOCK_SIZE) {
+                positions.addAll(block);
+            }
+        }
+
+        List<BibEntry> result = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            BibEntry candidate = entries.get(position);
+            if (candidate != entry) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    static Set<String> getBlockingKeys(BibEntry entry) {
+        Set<String> keys = new HashSet<>();
+        String prefix = entry.getType() + ':';
+
+        entry.getField(FieldName.DOI).map(doi -> DOI_PREFIX.matcher(doi.trim()).replaceFirst("").toLowerCase())
+                .filter(doi -> !doi.isEmpty()).ifPresent(doi -> keys.add(prefix + "doi:" + doi));
+
+        entry.getField(FieldName.ISBN).map(isbn -> NON_ISBN_CHARACTERS.matcher(isbn.toUpperCase()).replaceAll(""))
+                .filter(isbn -> !isbn.isEmpty()).ifPresent(isbn -> keys.add(prefix + "isbn:" + isbn));
+
+        Optional<String> persons = entry.getField(FieldName.AUTHOR);
+        if (!persons.isPresent()) {
+            persons = entry.getField(FieldName.EDITOR);
+        }
+        persons.flatMap(DuplicateCandidateIndex::getFirstLastName).ifPresent(
+                lastName -> keys.add(prefix + "author:" + lastName + ':' + entry.getField(FieldName.YEAR).orElse("")));
+
+        entry.getField(FieldName.TITLE).ifPresent(title -> {
+            List<String> words = getNormalizedWords(title);
+            if (!words.isEmpty()) {
+                int size = words.size();
+                keys.add(prefix + "titlestart:" + String.join(" ", words.subList(0, Math.min(2, size))));
+                keys.add(prefix + "titleend:" + String.join(" ", words.subList(Math.max(0, size - 2), size)));
+            }
+        });
+
+        return keys;
+    }
+
+    private static Optional<String> getFirstLastName(String persons) {
+        AuthorList authorList = AuthorList.parse(persons);
+        if (authorList.isEmpty()) {
+            return Optional.empty();
+        }
+        Author firstAuthor = authorList.getAuthor(0);
+        return firstAuthor.getLast().map(DuplicateCandidateIndex::getNormalizedWords)
+                .filter(words -> !words.isEmpty()).map(words -> String.join(" ", words));
+    }
+
+    private static List<String> getNormalizedWords(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (Character.isLetterOrDigit(character)) {
+                word.append(Character.toLowerCase(character));
+            } else if (Character.isWhitespace(character) && (word.length() > 0)) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+            // other characters like braces and LaTeX commands' backslashes are dropped
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
@@ -2,17 +2,19 @@ package net.sf.jabref.model.database;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldProperty;
 import net.sf.jabref.model.entry.InternalBibtexFields;
 import net.sf.jabref.model.entry.event.FieldChangedEvent;
 
-import com.google.common.eventbus.Subscribe;
-
-public class KeyChangeListener {
+public class KeyChangeListener implements BibDatabaseListener {
 
     private final BibDatabase database;
 
@@ -32,7 +34,7 @@ public class KeyChangeListener {
         }
     }
 
-    @Subscribe
+    @Override
     public void listen(FieldChangedEvent event) {
         if (event.getFieldName().equals(BibEntry.KEY_FIELD)) {
             String newKey = event.getNewValue();
@@ -41,7 +43,40 @@ public class KeyChangeListener {
         }
     }
 
-    @Subscribe
+    @Override
+    public void listen(EntriesChangedEvent event) {
+        // old keys mapped to their final new key, so that all links are updated in one pass
+        Map<String, String> newKeys = new HashMap<>();
+        for (FieldChangedEvent change : event.getFieldChanges()) {
+            if (change.getFieldName().equals(BibEntry.KEY_FIELD) && (change.getOldValue() != null)) {
+                for (Map.Entry<String, String> newKey : newKeys.entrySet()) {
+                    if (change.getOldValue().equals(newKey.getValue())) {
+                        newKey.setValue(change.getNewValue());
+                    }
+                }
+                newKeys.putIfAbsent(change.getOldValue(), change.getNewValue());
+            }
+        }
+
+        if (!newKeys.isEmpty()) {
+            for (BibEntry entry : database.getEntries()) {
+                for (String field : keyFields) {
+                    entry.getField(field).ifPresent(fieldContent -> {
+                        if (InternalBibtexFields.getFieldProperties(field).contains(FieldProperty.SINGLE_ENTRY_LINK)) {
+                            if (newKeys.containsKey(fieldContent)) {
+                                replaceSingleKeyInField(newKeys.get(fieldContent), fieldContent, entry, field,
+                                        fieldContent);
+                            }
+                        } else { // MULTIPLE_ENTRY_LINK
+                            replaceKeysInMultiplesKeyField(newKeys, entry, field, fieldContent);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    @Override
     public void listen(EntryRemovedEvent event) {
         event.getBibEntry().getCiteKeyOptional().ifPresent(oldKey -> updateEntryLinks(null, oldKey));
     }
@@ -74,6 +109,25 @@ public class KeyChangeListener {
         }
     }
 
+    private void replaceKeysInMultiplesKeyField(Map<String, String> newKeys, BibEntry entry, String field,
+            String fieldContent) {
+        List<String> keys = new ArrayList<>();
+        boolean changed = false;
+        for (String key : fieldContent.split(",")) {
+            if (newKeys.containsKey(key)) {
+                changed = true;
+                if (newKeys.get(key) != null) {
+                    keys.add(newKeys.get(key));
+                }
+            } else {
+                keys.add(key);
+            }
+        }
+        if (changed) {
+            entry.setField(field, String.join(",", keys));
+        }
+    }
+
     private void replaceSingleKeyInField(String newKey, String oldKey, BibEntry entry, String field,
             String fieldContent) {
         if (fieldContent.equals(oldKey)) {
@@ -0,0 +1,37 @@
+package net.sf.jabref.model.database.event;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+/**
+ * Listener of the changes of a {@link BibDatabase}, notified directly instead of through an event bus (see
+ * {@link BibDatabase#addListener(BibDatabaseListener)}). Listeners override the methods of the events they are
+ * interested in.
+ */
+public interface BibDatabaseListener {
+
+    default void listen(EntryAddedEvent event) {
+        // nothing to do by default
+    }
+
+    default void listen(EntryRemovedEvent event) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called for each change of a field, unless the change is part of a batch.
+     */
+    default void listen(FieldChangedEvent event) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called at the end of a batch of changes. By default, each change of the batch is passed to
+     * {@link #listen(FieldChangedEvent)}.
+     */
+    default void listen(EntriesChangedEvent event) {
+        for (FieldChangedEvent change : event.getFieldChanges()) {
+            listen(change);
+        }
+    }
+}
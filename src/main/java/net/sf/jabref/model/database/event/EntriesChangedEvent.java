@@ -0,0 +1,70 @@
+package net.sf.jabref.model.database.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.EntryEventSource;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+/**
+ * {@link EntriesChangedEvent} is fired once at the end of a batch of changes to the entries of a {@link BibDatabase}
+ * (see {@link BibDatabase#startBatch()}), instead of a {@link FieldChangedEvent} per change.
+ */
+public class EntriesChangedEvent {
+
+    private final List<FieldChangedEvent> fieldChanges;
+    private final List<BibEntry> bibEntries;
+    private final EntryEventSource location;
+
+
+    /**
+     * @param fieldChanges the changes of the batch in the order they happened
+     */
+    public EntriesChangedEvent(List<FieldChangedEvent> fieldChanges) {
+        this.fieldChanges = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(fieldChanges)));
+
+        // an entry may be changed several times and entries with the same content are still different entries
+        Map<BibEntry, Boolean> entries = new IdentityHashMap<>();
+        List<BibEntry> changedEntries = new ArrayList<>();
+        EntryEventSource commonLocation = null;
+        for (FieldChangedEvent change : fieldChanges) {
+            if (entries.put(change.getBibEntry(), Boolean.TRUE) == null) {
+                changedEntries.add(change.getBibEntry());
+            }
+            if (commonLocation == null) {
+                commonLocation = change.getEntryEventSource();
+            } else if (commonLocation != change.getEntryEventSource()) {
+                commonLocation = EntryEventSource.LOCAL;
+            }
+        }
+        this.bibEntries = Collections.unmodifiableList(changedEntries);
+        this.location = commonLocation == null ? EntryEventSource.LOCAL : commonLocation;
+    }
+
+    /**
+     * Returns the changed entries, each once, in the order of their first change.
+     */
+    public List<BibEntry> getBibEntries() {
+        return bibEntries;
+    }
+
+    /**
+     * Returns all changes of the batch in the order they happened.
+     */
+    public List<FieldChangedEvent> getFieldChanges() {
+        return fieldChanges;
+    }
+
+    /**
+     * Returns the source of the changes if all of them have the same one, {@link EntryEventSource#LOCAL} otherwise.
+     */
+    public EntryEventSource getEntryEventSource() {
+        return location;
+    }
+}
@@ -7,9 +7,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 /**
  * This is an immutable class representing information of either <CODE>author</CODE>
  * or <CODE>editor</CODE> field in bibtex record.
@@ -132,7 +135,15 @@ public class AuthorList {
     private final String[] authorsLastFirst = new String[4];
     private final String[] authorsLastFirstFirstLast = new String[2];
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    // large enough to hold the distinct author and editor fields of a big library
+    private static final int CACHE_SIZE = 50000;
+
+    // parse is called concurrently by the search, the duplicate check and parallel exports
+    private static final Cache<String, AuthorList> AUTHOR_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+            .recordStats()
+            .build();
 
     // Avoid partition where these values are contained
     private final static Collection<String> avoidTermsInLowerCase = Arrays.asList("jr", "sr", "jnr", "snr", "von", "zu", "van", "der");
@@ -164,6 +175,27 @@ public class AuthorList {
     public static AuthorList parse(String authors) {
         Objects.requireNonNull(authors);
 
+        AuthorList authorList = AUTHOR_CACHE.getIfPresent(authors);
+        if (authorList == null) {
+            // two threads may parse the same string, but they produce equal lists
+            AuthorListParser parser = new AuthorListParser();
+            authorList = parser.parse(normalize(authors));
+            AUTHOR_CACHE.put(authors, authorList);
+        }
+        return authorList;
+    }
+
+    /**
+     * Returns the statistics of the cache used by {@link #parse(String)}, e.g., its hit rate.
+     */
+    public static CacheStats getCacheStatistics() {
+        return AUTHOR_CACHE.stats();
+    }
+
+    /**
+     * Rewrites a list of names separated by commas, e.g., "Ali Babar, M., Dingsøyr, T.", into names separated by "and".
+     */
+    private static String normalize(String authors) {
         // Handle case names in order lastname, firstname and separated by ","
         // E.g., Ali Babar, M., Dingsøyr, T., Lago, P., van der Vliet, H.
         if (!authors.toUpperCase(Locale.ENGLISH).contains(" AND ") && !authors.contains("{") && !authors.contains(";")) {
@@ -204,13 +236,7 @@ public class AuthorList {
             }
         }
 
-        AuthorList authorList = AUTHOR_CACHE.get(authors);
-        if (authorList == null) {
-            AuthorListParser parser = new AuthorListParser();
-            authorList = parser.parse(authors);
-            AUTHOR_CACHE.put(authors, authorList);
-        }
-        return authorList;
+        return authors;
     }
 
     /**
@@ -5,11 +5,11 @@ import java.text.FieldPosition;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import net.sf.jabref.model.EntryTypes;
@@ -47,27 +48,36 @@ public class BibEntry implements Cloneable {
 
     private static final Pattern REMOVE_TRAILING_WHITESPACE = Pattern.compile("\\s+$");
 
+    /**
+     * Used to cleanse field values for internal LaTeX-free storage. The converter is stateless, thus shared by all
+     * entries.
+     */
+    private static final LatexToUnicode UNICODE_CONVERTER = new LatexToUnicode();
+
     private String id;
 
-    private final SharedBibEntryData sharedBibEntryData;
+    /**
+     * Created on first use, as only entries of shared databases need it
+     */
+    private volatile SharedBibEntryData sharedBibEntryData;
 
     private String type;
-    private Map<String, String> fields = new ConcurrentHashMap<>();
+    private CompactFieldMap fields = new CompactFieldMap();
 
     /**
-     * Map to store the words in every field
+     * Map to store the words in every field, created on first use
      */
-    private final Map<String, Set<String>> fieldsAsWords = new HashMap<>();
+    private volatile Map<String, Set<String>> fieldsAsWords;
 
     /**
-     * Cache that stores latex free versions of fields.
+     * Map to store the lower-cased words in every field, created on first use
      */
-    private final Map<String, String> latexFreeFields = new ConcurrentHashMap<>();
+    private volatile Map<String, Set<String>> fieldsAsLowerCaseWords;
 
     /**
-     * Used to cleanse field values for internal LaTeX-free storage
+     * Cache that stores latex free versions of fields, created on first use
      */
-    private LatexToUnicode unicodeConverter = new LatexToUnicode();
+    private volatile Map<String, String> latexFreeFields;
 
     // Search and grouping status is stored in boolean fields for quick reference:
     private boolean searchHit;
@@ -84,7 +94,16 @@ public class BibEntry implements Cloneable {
      */
     private boolean changed;
 
-    private final EventBus eventBus = new EventBus();
+    /**
+     * Created when the first listener registers, as most entries are never observed individually
+     */
+    private volatile EventBus eventBus;
+
+    /**
+     * Lightweight listeners notified without an {@link EventBus}. A database registers the same listener on all its
+     * entries.
+     */
+    private volatile List<Consumer<FieldChangedEvent>> changeListeners = Collections.emptyList();
 
 
     /**
@@ -115,7 +134,6 @@ public class BibEntry implements Cloneable {
 
         this.id = id;
         setType(type);
-        this.sharedBibEntryData = new SharedBibEntryData();
     }
 
     public Optional<FieldChange> replaceKeywords(KeywordList keywordsToReplace, Optional<Keyword> newValue,
@@ -178,7 +196,7 @@ public class BibEntry implements Cloneable {
 
         String oldId = this.id;
 
-        eventBus.post(new FieldChangedEvent(this, BibEntry.ID_FIELD, id, oldId));
+        postEvent(new FieldChangedEvent(this, BibEntry.ID_FIELD, id, oldId));
         this.id = id;
         changed = true;
     }
@@ -241,7 +259,7 @@ public class BibEntry implements Cloneable {
         // sets off a change in database sorting etc.
         this.type = newType.toLowerCase(Locale.ENGLISH);
         changed = true;
-        eventBus.post(new FieldChangedEvent(this, TYPE_HEADER, newType, oldType, eventSource));
+        postEvent(new FieldChangedEvent(this, TYPE_HEADER, newType, oldType, eventSource));
     }
 
     /**
@@ -436,7 +454,7 @@ public class BibEntry implements Cloneable {
         invalidateFieldCache(fieldName);
 
         FieldChange change = new FieldChange(this, fieldName, oldValue, value);
-        eventBus.post(new FieldChangedEvent(change, eventSource));
+        postEvent(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -492,7 +510,7 @@ public class BibEntry implements Cloneable {
         invalidateFieldCache(fieldName);
 
         FieldChange change = new FieldChange(this, fieldName, oldValue.get(), null);
-        eventBus.post(new FieldChangedEvent(change, eventSource));
+        postEvent(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -544,7 +562,7 @@ public class BibEntry implements Cloneable {
     @Override
     public Object clone() {
         BibEntry clone = new BibEntry(id, type);
-        clone.fields = new HashMap<>(fields);
+        clone.fields = new CompactFieldMap(fields);
         return clone;
     }
 
@@ -707,7 +725,16 @@ public class BibEntry implements Cloneable {
     }
 
     public SharedBibEntryData getSharedBibEntryData() {
-        return sharedBibEntryData;
+        SharedBibEntryData data = sharedBibEntryData;
+        if (data == null) {
+            synchronized (this) {
+                if (sharedBibEntryData == null) {
+                    sharedBibEntryData = new SharedBibEntryData();
+                }
+                data = sharedBibEntryData;
+            }
+        }
+        return data;
     }
 
     @Override
@@ -728,11 +755,57 @@ public class BibEntry implements Cloneable {
     }
 
     public void registerListener(Object object) {
-        this.eventBus.register(object);
+        getEventBus().register(object);
     }
 
     public void unregisterListener(Object object) {
-        this.eventBus.unregister(object);
+        EventBus bus = eventBus;
+        if (bus != null) {
+            bus.unregister(object);
+        }
+    }
+
+    /**
+     * Registers a listener which is called directly on every field change of this entry. In contrast to
+     * {@link #registerListener(Object)}, this does not need an {@link EventBus} per entry.
+     */
+    public synchronized void registerChangeListener(Consumer<FieldChangedEvent> listener) {
+        Objects.requireNonNull(listener);
+        List<Consumer<FieldChangedEvent>> listeners = new ArrayList<>(changeListeners.size() + 1);
+        listeners.addAll(changeListeners);
+        listeners.add(listener);
+        changeListeners = listeners;
+    }
+
+    public synchronized void unregisterChangeListener(Consumer<FieldChangedEvent> listener) {
+        if (changeListeners.contains(listener)) {
+            List<Consumer<FieldChangedEvent>> listeners = new ArrayList<>(changeListeners);
+            listeners.remove(listener);
+            changeListeners = listeners.isEmpty() ? Collections.emptyList() : listeners;
+        }
+    }
+
+    private EventBus getEventBus() {
+        EventBus bus = eventBus;
+        if (bus == null) {
+            synchronized (this) {
+                if (eventBus == null) {
+                    eventBus = new EventBus();
+                }
+                bus = eventBus;
+            }
+        }
+        return bus;
+    }
+
+    private void postEvent(FieldChangedEvent event) {
+        for (Consumer<FieldChangedEvent> listener : changeListeners) {
+            listener.accept(event);
+        }
+        EventBus bus = eventBus;
+        if (bus != null) {
+            bus.post(event);
+        }
     }
 
     public BibEntry withField(String field, String value) {
@@ -759,7 +832,8 @@ public class BibEntry implements Cloneable {
 
     public Set<String> getFieldAsWords(String field) {
         String fieldName = toLowerCase(field);
-        Set<String> storedList = fieldsAsWords.get(fieldName);
+        Map<String, Set<String>> cache = fieldsAsWords;
+        Set<String> storedList = cache == null ? null : cache.get(fieldName);
         if (storedList != null) {
             return storedList;
         } else {
@@ -768,30 +842,103 @@ public class BibEntry implements Cloneable {
                 return Collections.emptySet();
             } else {
                 HashSet<String> words = new HashSet<>(StringUtil.getStringAsWords(fieldValue));
-                fieldsAsWords.put(fieldName, words);
+                getFieldsAsWordsCache().put(fieldName, words);
                 return words;
             }
         }
     }
 
+    /**
+     * Returns the words of the given field in lower case, for case insensitive lookups.
+     */
+    public Set<String> getFieldAsLowerCaseWords(String field) {
+        String fieldName = toLowerCase(field);
+        Map<String, Set<String>> cache = fieldsAsLowerCaseWords;
+        Set<String> storedList = cache == null ? null : cache.get(fieldName);
+        if (storedList != null) {
+            return storedList;
+        }
+        Set<String> words = getFieldAsWords(fieldName);
+        if (words.isEmpty()) {
+            return words;
+        }
+        Set<String> lowerCaseWords = new HashSet<>(words.size() * 2);
+        for (String word : words) {
+            lowerCaseWords.add(word.toLowerCase());
+        }
+        getFieldsAsLowerCaseWordsCache().put(fieldName, lowerCaseWords);
+        return lowerCaseWords;
+    }
+
+    private Map<String, Set<String>> getFieldsAsWordsCache() {
+        Map<String, Set<String>> cache = fieldsAsWords;
+        if (cache == null) {
+            synchronized (this) {
+                if (fieldsAsWords == null) {
+                    fieldsAsWords = new ConcurrentHashMap<>(4);
+                }
+                cache = fieldsAsWords;
+            }
+        }
+        return cache;
+    }
+
+    private Map<String, Set<String>> getFieldsAsLowerCaseWordsCache() {
+        Map<String, Set<String>> cache = fieldsAsLowerCaseWords;
+        if (cache == null) {
+            synchronized (this) {
+                if (fieldsAsLowerCaseWords == null) {
+                    fieldsAsLowerCaseWords = new ConcurrentHashMap<>(4);
+                }
+                cache = fieldsAsLowerCaseWords;
+            }
+        }
+        return cache;
+    }
+
+    private Map<String, String> getLatexFreeFieldsCache() {
+        Map<String, String> cache = latexFreeFields;
+        if (cache == null) {
+            synchronized (this) {
+                if (latexFreeFields == null) {
+                    latexFreeFields = new ConcurrentHashMap<>(4);
+                }
+                cache = latexFreeFields;
+            }
+        }
+        return cache;
+    }
+
     public Optional<FieldChange> clearCiteKey() {
         return clearField(KEY_FIELD);
     }
 
     private void invalidateFieldCache(String fieldName) {
-        latexFreeFields.remove(fieldName);
-        fieldsAsWords.remove(fieldName);
+        Map<String, String> latexFreeCache = latexFreeFields;
+        if (latexFreeCache != null) {
+            latexFreeCache.remove(fieldName);
+        }
+        Map<String, Set<String>> wordsCache = fieldsAsWords;
+        if (wordsCache != null) {
+            wordsCache.remove(fieldName);
+        }
+        Map<String, Set<String>> lowerCaseWordsCache = fieldsAsLowerCaseWords;
+        if (lowerCaseWordsCache != null) {
+            lowerCaseWordsCache.remove(fieldName);
+        }
     }
 
     public Optional<String> getLatexFreeField(String name) {
         if (!hasField(name)) {
             return Optional.empty();
-        } else if (latexFreeFields.containsKey(name)) {
-            return Optional.ofNullable(latexFreeFields.get(toLowerCase(name)));
-        } else {
-            String latexFreeField = unicodeConverter.format(getField(name).get()).intern();
-            latexFreeFields.put(name, latexFreeField);
-            return Optional.of(latexFreeField);
         }
+
+        Map<String, String> cache = latexFreeFields;
+        String latexFreeField = cache == null ? null : cache.get(toLowerCase(name));
+        if (latexFreeField == null) {
+            latexFreeField = UNICODE_CONVERTER.format(getField(name).get()).intern();
+            getLatexFreeFieldsCache().put(toLowerCase(name), latexFreeField);
+        }
+        return Optional.of(latexFreeField);
     }
 }
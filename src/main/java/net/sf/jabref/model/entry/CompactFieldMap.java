@@ -0,0 +1,182 @@
+package net.sf.jabref.model.entry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory efficient map from field names to field values of a {@link BibEntry}.
+ * <p>
+ * An entry typically has less than 20 fields, so names and values are stored alternately in a single array which is
+ * searched linearly. Field names are canonicalized through a table shared by all entries, thus each name is stored
+ * once and is usually found by identity.
+ * <p>
+ * Modifications replace the array, thus reads are lock-free and iterators work on the state at their creation, like
+ * the weakly consistent iterators of the {@link ConcurrentHashMap} previously used.
+ */
+final class CompactFieldMap extends AbstractMap<String, String> {
+
+    private static final Map<String, String> FIELD_NAMES = new ConcurrentHashMap<>();
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * Alternating names and values
+     */
+    private volatile Object[] data = EMPTY;
+
+
+    CompactFieldMap() {
+        // empty
+    }
+
+    CompactFieldMap(Map<String, String> fields) {
+        putAll(fields);
+    }
+
+    /**
+     * Returns the canonical instance of the given field name
+     */
+    static String canonicalName(String name) {
+        String canonical = FIELD_NAMES.putIfAbsent(name, name);
+        return canonical == null ? name : canonical;
+    }
+
+    private static int indexOf(Object[] array, Object name) {
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == name) {
+                return i;
+            }
+        }
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return data.length / 2;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return (name != null) && (indexOf(data, name) >= 0);
+    }
+
+    @Override
+    public String get(Object name) {
+        if (name == null) {
+            return null;
+        }
+        Object[] array = data;
+        int index = indexOf(array, name);
+        return index < 0 ? null : (String) array[index + 1];
+    }
+
+    @Override
+    public synchronized String put(String name, String value) {
+        if ((name == null) || (value == null)) {
+            throw new NullPointerException();
+        }
+
+        Object[] array = data;
+        int index = indexOf(array, name);
+        if (index >= 0) {
+            String oldValue = (String) array[index + 1];
+            Object[] newArray = array.clone();
+            newArray[index + 1] = value;
+            data = newArray;
+            return oldValue;
+        }
+
+        Object[] newArray = Arrays.copyOf(array, array.length + 2);
+        newArray[array.length] = canonicalName(name);
+        newArray[array.length + 1] = value;
+        data = newArray;
+        return null;
+    }
+
+    @Override
+    public synchronized String remove(Object name) {
+        if (name == null) {
+            return null;
+        }
+
+        Object[] array = data;
+        int index = indexOf(array, name);
+        if (index < 0) {
+            return null;
+        }
+        Object[] newArray = new Object[array.length - 2];
+        System.arraycopy(array, 0, newArray, 0, index);
+        System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+        data = newArray;
+        return (String) array[index + 1];
+    }
+
+    @Override
+    public synchronized void clear() {
+        data = EMPTY;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new EntryIterator(data);
+            }
+
+            @Override
+            public int size() {
+                return CompactFieldMap.this.size();
+            }
+        };
+    }
+
+
+    private class EntryIterator implements Iterator<Map.Entry<String, String>> {
+
+        private final Object[] array;
+        private int index;
+        private String lastName;
+
+
+        EntryIterator(Object[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < array.length;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastName = (String) array[index];
+            Map.Entry<String, String> entry = new SimpleImmutableEntry<>(lastName, (String) array[index + 1]);
+            index += 2;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastName == null) {
+                throw new IllegalStateException();
+            }
+            CompactFieldMap.this.remove(lastName);
+            lastName = null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.sf.jabref.model.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Typed listeners which are notified of events in the order of their registration.
+ * <p>
+ * In contrast to an {@link com.google.common.eventbus.EventBus}, the listeners are called directly through their
+ * interface: no subscriber methods are looked up and posting an event allocates nothing, unless a listener is notified
+ * asynchronously. Like an event bus, an exception thrown by one listener is logged and does not keep the other
+ * listeners from being notified.
+ * <p>
+ * Listeners may be added and removed while an event is posted, the event is delivered to the listeners registered
+ * when posting started.
+ *
+ * @param <L> the type of the listeners
+ */
+public class ListenerList<L> {
+
+    private static final Log LOGGER = LogFactory.getLog(ListenerList.class);
+
+    // copied on write, thus posting needs no lock
+    private volatile List<Registration<L>> registrations = Collections.emptyList();
+
+
+    /**
+     * Adds a listener which is notified in the thread posting the event.
+     */
+    public void add(L listener) {
+        add(listener, null);
+    }
+
+    /**
+     * Adds a listener which is notified by the given executor, for instance in a background thread. The events reach
+     * the listener in the order they were posted if the executor runs its tasks one after the other.
+     *
+     * @param executor the executor delivering the events, or null to notify the listener in the posting thread
+     */
+    public synchronized void add(L listener, Executor executor) {
+        Objects.requireNonNull(listener);
+        List<Registration<L>> newRegistrations = new ArrayList<>(registrations.size() + 1);
+        newRegistrations.addAll(registrations);
+        newRegistrations.add(new Registration<>(listener, executor));
+        registrations = newRegistrations;
+    }
+
+    /**
+     * Removes all registrations of the given listener.
+     */
+    public synchronized void remove(L listener) {
+        List<Registration<L>> newRegistrations = new ArrayList<>(registrations.size());
+        for (Registration<L> registration : registrations) {
+            if (registration.listener != listener) {
+                newRegistrations.add(registration);
+            }
+        }
+        registrations = newRegistrations.isEmpty() ? Collections.emptyList() : newRegistrations;
+    }
+
+    public boolean isEmpty() {
+        return registrations.isEmpty();
+    }
+
+    /**
+     * Notifies all listeners of the given event.
+     *
+     * @param method the method of the listeners receiving the event, e.g. <code>Listener::listen</code>
+     */
+    public <E> void post(E event, BiConsumer<? super L, ? super E> method) {
+        List<Registration<L>> currentRegistrations = registrations;
+        for (int i = 0; i < currentRegistrations.size(); i++) {
+            Registration<L> registration = currentRegistrations.get(i);
+            if (registration.executor == null) {
+                notify(registration.listener, event, method);
+            } else {
+                registration.executor.execute(() -> notify(registration.listener, event, method));
+            }
+        }
+    }
+
+    private static <L, E> void notify(L listener, E event, BiConsumer<? super L, ? super E> method) {
+        try {
+            method.accept(listener, event);
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not notify " + listener + " of " + event, e);
+        }
+    }
+
+
+    private static class Registration<L> {
+
+        private final L listener;
+        private final Executor executor;
+
+
+        Registration(L listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.sf.jabref.model.groups;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -27,6 +28,7 @@ public class KeywordGroup extends AbstractGroup {
     private final boolean regExp;
     private Pattern pattern;
     private final List<String> searchWords;
+    private final Set<String> lowerCaseSearchWords;
     protected final Character keywordSeparator;
 
     private static final Log LOGGER = LogFactory.getLog(KeywordGroup.class);
@@ -48,6 +50,10 @@ public class KeywordGroup extends AbstractGroup {
         }
         this.keywordSeparator = keywordSeparator;
         this.searchWords = StringUtil.getStringAsWords(searchExpression);
+        this.lowerCaseSearchWords = new HashSet<>();
+        for (String searchWord : searchWords) {
+            lowerCaseSearchWords.add(searchWord.toLowerCase());
+        }
     }
 
     private void compilePattern() throws IllegalArgumentException {
@@ -171,25 +177,7 @@ public class KeywordGroup extends AbstractGroup {
         if (caseSensitive) {
             return words.containsAll(searchWords);
         }
-        return containsCaseInsensitive(searchWords, words);
-    }
-
-    private boolean containsCaseInsensitive(List<String> searchText, Set<String> words) {
-        for (String searchWord : searchText) {
-            if (!containsCaseInsensitive(searchWord, words)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private boolean containsCaseInsensitive(String text, Set<String> words) {
-        for (String word : words) {
-            if (word.equalsIgnoreCase(text)) {
-                return true;
-            }
-        }
-        return false;
+        return entry.getFieldAsLowerCaseWords(searchField).containsAll(lowerCaseSearchWords);
     }
 
     /**
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import net.sf.jabref.model.bibtexkeypattern.AbstractBibtexKeyPattern;
 import net.sf.jabref.model.bibtexkeypattern.DatabaseBibtexKeyPattern;
@@ -14,9 +15,11 @@ import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
 import net.sf.jabref.model.cleanup.FieldFormatterCleanups;
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.FieldName;
+import net.sf.jabref.model.event.ListenerList;
 import net.sf.jabref.model.groups.GroupTreeNode;
 import net.sf.jabref.model.groups.event.GroupUpdatedEvent;
 import net.sf.jabref.model.metadata.event.MetaDataChangedEvent;
+import net.sf.jabref.model.metadata.event.MetaDataListener;
 
 import com.google.common.eventbus.EventBus;
 
@@ -35,7 +38,9 @@ public class MetaData {
     public static final char SEPARATOR_CHARACTER = ';';
     public static final String SEPARATOR_STRING = String.valueOf(SEPARATOR_CHARACTER);
 
-    private final EventBus eventBus = new EventBus();
+    private final ListenerList<MetaDataListener> listeners = new ListenerList<>();
+    // created when the first subscriber registers
+    private volatile EventBus eventBus;
     private GroupTreeNode groupsRoot;
     private Charset encoding;
     private SaveOrderConfig saveOrderConfig;
@@ -73,8 +78,8 @@ public class MetaData {
      */
     public void setGroups(GroupTreeNode root) {
         groupsRoot = Objects.requireNonNull(root);
-        groupsRoot.subscribeToDescendantChanged(groupTreeNode -> eventBus.post(new GroupUpdatedEvent(this)));
-        eventBus.post(new GroupUpdatedEvent(this));
+        groupsRoot.subscribeToDescendantChanged(groupTreeNode -> postEvent(new GroupUpdatedEvent(this)));
+        postEvent(new GroupUpdatedEvent(this));
     }
 
     /**
@@ -195,10 +200,19 @@ public class MetaData {
     }
 
     /**
-     * Posts a new {@link MetaDataChangedEvent} on the {@link EventBus}.
+     * Notifies the listeners and posts a new {@link MetaDataChangedEvent} on the {@link EventBus}.
      */
     private void postChange() {
-        eventBus.post(new MetaDataChangedEvent(this));
+        MetaDataChangedEvent event = new MetaDataChangedEvent(this);
+        listeners.post(event, MetaDataListener::listen);
+        postEvent(event);
+    }
+
+    private void postEvent(Object event) {
+        EventBus bus = eventBus;
+        if (bus != null) {
+            bus.post(event);
+        }
     }
 
     /**
@@ -214,11 +228,42 @@ public class MetaData {
     }
 
     public void registerListener(Object listener) {
-        this.eventBus.register(listener);
+        EventBus bus = eventBus;
+        if (bus == null) {
+            synchronized (this) {
+                if (eventBus == null) {
+                    eventBus = new EventBus();
+                }
+                bus = eventBus;
+            }
+        }
+        bus.register(listener);
     }
 
     public void unregisterListener(Object listener) {
-        this.eventBus.unregister(listener);
+        EventBus bus = eventBus;
+        if (bus != null) {
+            bus.unregister(listener);
+        }
+    }
+
+    /**
+     * Adds a listener which is called directly on every {@link MetaDataChangedEvent}, before the subscribers
+     * registered with {@link #registerListener(Object)} are notified.
+     */
+    public void addListener(MetaDataListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener which is notified by the given executor, for instance in a background thread.
+     */
+    public void addListener(MetaDataListener listener, Executor executor) {
+        listeners.add(listener, executor);
+    }
+
+    public void removeListener(MetaDataListener listener) {
+        listeners.remove(listener);
     }
 
     private Optional<String> getDefaultCiteKeyPattern() {
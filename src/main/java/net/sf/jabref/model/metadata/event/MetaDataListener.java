@@ -0,0 +1,13 @@
+package net.sf.jabref.model.metadata.event;
+
+import net.sf.jabref.model.metadata.MetaData;
+
+/**
+ * Listener of the changes of {@link MetaData}, notified directly instead of through an event bus (see
+ * {@link MetaData#addListener(MetaDataListener)}).
+ */
+@FunctionalInterface
+public interface MetaDataListener {
+
+    void listen(MetaDataChangedEvent event);
+}
@@ -1,209 +1,352 @@
 package net.sf.jabref.model.strings;
 
+import java.util.Arrays;
 import java.util.Map;
-import java.util.regex.Pattern;
 
+/**
+ * Converts LaTeX commands and accents to their unicode characters.
+ * <p>
+ * The text is scanned once to escape ampersands, line breaks and dollars, once to convert the commands and once to
+ * unescape the result. Commands and their arguments are looked up in a trie directly in the scanned text, thus no
+ * strings are created for commands or arguments.
+ */
 public class LatexToUnicode {
 
-    private static final Map<String, String> CHARS = HTMLUnicodeConversionMaps.LATEX_UNICODE_CONVERSION_MAP;
-    private static final Map<String, String> ACCENTS = HTMLUnicodeConversionMaps.UNICODE_ESCAPED_ACCENTS;
+    private static final CommandTrie CHARS = new CommandTrie(HTMLUnicodeConversionMaps.LATEX_UNICODE_CONVERSION_MAP);
+    private static final CommandTrie ACCENTS = new CommandTrie(HTMLUnicodeConversionMaps.UNICODE_ESCAPED_ACCENTS);
 
-    private static final Pattern AMP_LATEX = Pattern.compile("&|\\\\&");
-    private static final Pattern P_LATEX = Pattern.compile("[\\n]{1,}");
-    private static final Pattern DOLLAR_LATEX = Pattern.compile("\\\\\\$");
-    private static final Pattern DOLLARS_LATEX = Pattern.compile("\\$([^\\$]*)\\$");
-
-    private static final Pattern AMP = Pattern.compile("\\&amp;");
-    private static final Pattern P = Pattern.compile("<p>");
-    private static final Pattern DOLLAR = Pattern.compile("\\&dollar;");
-    private static final Pattern TILDE = Pattern.compile("~");
+    private static final String AMP = "&amp;";
+    private static final String P = "<p>";
+    private static final String DOLLAR = "&dollar;";
 
     public String format(String inField) {
         if (inField.isEmpty()) {
             return "";
         }
-        int i;
-        // TODO: document what does this do
-        String field = AMP_LATEX.matcher(inField).replaceAll("&amp;");
-        field = P_LATEX.matcher(field).replaceAll("<p>");
-        field = DOLLAR_LATEX.matcher(field).replaceAll("&dollar;");
-        field = DOLLARS_LATEX.matcher(field).replaceAll("\\{$1\\}");
+        String field = escape(inField);
 
-        StringBuilder sb = new StringBuilder();
-        StringBuilder currentCommand = null;
+        StringBuilder sb = new StringBuilder(field.length());
+        // the current command is the text from commandStart up to the current character
+        int commandStart = 0;
 
         char c;
         boolean escaped = false;
         boolean incommand = false;
 
-        for (i = 0; i < field.length(); i++) {
+        for (int i = 0; i < field.length(); i++) {
             c = field.charAt(i);
             if (escaped && (c == '\\')) {
                 sb.append('\\');
                 escaped = false;
+                commandStart = i + 1;
             } else if (c == '\\') {
                 if (incommand) {
                     /* Close Command */
-                    String command = currentCommand.toString();
-                    String result = CHARS.get(command);
-                    if (result == null) {
-                        sb.append(command);
-                    } else {
-                        sb.append(result);
-                    }
-
+                    appendCommand(sb, field, commandStart, i);
                 }
                 escaped = true;
                 incommand = true;
-                currentCommand = new StringBuilder();
+                commandStart = i + 1;
             } else if (!incommand && ((c == '{') || (c == '}'))) {
                 // Swallow the brace.
-            } else if (Character.isLetter(c) || (c == '%')
-                    || StringUtil.SPECIAL_COMMAND_CHARS.contains(String.valueOf(c))) {
+            } else if (Character.isLetter(c) || (c == '%') || isSpecialCommandChar(c)) {
                 escaped = false;
 
                 if (!incommand) {
                     sb.append(c);
-                } else {
-                    currentCommand.append(c);
-                    if ((currentCommand.length() == 1)
-                            && StringUtil.SPECIAL_COMMAND_CHARS.contains(currentCommand.toString())
-                            && !(i >= (field.length() - 1))) {
-                        // This indicates that we are in a command of the type
-                        // \^o or \~{n}
-
-                        String command = currentCommand.toString();
-                        i++;
-                        c = field.charAt(i);
-                        String commandBody;
-                        if (c == '{') {
-                            String part = StringUtil.getPart(field, i, false);
-                            i += part.length();
-                            commandBody = part;
-                        } else {
-                            commandBody = field.substring(i, i + 1);
-                        }
-                        String result = CHARS.get(command + commandBody);
-
-                        if (result == null) {
-                            // Use combining accents if argument is single character or empty
-                            if (commandBody.length() <= 1) {
-                                String accent = ACCENTS.get(command);
-                                if (accent == null) {
-                                    // Shouldn't happen
-                                    sb.append(commandBody);
-                                } else {
-                                    sb.append(commandBody).append(accent);
-                                }
-                            }
-                        } else {
-                            sb.append(result);
-                        }
+                } else if ((i == commandStart) && isSpecialCommandChar(c) && !(i >= (field.length() - 1))) {
+                    // This indicates that we are in a command of the type
+                    // \^o or \~{n}
+                    i++;
+                    int bodyStart = i;
+                    int bodyEnd = i + 1;
+                    if (field.charAt(i) == '{') {
+                        bodyStart = skipWhitespace(field, i + 1);
+                        bodyEnd = getPartEnd(field, bodyStart, false);
+                        i += bodyEnd - bodyStart;
+                    }
+                    String result = CHARS.get(field, commandStart, commandStart + 1, bodyStart, bodyEnd);
 
-                        incommand = false;
-                        escaped = false;
-                    } else {
-                        //  Are we already at the end of the string?
-                        if ((i + 1) == field.length()) {
-                            String command = currentCommand.toString();
-                            String result = CHARS.get(command);
-                            /* If found, then use translated version. If not,
-                             * then keep
-                             * the text of the parameter intact.
-                             */
-                            if (result == null) {
-                                sb.append(command);
-                            } else {
-                                sb.append(result);
+                    if (result == null) {
+                        // Use combining accents if argument is single character or empty
+                        if ((bodyEnd - bodyStart) <= 1) {
+                            sb.append(field, bodyStart, bodyEnd);
+                            String accent = ACCENTS.get(field, commandStart, commandStart + 1, 0, 0);
+                            if (accent != null) {
+                                sb.append(accent);
                             }
-
                         }
+                    } else {
+                        sb.append(result);
                     }
+
+                    incommand = false;
+                    escaped = false;
+                } else if ((i + 1) == field.length()) {
+                    //  We are at the end of the string
+                    appendCommand(sb, field, commandStart, i + 1);
                 }
             } else {
                 if (!incommand) {
                     sb.append(c);
-                } else if (Character.isWhitespace(c) || (c == '{') || (c == '}')) {
-                    // First test if we are already at the end of the string.
-                    // if (i >= field.length()-1)
-                    // break testContent;
-
-                    String command = currentCommand.toString();
-
-                    if (c == '{') {
-                        String argument = StringUtil.getPart(field, i, true);
-                        i += argument.length();
-                        // handle common case of general latex command
-                        String result = CHARS.get(command + argument);
-
-                        // If found, then use translated version. If not, then keep
-                        // the
-                        // text of the parameter intact.
-                        if (result == null) {
-                            // Use combining accents if argument is single character or empty
-                            if (argument.length() <= 1) {
-                                String accent = ACCENTS.get(command);
-                                if (accent == null) {
-                                    if (argument.isEmpty()) {
-                                        // Empty argument, may be used as separator as in \LaTeX{}, so keep the command
-                                        sb.append(command);
-                                    } else {
-                                        sb.append(argument);
-                                    }
-                                } else {
-                                    sb.append(argument).append(accent);
-                                }
-                            } else {
-                                sb.append(argument);
-                            }
-                        } else {
-                            sb.append(result);
-                        }
-                    } else if (c == '}') {
-                        // This end brace terminates a command. This can be the case in
-                        // constructs like {\aa}. The correct behaviour should be to
-                        // substitute the evaluated command and swallow the brace:
-                        String result = CHARS.get(command);
-
-                        if (result == null) {
-                            // If the command is unknown, just print it:
-                            sb.append(command);
-                        } else {
-                            sb.append(result);
-                        }
+                } else if (c == '{') {
+                    int commandEnd = i;
+                    int argumentStart = skipWhitespace(field, i + 1);
+                    int argumentEnd = getPartEnd(field, argumentStart, true);
+                    i += argumentEnd - argumentStart;
+                    // handle common case of general latex command
+                    String result = CHARS.get(field, commandStart, commandEnd, argumentStart, argumentEnd);
 
+                    // If found, then use translated version. If not, then keep the text of the parameter intact.
+                    if (result == null) {
+                        appendArgument(sb, field, commandStart, commandEnd, argumentStart, argumentEnd);
                     } else {
-                        String result = CHARS.get(command);
-
-                        if (result == null) {
-                            sb.append(command);
-                        } else {
-                            sb.append(result);
-                        }
-                        sb.append(' ');
+                        sb.append(result);
                     }
-                } else {
-                    /*
-                     * TODO: this point is reached, apparently, if a command is
-                     * terminated in a strange way, such as with "$\omega$".
-                     * Also, the command "\&" causes us to get here. The former
-                     * issue is maybe a little difficult to address, since it
-                     * involves the LaTeX math mode. We don't have a complete
-                     * LaTeX parser, so maybe it's better to ignore these
-                     * commands?
-                     */
+                } else if (c == '}') {
+                    // This end brace terminates a command. This can be the case in
+                    // constructs like {\aa}. The correct behaviour should be to
+                    // substitute the evaluated command and swallow the brace.
+                    appendCommand(sb, field, commandStart, i);
+                } else if (Character.isWhitespace(c)) {
+                    appendCommand(sb, field, commandStart, i);
+                    sb.append(' ');
                 }
+                /*
+                 * Otherwise, the command is terminated in a strange way, such as with "$\omega$".
+                 * Also, the command "\&" causes us to get here. We don't have a complete
+                 * LaTeX parser, thus these commands are ignored.
+                 */
 
                 incommand = false;
                 escaped = false;
             }
         }
 
-        String result = AMP.matcher(sb.toString()).replaceAll("&");
-        result = P.matcher(result).replaceAll("\n");
-        result = DOLLAR.matcher(result).replaceAll("\\$");
-        result = TILDE.matcher(result).replaceAll("\u00A0");
+        return unescape(sb);
+    }
+
+    /**
+     * Appends the translation of the given command, or the command itself if it is unknown.
+     */
+    private static void appendCommand(StringBuilder sb, String field, int commandStart, int commandEnd) {
+        String result = CHARS.get(field, commandStart, commandEnd, 0, 0);
+        if (result == null) {
+            sb.append(field, commandStart, commandEnd);
+        } else {
+            sb.append(result);
+        }
+    }
+
+    /**
+     * Appends the argument of an unknown command, with the accent of the command if there is one.
+     */
+    private static void appendArgument(StringBuilder sb, String field, int commandStart, int commandEnd,
+            int argumentStart, int argumentEnd) {
+        if ((argumentEnd - argumentStart) <= 1) {
+            // Use combining accents if argument is single character or empty
+            String accent = ACCENTS.get(field, commandStart, commandEnd, 0, 0);
+            if (accent != null) {
+                sb.append(field, argumentStart, argumentEnd).append(accent);
+            } else if (argumentStart == argumentEnd) {
+                // Empty argument, may be used as separator as in \LaTeX{}, so keep the command
+                sb.append(field, commandStart, commandEnd);
+            } else {
+                sb.append(field, argumentStart, argumentEnd);
+            }
+        } else {
+            sb.append(field, argumentStart, argumentEnd);
+        }
+    }
+
+    private static boolean isSpecialCommandChar(char c) {
+        return StringUtil.SPECIAL_COMMAND_CHARS.indexOf(c) >= 0;
+    }
+
+    private static int skipWhitespace(String text, int index) {
+        int result = index;
+        while ((result < text.length()) && Character.isWhitespace(text.charAt(result))) {
+            result++;
+        }
         return result;
+    }
+
+    /**
+     * Returns the end of the part starting at the given index, see {@link StringUtil#getPart(String, int, boolean)}.
+     */
+    private static int getPartEnd(String text, int index, boolean terminateOnEndBraceOnly) {
+        int count = 0;
+        int end = index;
+        while (end < text.length()) {
+            char c = text.charAt(end);
+            if (!terminateOnEndBraceOnly && (count == 0) && Character.isWhitespace(c)) {
+                // end argument and leave whitespace for further processing
+                break;
+            }
+            if ((c == '}') && (--count < 0)) {
+                break;
+            } else if (c == '{') {
+                count++;
+            }
+            end++;
+        }
+        return end;
+    }
 
+    /**
+     * Escapes ampersands, line breaks and escaped dollars, and replaces each pair of dollars by braces.
+     */
+    private static String escape(String field) {
+        int dollars = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if ((field.charAt(i) == '$') && ((i == 0) || (field.charAt(i - 1) != '\\'))) {
+                dollars++;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(field.length() + 16);
+        boolean inMath = false;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            char next = (i + 1) < field.length() ? field.charAt(i + 1) : 0;
+            if ((c == '&') || ((c == '\\') && (next == '&'))) {
+                sb.append(AMP);
+                if (c == '\\') {
+                    i++;
+                }
+            } else if ((c == '\\') && (next == '$')) {
+                sb.append(DOLLAR);
+                i++;
+            } else if (c == '\n') {
+                sb.append(P);
+                while (((i + 1) < field.length()) && (field.charAt(i + 1) == '\n')) {
+                    i++;
+                }
+            } else if (c == '$') {
+                if (inMath) {
+                    sb.append('}');
+                    inMath = false;
+                } else if (dollars > 1) {
+                    sb.append('{');
+                    inMath = true;
+                } else {
+                    // a single dollar is kept
+                    sb.append(c);
+                }
+                dollars--;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reverts {@link #escape(String)} and replaces tildes by non-breaking spaces.
+     */
+    private static String unescape(CharSequence text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (startsWith(text, i, AMP)) {
+                i += AMP.length() - 1;
+                if (startsWith(text, i + 1, DOLLAR.substring(1))) {
+                    // "&amp;dollar;" becomes "&dollar;" and thus "$"
+                    sb.append('$');
+                    i += DOLLAR.length() - 1;
+                } else {
+                    sb.append('&');
+                }
+            } else if (startsWith(text, i, DOLLAR)) {
+                sb.append('$');
+                i += DOLLAR.length() - 1;
+            } else if (startsWith(text, i, P)) {
+                sb.append('\n');
+                i += P.length() - 1;
+            } else if (c == '~') {
+                sb.append('\u00A0');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean startsWith(CharSequence text, int index, String prefix) {
+        if ((index + prefix.length()) > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(index + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Maps the commands of a conversion map to their translation. Keys can be looked up as the concatenation of two
+     * ranges of a text, for example a command and its argument.
+     */
+    private static final class CommandTrie {
+
+        private char[] keys = new char[0];
+        private CommandTrie[] children = new CommandTrie[0];
+        private String value;
+
+
+        private CommandTrie() {
+        }
+
+        CommandTrie(Map<String, String> map) {
+            map.forEach(this::put);
+        }
+
+        private void put(String key, String newValue) {
+            CommandTrie node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.getOrAddChild(key.charAt(i));
+            }
+            node.value = newValue;
+        }
+
+        private CommandTrie getOrAddChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            CommandTrie[] newChildren = new CommandTrie[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            newKeys[insertion] = c;
+            newChildren[insertion] = new CommandTrie();
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertion];
+        }
+
+        /**
+         * Returns the value of the key text[start, end) + text[secondStart, secondEnd), or null if there is none.
+         */
+        String get(String text, int start, int end, int secondStart, int secondEnd) {
+            CommandTrie node = this;
+            for (int i = start; (i < end) && (node != null); i++) {
+                node = node.getChild(text.charAt(i));
+            }
+            for (int i = secondStart; (i < secondEnd) && (node != null); i++) {
+                node = node.getChild(text.charAt(i));
+            }
+            return node == null ? null : node.value;
+        }
+
+        private CommandTrie getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
     }
 }
@@ -5,14 +5,19 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import net.sf.jabref.model.entry.BibEntry;
@@ -29,11 +34,25 @@ public abstract class DBMSProcessor {
 
     protected static final Log LOGGER = LogFactory.getLog(DBMSProcessor.class);
 
+    /**
+     * Maximum number of rows written by a single multi-row INSERT
+     */
+    protected static final int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * Maximum number of entries fetched by a single query, Oracle allows up to 1000 expressions in an IN list
+     */
+    protected static final int SELECT_BATCH_SIZE = 500;
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
 
     protected final Connection connection;
 
     protected DBMSConnectionProperties connectionProperties;
 
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
     public static final String PROCESSOR_ID = UUID.randomUUID().toString();
 
 
@@ -131,44 +150,106 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be inserted
      */
     public void insertEntry(BibEntry bibEntry) {
-        if (!checkForBibEntryExistence(bibEntry)) {
-            insertIntoEntryTable(bibEntry);
-            insertIntoFieldTable(bibEntry);
+        insertEntries(Collections.singletonList(bibEntry));
+    }
+
+    /**
+     * Inserts the given bibEntries into shared database within one transaction.
+     * Entries which already exist on shared database are skipped.
+     *
+     * @param bibEntries {@link BibEntry} instances to be inserted
+     * @return the entries which have actually been inserted
+     */
+    public List<BibEntry> insertEntries(List<BibEntry> bibEntries) {
+        List<BibEntry> notExistingEntries = new ArrayList<>();
+        for (BibEntry bibEntry : bibEntries) {
+            if (!checkForBibEntryExistence(bibEntry)) {
+                notExistingEntries.add(bibEntry);
+            }
+        }
+        if (notExistingEntries.isEmpty()) {
+            return notExistingEntries;
         }
 
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try {
+                insertIntoEntryTable(notExistingEntries);
+                insertIntoFieldTable(notExistingEntries);
+                connection.commit(); // apply all changes in current transaction
+                return notExistingEntries;
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+                connection.rollback(); // undo changes made in current transaction
+                for (BibEntry bibEntry : notExistingEntries) {
+                    bibEntry.getSharedBibEntryData().setSharedID(-1); // generated IDs are not valid anymore
+                }
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
+        return Collections.emptyList();
     }
 
     /**
-     * Inserts the given bibEntry into ENTRY table.
+     * Inserts the given bibEntries into ENTRY table and sets the generated IDs locally.
+     * Up to {@link #INSERT_BATCH_SIZE} entries are inserted with a single multi-row INSERT.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param bibEntries {@link BibEntry} instances to be inserted
      */
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
-        // Inserting into ENTRY table
-        StringBuilder insertIntoEntryQuery = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("ENTRY"))
-                .append("(")
-                .append(escape("TYPE"))
-                .append(") VALUES(?)");
-
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                new String[] {"SHARED_ID"})) {
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        PreparedStatement fullBatchStatement = null;
+        try {
+            for (int start = 0; start < bibEntries.size(); start += INSERT_BATCH_SIZE) {
+                List<BibEntry> batch = bibEntries.subList(start, Math.min(start + INSERT_BATCH_SIZE, bibEntries.size()));
 
-            preparedEntryStatement.setString(1, bibEntry.getType());
-            preparedEntryStatement.executeUpdate();
+                PreparedStatement preparedEntryStatement;
+                if (batch.size() == INSERT_BATCH_SIZE) {
+                    if (fullBatchStatement == null) {
+                        fullBatchStatement = prepareEntryInsertStatement(getInsertQuery("ENTRY", INSERT_BATCH_SIZE, "TYPE"));
+                    }
+                    preparedEntryStatement = fullBatchStatement;
+                } else {
+                    preparedEntryStatement = prepareEntryInsertStatement(getInsertQuery("ENTRY", batch.size(), "TYPE"));
+                }
 
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        preparedEntryStatement.setString(i + 1, batch.get(i).getType());
+                    }
+                    preparedEntryStatement.executeUpdate();
+
+                    // the keys are returned in the order of the inserted rows
+                    try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                        for (BibEntry bibEntry : batch) {
+                            if (generatedKeys.next()) {
+                                bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                            }
+                        }
+                    }
+                } finally {
+                    if (preparedEntryStatement != fullBatchStatement) {
+                        preparedEntryStatement.close();
+                    }
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+        } finally {
+            if (fullBatchStatement != null) {
+                fullBatchStatement.close();
+            }
         }
     }
 
+    /**
+     * Prepares the given INSERT statement on ENTRY table so that the generated SHARED_ID values can be retrieved.
+     */
+    protected PreparedStatement prepareEntryInsertStatement(String query) throws SQLException {
+        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
+        return connection.prepareStatement(query, new String[] {"SHARED_ID"});
+    }
+
     /**
      * Checks whether the given bibEntry already exists on shared database.
      * @param bibEntry {@link BibEntry} to be checked
@@ -202,64 +283,135 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Inserts the given bibEntry into FIELD table.
+     * Inserts all fields of the given bibEntries into FIELD table.
+     * Up to {@link #INSERT_BATCH_SIZE} fields are inserted with a single multi-row INSERT.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param bibEntries {@link BibEntry} instances to be inserted
      */
-    private void insertIntoFieldTable(BibEntry bibEntry) {
+    protected void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        // the number of rows has to be known in advance, thus work on copies of the fields
+        List<Map<String, String>> fieldMaps = new ArrayList<>(bibEntries.size());
+        int remainingRows = 0;
+        for (BibEntry bibEntry : bibEntries) {
+            Map<String, String> fieldMap = new TreeMap<>(bibEntry.getFieldMap());
+            fieldMaps.add(fieldMap);
+            remainingRows += fieldMap.size();
+        }
+
+        PreparedStatement fullBatchStatement = null;
+        PreparedStatement preparedFieldStatement = null;
+        int batchSize = 0;
+        int row = 0;
         try {
-            // Inserting into FIELD table
-            for (String fieldName : bibEntry.getFieldNames()) {
-                StringBuilder insertFieldQuery = new StringBuilder()
-                    .append("INSERT INTO ")
-                    .append(escape("FIELD"))
-                    .append("(")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(", ")
-                    .append(escape("NAME"))
-                    .append(", ")
-                    .append(escape("VALUE"))
-                    .append(") VALUES(?, ?, ?)");
-
-                try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+            for (int i = 0; i < bibEntries.size(); i++) {
+                int sharedID = bibEntries.get(i).getSharedBibEntryData().getSharedID();
+                for (Map.Entry<String, String> field : fieldMaps.get(i).entrySet()) {
+                    if (row == 0) {
+                        batchSize = Math.min(INSERT_BATCH_SIZE, remainingRows);
+                        if (batchSize == INSERT_BATCH_SIZE) {
+                            if (fullBatchStatement == null) {
+                                fullBatchStatement = connection.prepareStatement(
+                                        getInsertQuery("FIELD", INSERT_BATCH_SIZE, "ENTRY_SHARED_ID", "NAME", "VALUE"));
+                            }
+                            preparedFieldStatement = fullBatchStatement;
+                        } else {
+                            preparedFieldStatement = connection
+                                    .prepareStatement(getInsertQuery("FIELD", batchSize, "ENTRY_SHARED_ID", "NAME", "VALUE"));
+                        }
+                    }
+
                     // columnIndex starts with 1
-                    preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
-                    preparedFieldStatement.setString(2, fieldName);
-                    preparedFieldStatement.setString(3, bibEntry.getField(fieldName).get());
-                    preparedFieldStatement.executeUpdate();
+                    preparedFieldStatement.setInt((3 * row) + 1, sharedID);
+                    preparedFieldStatement.setString((3 * row) + 2, field.getKey());
+                    preparedFieldStatement.setString((3 * row) + 3, field.getValue());
+                    row++;
+
+                    if (row == batchSize) {
+                        preparedFieldStatement.executeUpdate();
+                        remainingRows -= batchSize;
+                        row = 0;
+                        if (preparedFieldStatement != fullBatchStatement) {
+                            preparedFieldStatement.close();
+                        }
+                        preparedFieldStatement = null;
+                    }
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+        } finally {
+            if ((preparedFieldStatement != null) && (preparedFieldStatement != fullBatchStatement)) {
+                preparedFieldStatement.close();
+            }
+            if (fullBatchStatement != null) {
+                fullBatchStatement.close();
+            }
+        }
+    }
+
+    /**
+     * Builds an INSERT statement for the given number of rows, e.g. <code>INSERT INTO "FIELD"("NAME", "VALUE") VALUES(?, ?), (?, ?)</code>.
+     *
+     * @param table Table name
+     * @param rows Number of rows to be inserted
+     * @param columns Column names
+     */
+    protected String getInsertQuery(String table, int rows, String... columns) {
+        StringBuilder valuesTuple = new StringBuilder("(");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                valuesTuple.append(", ");
+            }
+            valuesTuple.append('?');
+        }
+        valuesTuple.append(')');
+
+        StringBuilder insertQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape(table))
+                .append("(");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                insertQuery.append(", ");
+            }
+            insertQuery.append(escape(columns[i]));
+        }
+        insertQuery.append(") VALUES");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                insertQuery.append(", ");
+            }
+            insertQuery.append(valuesTuple);
         }
+        return insertQuery.toString();
     }
 
     /**
      * Updates the whole {@link BibEntry} on shared database.
      *
      * @param localBibEntry {@link BibEntry} affected by changes
+     * @return <code>true</code> if the update has been committed, <code>false</code> if the entry does not exist on
+     *          shared database or the update failed
      * @throws SQLException
      */
-    public void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
+    public boolean updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
         connection.setAutoCommit(false); // disable auto commit due to transaction
 
         try {
             Optional<BibEntry> sharedEntryOptional = getSharedEntry(localBibEntry.getSharedBibEntryData().getSharedID());
 
             if (!sharedEntryOptional.isPresent()) {
-                return;
+                return false;
             }
 
             BibEntry sharedBibEntry = sharedEntryOptional.get();
 
-            // remove shared fields which do not exist locally
-            removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
-
             // update only if local version is higher or the entries are equal
             if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
                     .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
 
-                insertOrUpdateFields(localBibEntry);
+                // remove shared fields which do not exist locally
+                removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
+
+                insertOrUpdateFields(localBibEntry, sharedBibEntry);
 
                 // updating entry type
                 StringBuilder updateEntryTypeQuery = new StringBuilder()
@@ -283,12 +435,16 @@ public abstract class DBMSProcessor {
 
                 connection.commit(); // apply all changes in current transaction
 
+                // the local entry is now as recent as the shared one, so it does not need to be fetched again
+                localBibEntry.getSharedBibEntryData().setVersion(sharedBibEntry.getSharedBibEntryData().getVersion() + 1);
+                return true;
             } else {
                 throw new OfflineLockException(localBibEntry, sharedBibEntry);
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
             connection.rollback(); // undo changes made in current transaction
+            return false;
         } finally {
             connection.setAutoCommit(true); // enable auto commit mode again
         }
@@ -300,93 +456,81 @@ public abstract class DBMSProcessor {
     private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
         Set<String> nullFields = new HashSet<>(sharedBibEntry.getFieldNames());
         nullFields.removeAll(localBibEntry.getFieldNames());
-        for (String nullField : nullFields) {
-            StringBuilder deleteFieldQuery = new StringBuilder()
-                .append("DELETE FROM ")
-                .append(escape("FIELD"))
-                .append(" WHERE ")
-                .append(escape("NAME"))
-                .append(" = ? AND ")
-                .append(escape("ENTRY_SHARED_ID"))
-                .append(" = ?");
+        if (nullFields.isEmpty()) {
+            return;
+        }
 
-            try (PreparedStatement preparedDeleteFieldStatement = connection
-                    .prepareStatement(deleteFieldQuery.toString())) {
+        StringBuilder deleteFieldQuery = new StringBuilder()
+            .append("DELETE FROM ")
+            .append(escape("FIELD"))
+            .append(" WHERE ")
+            .append(escape("NAME"))
+            .append(" = ? AND ")
+            .append(escape("ENTRY_SHARED_ID"))
+            .append(" = ?");
+
+        try (PreparedStatement preparedDeleteFieldStatement = connection.prepareStatement(deleteFieldQuery.toString())) {
+            for (String nullField : nullFields) {
                 preparedDeleteFieldStatement.setString(1, nullField);
                 preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+                preparedDeleteFieldStatement.addBatch();
             }
+            preparedDeleteFieldStatement.executeBatch();
         }
     }
 
     /**
-     * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an update is performed.
+     * Helping method. Inserts a key-value pair into FIELD table for every field not existing on shared database and
+     * updates the fields whose values differ. The already fetched sharedBibEntry tells which fields exist.
      */
-    private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (String fieldName : localBibEntry.getFieldNames()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(fieldName);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
-            }
+    private void insertOrUpdateFields(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
+        int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
 
-            StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+        StringBuilder updateFieldQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("FIELD"))
+                .append(" SET ")
+                .append(escape("VALUE"))
+                .append(" = ? WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
 
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery.toString())) {
-                preparedSelectFieldStatement.setString(1, fieldName);
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        StringBuilder updateFieldQuery = new StringBuilder()
-                                .append("UPDATE ")
-                                .append(escape("FIELD"))
-                                .append(" SET ")
-                                .append(escape("VALUE"))
-                                .append(" = ? WHERE ")
-                                .append(escape("NAME"))
-                                .append(" = ? AND ")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(" = ?");
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery.toString())) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, fieldName);
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        StringBuilder insertFieldQuery = new StringBuilder()
-                                .append("INSERT INTO ")
-                                .append(escape("FIELD"))
-                                .append("(")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES(?, ?, ?)");
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery.toString())) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, fieldName);
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
+        try (PreparedStatement preparedUpdateFieldStatement = connection.prepareStatement(updateFieldQuery.toString());
+                PreparedStatement preparedInsertFieldStatement = connection
+                        .prepareStatement(getInsertQuery("FIELD", 1, "ENTRY_SHARED_ID", "NAME", "VALUE"))) {
+            boolean updates = false;
+            boolean inserts = false;
+
+            for (String fieldName : localBibEntry.getFieldNames()) {
+                // null values are accepted by PreparedStatement!
+                String value = localBibEntry.getField(fieldName).orElse(null);
+                Optional<String> sharedValue = sharedBibEntry.getField(fieldName);
+
+                if (sharedValue.isPresent()) { // check if field already exists
+                    if (!sharedValue.get().equals(value)) {
+                        preparedUpdateFieldStatement.setString(1, value);
+                        preparedUpdateFieldStatement.setString(2, fieldName);
+                        preparedUpdateFieldStatement.setInt(3, sharedID);
+                        preparedUpdateFieldStatement.addBatch();
+                        updates = true;
                     }
+                } else {
+                    preparedInsertFieldStatement.setInt(1, sharedID);
+                    preparedInsertFieldStatement.setString(2, fieldName);
+                    preparedInsertFieldStatement.setString(3, value);
+                    preparedInsertFieldStatement.addBatch();
+                    inserts = true;
                 }
             }
+
+            if (updates) {
+                preparedUpdateFieldStatement.executeBatch();
+            }
+            if (inserts) {
+                preparedInsertFieldStatement.executeBatch();
+            }
         }
     }
 
@@ -396,6 +540,20 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be deleted
      */
     public void removeEntry(BibEntry bibEntry) {
+        removeEntries(Collections.singletonList(bibEntry));
+    }
+
+    /**
+     * Removes the given shared entries using a single batch.
+     *
+     * @param bibEntries {@link BibEntry}s to be deleted
+     * @return the entries which have actually been removed
+     */
+    public List<BibEntry> removeEntries(List<BibEntry> bibEntries) {
+        if (bibEntries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
         StringBuilder query = new StringBuilder()
                 .append("DELETE FROM ")
                 .append(escape("ENTRY"))
@@ -404,12 +562,24 @@ public abstract class DBMSProcessor {
                 .append(" = ?");
 
         try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            preparedStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
-            preparedStatement.executeUpdate();
+            for (BibEntry bibEntry : bibEntries) {
+                preparedStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
+                preparedStatement.addBatch();
+            }
+            int[] updateCounts = preparedStatement.executeBatch();
+
+            List<BibEntry> removedEntries = new ArrayList<>();
+            for (int i = 0; i < updateCounts.length; i++) {
+                // some drivers do not report the number of rows of batched statements
+                if ((updateCounts[i] > 0) || (updateCounts[i] == Statement.SUCCESS_NO_INFO)) {
+                    removedEntries.add(bibEntries.get(i));
+                }
+            }
+            return removedEntries;
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
+            return Collections.emptyList();
         }
-
     }
 
     /**
@@ -417,69 +587,163 @@ public abstract class DBMSProcessor {
      * @return instance of {@link BibEntry}
      */
     public Optional<BibEntry> getSharedEntry(int sharedID) {
-        List<BibEntry> sharedEntries = getSharedEntryList(sharedID);
+        List<BibEntry> sharedEntries = getSharedEntries(Collections.singletonList(sharedID));
         if (!sharedEntries.isEmpty()) {
             return Optional.of(sharedEntries.get(0));
         }
         return Optional.empty();
     }
 
+    /**
+     * Fetches all shared entries using one query on ENTRY and one on FIELD.
+     *
+     * @return List of {@link BibEntry} instances ordered by their shared ID
+     */
     public List<BibEntry> getSharedEntries() {
-        return getSharedEntryList(0);
+        try {
+            return getSharedEntryList(null);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return new ArrayList<>();
+        }
     }
 
     /**
-     * @param sharedID Entry ID. If 0, all entries are going to be fetched.
-     * @return List of {@link BibEntry} instances
+     * Fetches the shared entries with the given IDs. Up to {@link #SELECT_BATCH_SIZE} entries are fetched with one query
+     * on ENTRY and one on FIELD. Not existing IDs are ignored.
+     *
+     * @param sharedIDs Entry IDs
+     * @return List of {@link BibEntry} instances ordered by their shared ID
      */
-    private List<BibEntry> getSharedEntryList(int sharedID) {
-        List<BibEntry> sharedEntries = new ArrayList<>();
-
-        StringBuilder selectEntryQuery = new StringBuilder();
-        selectEntryQuery.append("SELECT * FROM ");
-        selectEntryQuery.append(escape("ENTRY"));
-
-        if (sharedID != 0) {
-            selectEntryQuery.append(" WHERE ");
-            selectEntryQuery.append(escape("SHARED_ID"));
-            selectEntryQuery.append(" = ");
-            selectEntryQuery.append(sharedID);
+    public List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
+        List<Integer> sortedSharedIDs = new ArrayList<>(new TreeSet<>(sharedIDs));
+        List<BibEntry> sharedEntries = new ArrayList<>(sortedSharedIDs.size());
+        try {
+            for (int start = 0; start < sortedSharedIDs.size(); start += SELECT_BATCH_SIZE) {
+                sharedEntries.addAll(getSharedEntryList(
+                        sortedSharedIDs.subList(start, Math.min(start + SELECT_BATCH_SIZE, sortedSharedIDs.size()))));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
         }
+        return sharedEntries;
+    }
 
-        selectEntryQuery.append(" ORDER BY ");
-        selectEntryQuery.append(escape("SHARED_ID"));
+    /**
+     * Fetches the entries first and then streams all their fields with a single query, thus the number of round trips
+     * does not depend on the number of entries.
+     *
+     * @param sharedIDs Entry IDs. If null, all entries are going to be fetched.
+     * @return List of {@link BibEntry} instances ordered by their shared ID
+     */
+    private List<BibEntry> getSharedEntryList(List<Integer> sharedIDs) throws SQLException {
+        Map<Integer, BibEntry> sharedEntries = new LinkedHashMap<>();
 
-        try (ResultSet selectEntryResultSet = connection.createStatement().executeQuery(selectEntryQuery.toString())) {
+        StringBuilder selectEntryQuery = new StringBuilder()
+                .append("SELECT * FROM ")
+                .append(escape("ENTRY"));
+        appendSharedIDCondition(selectEntryQuery, "SHARED_ID", sharedIDs);
+        selectEntryQuery.append(" ORDER BY ")
+                .append(escape("SHARED_ID"));
+
+        try (PreparedStatement preparedSelectEntryStatement = prepareSharedIDStatement(selectEntryQuery.toString(), sharedIDs);
+                ResultSet selectEntryResultSet = preparedSelectEntryStatement.executeQuery()) {
             while (selectEntryResultSet.next()) {
                 BibEntry bibEntry = new BibEntry();
                 // setting the base attributes once
                 bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
                 bibEntry.setType(selectEntryResultSet.getString("TYPE"));
                 bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
+                sharedEntries.put(bibEntry.getSharedBibEntryData().getSharedID(), bibEntry);
+            }
+        }
 
-                StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+        if (sharedEntries.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-                try (PreparedStatement preparedSelectFieldStatement = connection.prepareStatement(selectFieldQuery.toString())) {
-                    preparedSelectFieldStatement.setInt(1, selectEntryResultSet.getInt("SHARED_ID"));
-                    try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                        while (selectFieldResultSet.next()) {
-                            bibEntry.setField(selectFieldResultSet.getString("NAME"),
-                                    Optional.ofNullable(selectFieldResultSet.getString("VALUE")), EntryEventSource.SHARED);
-                        }
-                    }
+        StringBuilder selectFieldQuery = new StringBuilder()
+                .append("SELECT * FROM ")
+                .append(escape("FIELD"));
+        appendSharedIDCondition(selectFieldQuery, "ENTRY_SHARED_ID", sharedIDs);
+
+        try (PreparedStatement preparedSelectFieldStatement = prepareSharedIDStatement(selectFieldQuery.toString(), sharedIDs)) {
+            streamQuery(preparedSelectFieldStatement, selectFieldResultSet -> {
+                // fields of entries inserted after the query on ENTRY are skipped
+                BibEntry bibEntry = sharedEntries.get(selectFieldResultSet.getInt("ENTRY_SHARED_ID"));
+                if (bibEntry != null) {
+                    bibEntry.setField(selectFieldResultSet.getString("NAME"),
+                            Optional.ofNullable(selectFieldResultSet.getString("VALUE")), EntryEventSource.SHARED);
                 }
-                sharedEntries.add(bibEntry);
+            });
+        }
+
+        return new ArrayList<>(sharedEntries.values());
+    }
+
+    /**
+     * Appends <code>WHERE column IN (?, ...)</code> with a placeholder for each given ID.
+     *
+     * @param sharedIDs Entry IDs. If null, nothing is appended.
+     */
+    private void appendSharedIDCondition(StringBuilder query, String column, List<Integer> sharedIDs) {
+        if (sharedIDs == null) {
+            return;
+        }
+        query.append(" WHERE ")
+                .append(escape(column))
+                .append(" IN (");
+        for (int i = 0; i < sharedIDs.size(); i++) {
+            if (i > 0) {
+                query.append(", ");
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error", e);
+            query.append('?');
         }
+        query.append(')');
+    }
 
-        return sharedEntries;
+    private PreparedStatement prepareSharedIDStatement(String query, List<Integer> sharedIDs) throws SQLException {
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        if (sharedIDs != null) {
+            for (int i = 0; i < sharedIDs.size(); i++) {
+                preparedStatement.setInt(i + 1, sharedIDs.get(i));
+            }
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Executes the given query and passes each row to the given consumer, while the driver fetches the rows in portions
+     * instead of loading the whole result at once. The Oracle driver does so according to the fetch size, the other
+     * drivers need more, see the overriding methods. The connection must not be used otherwise until all rows are
+     * consumed.
+     */
+    protected void streamQuery(PreparedStatement statement, RowConsumer consumer) throws SQLException {
+        statement.setFetchSize(getStreamingFetchSize());
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                consumer.accept(resultSet);
+            }
+        }
+    }
+
+    /**
+     * Returns the fetch size which makes the driver fetch the rows of a query in portions, see
+     * {@link #streamQuery(PreparedStatement, RowConsumer)}.
+     */
+    protected int getStreamingFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the number of FIELD rows the driver fetches per round trip while loading shared entries. MySQL ignores it,
+     * as Connector/J only streams the rows one by one, see {@link MySQLProcessor#getStreamingFetchSize()}.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("The fetch size has to be positive");
+        }
+        this.fetchSize = fetchSize;
     }
 
     /**
@@ -488,7 +752,11 @@ public abstract class DBMSProcessor {
     public Map<Integer, Integer> getSharedIDVersionMapping() {
         Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
         StringBuilder selectEntryQuery = new StringBuilder()
-            .append("SELECT * FROM ")
+            .append("SELECT ")
+            .append(escape("SHARED_ID"))
+            .append(", ")
+            .append(escape("VERSION"))
+            .append(" FROM ")
             .append(escape("ENTRY"))
             .append(" ORDER BY ")
             .append(escape("SHARED_ID"));
@@ -504,6 +772,33 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Retrieves the current {@link SharedEntriesState} with a single aggregating query.
+     *
+     * @return the state, or an empty Optional if it could not be determined
+     */
+    public Optional<SharedEntriesState> getSharedEntriesState() {
+        StringBuilder selectStateQuery = new StringBuilder()
+            .append("SELECT COUNT(*), SUM(")
+            .append(escape("SHARED_ID"))
+            .append("), SUM(")
+            .append(escape("VERSION"))
+            .append(") FROM ")
+            .append(escape("ENTRY"));
+
+        try (ResultSet selectStateResultSet = connection.createStatement().executeQuery(selectStateQuery.toString())) {
+            if (selectStateResultSet.next()) {
+                // the sums are NULL for an empty table, which getLong() maps to 0
+                return Optional.of(new SharedEntriesState(selectStateResultSet.getLong(1),
+                        selectStateResultSet.getLong(2), selectStateResultSet.getLong(3)));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
@@ -530,24 +825,16 @@ public abstract class DBMSProcessor {
     public void setSharedMetaData(Map<String, String> data) throws SQLException {
         connection.createStatement().executeUpdate("TRUNCATE TABLE " + escape("METADATA")); // delete data all data from table
 
-        for (Map.Entry<String, String> metaEntry : data.entrySet()) {
-
-            StringBuilder query = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("METADATA"))
-                .append("(")
-                .append(escape("KEY"))
-                .append(", ")
-                .append(escape("VALUE"))
-                .append(") VALUES(?, ?)");
-
-            try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+        try (PreparedStatement preparedStatement = connection
+                .prepareStatement(getInsertQuery("METADATA", 1, "KEY", "VALUE"))) {
+            for (Map.Entry<String, String> metaEntry : data.entrySet()) {
                 preparedStatement.setString(1, metaEntry.getKey());
                 preparedStatement.setString(2, metaEntry.getValue());
-                preparedStatement.executeUpdate();
-            } catch (SQLException e) {
-                LOGGER.error("SQL Error: ", e);
+                preparedStatement.addBatch();
             }
+            preparedStatement.executeBatch();
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
         }
     }
 
@@ -595,4 +882,14 @@ public abstract class DBMSProcessor {
     public void notifyClients() {
         // nothing to do
     }
+
+
+    /**
+     * Processes a row of a streamed query, see {@link #streamQuery(PreparedStatement, RowConsumer)}
+     */
+    @FunctionalInterface
+    protected interface RowConsumer {
+
+        void accept(ResultSet resultSet) throws SQLException;
+    }
 }
@@ -1,12 +1,27 @@
 package net.sf.jabref.shared;
 
+import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import javax.swing.SwingUtilities;
 
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.MetaDataSerializer;
@@ -15,6 +30,8 @@ import net.sf.jabref.logic.importer.util.MetaDataParser;
 import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -23,6 +40,7 @@ import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.entry.event.FieldChangedEvent;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.model.metadata.event.MetaDataChangedEvent;
+import net.sf.jabref.model.metadata.event.MetaDataListener;
 import net.sf.jabref.shared.event.ConnectionLostEvent;
 import net.sf.jabref.shared.event.SharedEntryNotPresentEvent;
 import net.sf.jabref.shared.event.UpdateRefusedEvent;
@@ -30,18 +48,25 @@ import net.sf.jabref.shared.exception.DatabaseNotSupportedException;
 import net.sf.jabref.shared.exception.OfflineLockException;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
  * Synchronizes the shared or local databases with their opposite side.
- * Local changes are pushed by {@link EntryEvent} using Google's Guava EventBus.
+ * Local changes arrive through the {@link BibDatabaseListener} and {@link MetaDataListener} methods and are queued.
+ * <p>
+ * The queued changes are coalesced per entry and written on a background thread together with a single pull, thus
+ * the thread posting the events, usually the event dispatch thread, does not wait for the shared database.
+ * Pulled changes are read on the background thread as well, but applied to the local database on the event dispatch
+ * thread. Entries whose local changes are still queued are left alone by a pull.
  */
-public class DBMSSynchronizer {
+public class DBMSSynchronizer implements BibDatabaseListener, MetaDataListener {
 
     private static final Log LOGGER = LogFactory.getLog(DBMSSynchronizer.class);
 
+    private static final long FLUSH_DELAY_MILLISECONDS = 300;
+    private static final int MAX_PENDING_ENTRIES = 500;
+
     private DBMSProcessor dbmsProcessor;
     private DBMSType dbmsType;
     private String dbName;
@@ -52,6 +77,18 @@ public class DBMSSynchronizer {
     private Connection currentConnection;
     private final Character keywordSeparator;
     private GlobalBibtexKeyPattern globalCiteKeyPattern;
+    // the state of the shared entries after the last synchronization, including the writes of this client since then
+    private Optional<SharedEntriesState> lastSharedEntriesState = Optional.empty();
+    private volatile int sharedIDVersionFetchCount;
+
+    private final ScheduledExecutorService synchronizationExecutor;
+    private volatile Thread synchronizationThread;
+
+    // local changes which are not yet written to shared database, by entry id in the order of their first change
+    private final Map<String, PendingChange> pendingChanges = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private long firstPendingChangeTime;
+    private volatile long lastFlushLatency;
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
             GlobalBibtexKeyPattern globalCiteKeyPattern) {
@@ -61,77 +98,276 @@ public class DBMSSynchronizer {
         this.eventBus = new EventBus();
         this.keywordSeparator = keywordSeparator;
         this.globalCiteKeyPattern = Objects.requireNonNull(globalCiteKeyPattern);
+        this.synchronizationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JabRef DBMSSynchronizer");
+            thread.setDaemon(true);
+            synchronizationThread = thread;
+            return thread;
+        });
     }
 
     /**
-     * Listening method. Inserts a new {@link BibEntry} into shared database.
+     * Listening method. Queues the insertion of a new {@link BibEntry} into shared database.
      *
      * @param event {@link EntryAddedEvent} object
      */
-    @Subscribe
+    @Override
     public void listen(EntryAddedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to insert the bibEntry entry again (but it would not harm).
-        if (isEventSourceAccepted(event) && checkCurrentConnection()) {
-            dbmsProcessor.insertEntry(event.getBibEntry());
-            synchronizeLocalMetaData();
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
+        if (isEventSourceAccepted(event)) {
+            queueChange(event.getBibEntry(), PendingChange::insert);
         }
     }
 
     /**
-     * Listening method. Updates an existing shared {@link BibEntry}.
+     * Listening method. Queues the update of an existing shared {@link BibEntry}.
      *
      * @param event {@link FieldChangedEvent} object
      */
-    @Subscribe
+    @Override
     public void listen(FieldChangedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to update the bibEntry entry again (but it would not harm).
-        if (isPresentLocalBibEntry(event.getBibEntry()) && isEventSourceAccepted(event) && checkCurrentConnection()) {
-            synchronizeLocalMetaData();
-            BibEntry bibEntry = event.getBibEntry();
-            synchronizeSharedEntry(bibEntry);
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
+        if (isPresentLocalBibEntry(event.getBibEntry()) && isEventSourceAccepted(event)) {
+            queueChange(event.getBibEntry(), PendingChange::update);
         }
     }
 
     /**
-     * Listening method. Deletes the given {@link BibEntry} from shared database.
+     * Listening method. Queues the update of all shared {@link BibEntry} changed in a batch.
+     *
+     * @param event {@link EntriesChangedEvent} object
+     */
+    @Override
+    public void listen(EntriesChangedEvent event) {
+        for (FieldChangedEvent change : event.getFieldChanges()) {
+            listen(change);
+        }
+    }
+
+    /**
+     * Listening method. Queues the deletion of the given {@link BibEntry} from shared database.
      *
      * @param event {@link EntryRemovedEvent} object
      */
-    @Subscribe
+    @Override
     public void listen(EntryRemovedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to delete the bibEntry entry again (but it would not harm).
-        if (isEventSourceAccepted(event) && checkCurrentConnection()) {
-            dbmsProcessor.removeEntry(event.getBibEntry());
-            synchronizeLocalMetaData();
-            synchronizeLocalDatabase(); // Pull changes for the case that there where some
+        if (isEventSourceAccepted(event)) {
+            queueChange(event.getBibEntry(), PendingChange::remove);
         }
     }
 
     /**
-     * Listening method. Synchronizes the shared {@link MetaData} and applies them locally.
+     * Listening method. Synchronizes the shared {@link MetaData} and applies them locally in the background.
      *
      * @param event
      */
-    @Subscribe
+    @Override
     public void listen(MetaDataChangedEvent event) {
-        if (checkCurrentConnection()) {
-            synchronizeSharedMetaData(event.getMetaData(), globalCiteKeyPattern);
-            synchronizeLocalDatabase();
-            applyMetaData();
-            dbmsProcessor.notifyClients();
+        synchronizationExecutor.execute(() -> {
+            synchronized (this) {
+                if (checkCurrentConnection()) {
+                    synchronizeSharedMetaData(event.getMetaData(), globalCiteKeyPattern);
+                    pullSharedEntries();
+                    applyMetaData();
+                    dbmsProcessor.notifyClients();
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a local change to the queue. All changes of an entry are coalesced. The queue is flushed after
+     * {@link #FLUSH_DELAY_MILLISECONDS} or right away, if it holds {@link #MAX_PENDING_ENTRIES} entries.
+     */
+    private void queueChange(BibEntry bibEntry, Predicate<PendingChange> change) {
+        synchronized (pendingChanges) {
+            if (synchronizationExecutor.isShutdown()) {
+                return;
+            }
+            if (pendingChanges.isEmpty()) {
+                firstPendingChangeTime = System.nanoTime();
+            }
+            PendingChange pendingChange = pendingChanges.computeIfAbsent(bibEntry.getId(),
+                    id -> new PendingChange(bibEntry));
+            if (!change.test(pendingChange)) {
+                pendingChanges.remove(bibEntry.getId());
+            }
+
+            if (pendingChanges.size() >= MAX_PENDING_ENTRIES) {
+                // back-pressure: do not let the queue grow any further while waiting for the delay
+                if ((scheduledFlush == null)
+                        || ((scheduledFlush.getDelay(TimeUnit.MILLISECONDS) > 0) && scheduledFlush.cancel(false))) {
+                    scheduledFlush = synchronizationExecutor.schedule(this::flushQueue, 0, TimeUnit.MILLISECONDS);
+                }
+            } else if ((scheduledFlush == null) && !pendingChanges.isEmpty()) {
+                scheduledFlush = synchronizationExecutor.schedule(this::flushQueue, FLUSH_DELAY_MILLISECONDS,
+                        TimeUnit.MILLISECONDS);
+            }
         }
     }
 
-    @Subscribe
-    public void listen(EntryEvent event) {
-        if (isEventSourceAccepted(event)) {
-            dbmsProcessor.notifyClients();
+    /**
+     * Writes all queued local changes to shared database and pulls the remote changes afterwards.
+     * Runs on the synchronization thread.
+     */
+    private synchronized void flushQueue() {
+        List<PendingChange> changes;
+        long firstChangeTime;
+        synchronized (pendingChanges) {
+            changes = new ArrayList<>(pendingChanges.values());
+            firstChangeTime = firstPendingChangeTime;
+            pendingChanges.clear();
+            scheduledFlush = null;
+        }
+        if (changes.isEmpty() || !checkCurrentConnection()) {
+            return;
         }
+
+        List<BibEntry> insertedEntries = new ArrayList<>();
+        List<BibEntry> updatedEntries = new ArrayList<>();
+        List<BibEntry> removedEntries = new ArrayList<>();
+        for (PendingChange change : changes) {
+            if (change.isRemoved()) {
+                removedEntries.add(change.getBibEntry());
+            } else if (change.isInserted()) {
+                insertedEntries.add(change.getBibEntry());
+            } else if (isPresentLocalBibEntry(change.getBibEntry())) {
+                updatedEntries.add(change.getBibEntry());
+            }
+        }
+
+        synchronizeLocalMetaData();
+        insertSharedEntries(insertedEntries);
+        for (BibEntry bibEntry : updatedEntries) {
+            synchronizeSharedEntry(bibEntry);
+        }
+        removeSharedEntries(removedEntries);
+        pullSharedEntries(); // Pull changes for the case that there were some
+        dbmsProcessor.notifyClients();
+
+        lastFlushLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstChangeTime);
+        LOGGER.debug("Synchronized " + changes.size() + " changed entries within " + lastFlushLatency + " ms");
+    }
+
+    /**
+     * Inserts the given entries into shared database and takes the insertion into account for the next
+     * synchronization.
+     */
+    private void insertSharedEntries(List<BibEntry> bibEntries) {
+        for (BibEntry insertedEntry : dbmsProcessor.insertEntries(bibEntries)) {
+            int sharedID = insertedEntry.getSharedBibEntryData().getSharedID();
+            // new rows start with version 1
+            advanceSharedEntriesState(state -> state.withInsertedEntry(sharedID, 1));
+        }
+    }
+
+    /**
+     * Removes the given entries from shared database and takes the removal into account for the next
+     * synchronization.
+     */
+    private void removeSharedEntries(List<BibEntry> bibEntries) {
+        for (BibEntry removedEntry : dbmsProcessor.removeEntries(bibEntries)) {
+            int sharedID = removedEntry.getSharedBibEntryData().getSharedID();
+            int version = removedEntry.getSharedBibEntryData().getVersion();
+            advanceSharedEntriesState(state -> state.withRemovedEntry(sharedID, version));
+        }
+    }
+
+    /**
+     * Applies a committed write of this client to the state of the last synchronization, so that the write alone does
+     * not make the next synchronization fetch the shared IDs and versions. If another client changed the shared entries
+     * meanwhile, the actual state differs and they are fetched as usual. Failed writes must not be applied, as a change
+     * of another client could match them.
+     */
+    private void advanceSharedEntriesState(UnaryOperator<SharedEntriesState> ownChange) {
+        lastSharedEntriesState = lastSharedEntriesState.map(ownChange);
+    }
+
+    /**
+     * Writes all queued local changes to shared database and waits until this and all previously scheduled
+     * synchronizations are done and their pulled changes are applied locally.
+     */
+    public void flushPendingChanges() {
+        if (synchronizationExecutor.isShutdown()) {
+            return;
+        }
+        if (isSynchronizationThread()) {
+            flushQueue();
+            return;
+        }
+        try {
+            synchronizationExecutor.submit(this::flushQueue).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.error("Could not synchronize shared database", e);
+        }
+        waitForLocalChanges();
+    }
+
+    /**
+     * Runs the given changes of the local database on the event dispatch thread, where the user edits it and its
+     * listeners expect it to change. Off this thread they run later, so the synchronization thread never waits for it
+     * while the event dispatch thread waits for a synchronization, e.g. when closing the database.
+     */
+    private void runOnEventDispatchThread(Runnable localChanges) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            localChanges.run();
+        } else {
+            SwingUtilities.invokeLater(localChanges);
+        }
+    }
+
+    /**
+     * Waits until all local changes passed to {@link #runOnEventDispatchThread(Runnable)} are done. Does not wait on
+     * the event dispatch thread itself, on the synchronization thread or while holding the lock of this synchronizer,
+     * as the event dispatch thread may be waiting for them.
+     */
+    private void waitForLocalChanges() {
+        if (SwingUtilities.isEventDispatchThread() || isSynchronizationThread() || Thread.holdsLock(this)) {
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                // the changes scheduled before are done
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            LOGGER.error("Could not apply shared changes", e);
+        }
+    }
+
+    /**
+     * Returns the number of entries whose local changes are not yet written to shared database.
+     */
+    public int getPendingChangeCount() {
+        synchronized (pendingChanges) {
+            return pendingChanges.size();
+        }
+    }
+
+    /**
+     * Returns the time in milliseconds between the first change and the end of the last flush of the queue.
+     */
+    public long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    /**
+     * Returns how often the shared IDs and versions have been fetched, as the shared entries changed since the last
+     * synchronization or the local entries did not correspond to them.
+     */
+    public int getSharedIDVersionFetchCount() {
+        return sharedIDVersionFetchCount;
+    }
+
+    private boolean isSynchronizationThread() {
+        return Thread.currentThread() == synchronizationThread;
     }
 
     /**
@@ -141,7 +377,7 @@ public class DBMSSynchronizer {
      * @throws DatabaseNotSupportedException if the version of shared database does not match
      *          the version of current shared database support ({@link DBMSProcessor}).
      */
-    public void initializeDatabases() throws DatabaseNotSupportedException, SQLException {
+    public synchronized void initializeDatabases() throws DatabaseNotSupportedException, SQLException {
         if (!dbmsProcessor.checkBaseIntegrity()) {
             LOGGER.info("Integrity check failed. Fixing...");
             dbmsProcessor.setupSharedDatabase();
@@ -154,82 +390,159 @@ public class DBMSSynchronizer {
         }
 
         synchronizeLocalMetaData();
-        synchronizeLocalDatabase();
+        pullSharedEntries();
         dbmsProcessor.startNotificationListener(this);
     }
 
     /**
      * Synchronizes the local database with shared one.
      * Possible update types are removal, update or insert of a {@link BibEntry}.
+     * <p>
+     * If the shared entries did not change since the last synchronization and the local entries correspond to them,
+     * nothing is fetched. Otherwise only the shared IDs and versions are fetched and then, in bulk, the entries which
+     * were inserted or updated in the meantime.
      */
     public void synchronizeLocalDatabase() {
+        pullSharedEntries();
+        waitForLocalChanges();
+    }
+
+    /**
+     * Reads the changes of the shared entries and applies them to the local database on the event dispatch thread,
+     * see {@link #synchronizeLocalDatabase()}.
+     */
+    private synchronized void pullSharedEntries() {
         if (!checkCurrentConnection()) {
             return;
         }
 
-        List<BibEntry> localEntries = bibDatabase.getEntries();
-        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+        // The state is read before the mapping. Changes in between are therefore detected again next time.
+        Optional<SharedEntriesState> sharedEntriesState = dbmsProcessor.getSharedEntriesState();
+        LocalEntries localEntries = getLocalEntries();
+        if (sharedEntriesState.isPresent() && sharedEntriesState.equals(lastSharedEntriesState)
+                && sharedEntriesState.get().containsSameEntriesAs(localEntries.getSharedEntries())) {
+            return;
+        }
 
-        // remove old entries locally
-        removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+        sharedIDVersionFetchCount++;
+
+        Map<Integer, BibEntry> localEntriesBySharedID = new HashMap<>();
+        Map<Integer, BibEntry> notSharedEntries = new HashMap<>();
+        for (BibEntry localEntry : localEntries.getSharedEntries()) {
+            int sharedID = localEntry.getSharedBibEntryData().getSharedID();
+            localEntriesBySharedID.put(sharedID, localEntry);
+            if (!idVersionMap.containsKey(sharedID)) {
+                notSharedEntries.put(sharedID, localEntry);
+            }
+        }
 
-        // compare versions and update local entry if needed
+        // compare versions and collect the entries to be fetched
+        List<Integer> changedSharedIDs = new ArrayList<>();
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean match = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey() == localEntry.getSharedBibEntryData().getSharedID()) {
-                    match = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntryEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                    .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            for (String field : sharedEntry.get().getFieldNames()) {
-                                localEntry.setField(field, sharedEntry.get().getField(field), EntryEventSource.SHARED);
-                            }
-
-                            Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
-                            redundantLocalEntryFields.removeAll(sharedEntry.get().getFieldNames());
-
-                            // remove not existing fields
-                            for (String redundantField : redundantLocalEntryFields) {
-                                localEntry.clearField(redundantField, EntryEventSource.SHARED);
-                            }
-                        }
-                    }
-                }
+            if (localEntries.hasPendingChange(idVersionEntry.getKey())) {
+                // the queued local change is written first, a conflicting update is refused then
+                continue;
             }
-            if (!match) {
-                Optional<BibEntry> bibEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                if (bibEntry.isPresent()) {
-                    bibDatabase.insertEntry(bibEntry.get(), EntryEventSource.SHARED);
+            BibEntry localEntry = localEntriesBySharedID.get(idVersionEntry.getKey());
+            if ((localEntry == null) || (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion())) {
+                changedSharedIDs.add(idVersionEntry.getKey());
+            }
+        }
+        List<BibEntry> changedSharedEntries = dbmsProcessor.getSharedEntries(changedSharedIDs);
+
+        runOnEventDispatchThread(() -> applySharedChanges(notSharedEntries, changedSharedEntries));
+
+        lastSharedEntriesState = sharedEntriesState;
+    }
+
+    /**
+     * Returns the local entries which are supposed to be present on shared database together with the queued changes.
+     * Entries whose insertion is still queued have no shared ID yet, or an outdated one if their removal has been
+     * undone, and thus are left out.
+     */
+    private LocalEntries getLocalEntries() {
+        synchronized (pendingChanges) {
+            LocalEntries localEntries = new LocalEntries(pendingChanges.values());
+            for (BibEntry localEntry : bibDatabase.getEntries()) {
+                PendingChange pendingChange = pendingChanges.get(localEntry.getId());
+                if ((localEntry.getSharedBibEntryData().getSharedID() != -1)
+                        && ((pendingChange == null) || !pendingChange.isInserted())) {
+                    localEntries.addSharedEntry(localEntry);
                 }
             }
+            return localEntries;
         }
     }
 
     /**
-     * Removes all local entries which are not present on shared database.
+     * Applies the pulled changes to the local database in one batch. Runs on the event dispatch thread.
+     * <p>
+     * The local database may have changed since the shared entries were read. Therefore entries are only removed if
+     * they still have the same shared ID, inserted if no local entry has their shared ID and updated if they are more
+     * recent. Entries with queued changes are left alone, as are the shared IDs of queued removals.
      *
-     * @param localEntries List of {@link BibEntry} the entries should be removed from
-     * @param sharedIDs Set of all IDs which are present on shared database
+     * @param notSharedEntries the local entries which are not present on shared database, by their shared ID
+     * @param changedSharedEntries the shared entries which were inserted or updated
      */
-    private void removeNotSharedEntries(List<BibEntry> localEntries, Set<Integer> sharedIDs) {
-        for (int i = 0; i < localEntries.size(); i++) {
-            BibEntry localEntry = localEntries.get(i);
-            boolean match = false;
-            for (int sharedID : sharedIDs) {
-                if (localEntry.getSharedBibEntryData().getSharedID() == sharedID) {
-                    match = true;
-                    break;
+    private void applySharedChanges(Map<Integer, BibEntry> notSharedEntries, List<BibEntry> changedSharedEntries) {
+        LocalEntries localEntries = getLocalEntries();
+
+        bibDatabase.startBatch();
+        try {
+            // remove old entries locally
+            removeNotSharedEntries(notSharedEntries, localEntries);
+
+            Map<Integer, BibEntry> localEntriesBySharedID = new HashMap<>();
+            for (BibEntry localEntry : localEntries.getSharedEntries()) {
+                localEntriesBySharedID.put(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+            }
+
+            for (BibEntry sharedEntry : changedSharedEntries) {
+                int sharedID = sharedEntry.getSharedBibEntryData().getSharedID();
+                if (localEntries.hasPendingChange(sharedID)) {
+                    continue;
+                }
+                BibEntry localEntry = localEntriesBySharedID.get(sharedID);
+                if (localEntry == null) {
+                    bibDatabase.insertEntry(sharedEntry, EntryEventSource.SHARED);
+                } else if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData()
+                        .getVersion()) {
+                    // update fields
+                    localEntry.setType(sharedEntry.getType(), EntryEventSource.SHARED);
+                    localEntry.getSharedBibEntryData().setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+                    for (String field : sharedEntry.getFieldNames()) {
+                        localEntry.setField(field, sharedEntry.getField(field), EntryEventSource.SHARED);
+                    }
+
+                    Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
+                    redundantLocalEntryFields.removeAll(sharedEntry.getFieldNames());
+
+                    // remove not existing fields
+                    for (String redundantField : redundantLocalEntryFields) {
+                        localEntry.clearField(redundantField, EntryEventSource.SHARED);
+                    }
                 }
             }
-            if (!match) {
+        } finally {
+            bibDatabase.endBatch();
+        }
+    }
+
+    /**
+     * Removes all local entries which are not present on shared database, unless their shared ID changed or they
+     * have queued changes in the meantime.
+     *
+     * @param notSharedEntries the local entries which are not present on shared database, by their shared ID
+     * @param localEntries the current local entries and queued changes
+     */
+    private void removeNotSharedEntries(Map<Integer, BibEntry> notSharedEntries, LocalEntries localEntries) {
+        for (Map.Entry<Integer, BibEntry> notSharedEntry : notSharedEntries.entrySet()) {
+            BibEntry localEntry = notSharedEntry.getValue();
+            if ((localEntry.getSharedBibEntryData().getSharedID() == notSharedEntry.getKey())
+                    && isPresentLocalBibEntry(localEntry) && !localEntries.hasPendingChange(notSharedEntry.getKey())) {
                 eventBus.post(new SharedEntryNotPresentEvent(localEntry));
                 bibDatabase.removeEntry(localEntry, EntryEventSource.SHARED); // Should not reach the listeners above.
-                i--; // due to index shift on localEntries
             }
         }
     }
@@ -237,13 +550,15 @@ public class DBMSSynchronizer {
     /**
      * Synchronizes the shared {@link BibEntry} with the local one.
      */
-    public void synchronizeSharedEntry(BibEntry bibEntry) {
+    public synchronized void synchronizeSharedEntry(BibEntry bibEntry) {
         if (!checkCurrentConnection()) {
             return;
         }
         try {
             BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
-            dbmsProcessor.updateEntry(bibEntry);
+            if (dbmsProcessor.updateEntry(bibEntry)) {
+                advanceSharedEntriesState(SharedEntriesState::withUpdatedEntry);
+            }
         } catch (OfflineLockException exception) {
             eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
         } catch (SQLException e) {
@@ -254,7 +569,7 @@ public class DBMSSynchronizer {
     /**
      * Synchronizes all meta data locally.
      */
-    public void synchronizeLocalMetaData() {
+    public synchronized void synchronizeLocalMetaData() {
         if (!checkCurrentConnection()) {
             return;
         }
@@ -281,24 +596,23 @@ public class DBMSSynchronizer {
     }
 
     /**
-     * Applies the {@link MetaData} on all local and shared BibEntries.
+     * Applies the {@link MetaData} on all local BibEntries on the event dispatch thread and queues the changed ones to
+     * be updated on shared database.
      */
     public void applyMetaData() {
         if (!checkCurrentConnection()) {
             return;
         }
-        for (BibEntry bibEntry : bibDatabase.getEntries()) {
-            // synchronize only if changes were present
-            if (!BibDatabaseWriter.applySaveActions(bibEntry, metaData).isEmpty()) {
-                try {
-                    dbmsProcessor.updateEntry(bibEntry);
-                } catch (OfflineLockException exception) {
-                    eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
-                } catch (SQLException e) {
-                    LOGGER.error("SQL Error: ", e);
+        MetaData appliedMetaData = metaData;
+        runOnEventDispatchThread(() -> {
+            for (BibEntry bibEntry : bibDatabase.getEntries()) {
+                // synchronize only if changes were present
+                if (!BibDatabaseWriter.applySaveActions(bibEntry, appliedMetaData).isEmpty()) {
+                    queueChange(bibEntry, PendingChange::update);
                 }
             }
-        }
+        });
+        waitForLocalChanges();
     }
 
     /**
@@ -309,8 +623,9 @@ public class DBMSSynchronizer {
             return;
         }
 
-        synchronizeLocalDatabase();
+        pullSharedEntries();
         synchronizeLocalMetaData();
+        waitForLocalChanges();
     }
 
     /**
@@ -350,6 +665,7 @@ public class DBMSSynchronizer {
         this.currentConnection = connection.getConnection();
         this.dbmsProcessor = DBMSProcessor.getProcessorInstance(connection);
         initializeDatabases();
+        waitForLocalChanges();
     }
 
     public void openSharedDatabase(DBMSConnectionProperties properties) throws SQLException, DatabaseNotSupportedException {
@@ -357,6 +673,8 @@ public class DBMSSynchronizer {
     }
 
     public void closeSharedDatabase() {
+        flushPendingChanges();
+        synchronizationExecutor.shutdown();
         try {
             dbmsProcessor.stopNotificationListener();
             currentConnection.close();
@@ -366,7 +684,7 @@ public class DBMSSynchronizer {
     }
 
     private boolean isPresentLocalBibEntry(BibEntry bibEntry) {
-        return bibDatabase.getEntries().contains(bibEntry);
+        return bibDatabase.containsEntryWithId(bibEntry.getId());
     }
 
     public String getDBName() {
@@ -388,4 +706,98 @@ public class DBMSSynchronizer {
     public void registerListener(Object listener) {
         eventBus.register(listener);
     }
+
+
+    /**
+     * The coalesced local changes of a single entry
+     */
+    private static class PendingChange {
+
+        private final BibEntry bibEntry;
+        private boolean inserted;
+        private boolean removed;
+
+
+        PendingChange(BibEntry bibEntry) {
+            this.bibEntry = bibEntry;
+        }
+
+        /**
+         * @return <code>true</code> if the change has to be kept in the queue
+         */
+        boolean insert() {
+            if (removed) {
+                // the removal was not written yet, so the shared entry still exists and is updated instead
+                removed = false;
+            } else {
+                inserted = true;
+            }
+            return true;
+        }
+
+        /**
+         * @return <code>true</code> if the change has to be kept in the queue
+         */
+        boolean update() {
+            // a change which is neither an insertion nor a removal is written as update, and a pending insertion
+            // writes the current fields anyway
+            return true;
+        }
+
+        /**
+         * @return <code>true</code> if the change has to be kept in the queue
+         */
+        boolean remove() {
+            if (inserted) {
+                // the entry never reached shared database
+                return false;
+            }
+            removed = true;
+            return true;
+        }
+
+        BibEntry getBibEntry() {
+            return bibEntry;
+        }
+
+        boolean isInserted() {
+            return inserted;
+        }
+
+        boolean isRemoved() {
+            return removed;
+        }
+    }
+
+    /**
+     * The local entries which are supposed to be present on shared database and the shared IDs of the entries with
+     * queued changes
+     */
+    private static class LocalEntries {
+
+        private final List<BibEntry> sharedEntries = new ArrayList<>();
+        private final Set<Integer> pendingSharedIDs = new HashSet<>();
+
+
+        LocalEntries(Collection<PendingChange> pendingChanges) {
+            for (PendingChange pendingChange : pendingChanges) {
+                pendingSharedIDs.add(pendingChange.getBibEntry().getSharedBibEntryData().getSharedID());
+            }
+        }
+
+        void addSharedEntry(BibEntry bibEntry) {
+            sharedEntries.add(bibEntry);
+        }
+
+        List<BibEntry> getSharedEntries() {
+            return sharedEntries;
+        }
+
+        /**
+         * @return <code>true</code> if a change of the entry with the given shared ID is queued, including its removal
+         */
+        boolean hasPendingChange(int sharedID) {
+            return pendingSharedIDs.contains(sharedID);
+        }
+    }
 }
@@ -37,6 +37,15 @@ public class MySQLProcessor extends DBMSProcessor {
                 "`VALUE` text NOT NULL)");
     }
 
+    /**
+     * Connector/J loads the whole result of a query into memory, unless the fetch size is {@link Integer#MIN_VALUE}.
+     * Then it streams the rows one by one.
+     */
+    @Override
+    protected int getStreamingFetchSize() {
+        return Integer.MIN_VALUE;
+    }
+
     @Override
     String escape(String expression) {
         return "`" + expression + "`";
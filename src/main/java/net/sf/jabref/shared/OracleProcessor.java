@@ -1,9 +1,13 @@
 package net.sf.jabref.shared;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.Properties;
 
+import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.shared.listener.OracleNotificationListener;
 
 import oracle.jdbc.OracleConnection;
@@ -59,6 +63,54 @@ public class OracleProcessor extends DBMSProcessor {
                 "\"VALUE\"  CLOB NOT NULL)");
     }
 
+    /**
+     * Oracle does neither support multi-row INSERTs nor generated keys for batched statements.
+     * Therefore the entries are inserted one by one using the same statement.
+     */
+    @Override
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        try (PreparedStatement preparedEntryStatement = prepareEntryInsertStatement(getInsertQuery("ENTRY", 1, "TYPE"))) {
+            for (BibEntry bibEntry : bibEntries) {
+                preparedEntryStatement.setString(1, bibEntry.getType());
+                preparedEntryStatement.executeUpdate();
+
+                try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Oracle does not support multi-row INSERTs. Therefore the fields are sent using JDBC batches.
+     */
+    @Override
+    protected void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        try (PreparedStatement preparedFieldStatement = connection
+                .prepareStatement(getInsertQuery("FIELD", 1, "ENTRY_SHARED_ID", "NAME", "VALUE"))) {
+            int batchSize = 0;
+            for (BibEntry bibEntry : bibEntries) {
+                for (String fieldName : bibEntry.getFieldNames()) {
+                    preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
+                    preparedFieldStatement.setString(2, fieldName);
+                    preparedFieldStatement.setString(3, bibEntry.getField(fieldName).orElse(null));
+                    preparedFieldStatement.addBatch();
+                    batchSize++;
+
+                    if (batchSize == INSERT_BATCH_SIZE) {
+                        preparedFieldStatement.executeBatch();
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (batchSize > 0) {
+                preparedFieldStatement.executeBatch();
+            }
+        }
+    }
+
     @Override
     String escape(String expression) {
         return "\"" + expression + "\"";
@@ -1,13 +1,11 @@
 package net.sf.jabref.shared;
 
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.shared.listener.PostgresSQLNotificationListener;
 
 import com.impossibl.postgres.api.jdbc.PGConnection;
@@ -54,29 +52,23 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
-        // Inserting into ENTRY table
-        StringBuilder insertIntoEntryQuery = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("ENTRY"))
-                .append("(")
-                .append(escape("TYPE"))
-                .append(") VALUES(?)");
-
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                Statement.RETURN_GENERATED_KEYS)) {
-
-            preparedEntryStatement.setString(1, bibEntry.getType());
-            preparedEntryStatement.executeUpdate();
-
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+    protected PreparedStatement prepareEntryInsertStatement(String query) throws SQLException {
+        // Returns the generated keys of all rows inserted by a multi-row INSERT.
+        return connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * The driver fetches the rows in portions of the fetch size only within a transaction, as the portal of the query
+     * is closed on commit. Thus, auto commit is disabled while the rows are consumed.
+     */
+    @Override
+    protected void streamQuery(PreparedStatement statement, RowConsumer consumer) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            super.streamQuery(statement, consumer);
+        } finally {
+            connection.setAutoCommit(autoCommit); // ends the read-only transaction if auto commit was enabled
         }
     }
 
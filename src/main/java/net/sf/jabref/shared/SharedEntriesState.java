@@ -0,0 +1,83 @@
+package net.sf.jabref.shared;
+
+import java.util.List;
+import java.util.Objects;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Summarizes the ENTRY table of a shared database.
+ * <p>
+ * Shared IDs are generated in ascending order and versions are only increased, thus the number of entries, the sum of
+ * their shared IDs and the sum of their versions cannot all stay the same if any entry was inserted, updated or
+ * removed. Comparing two states therefore tells whether the shared entries changed in between without fetching them.
+ */
+public final class SharedEntriesState {
+
+    private final long entryCount;
+    private final long sharedIDSum;
+    private final long versionSum;
+
+
+    public SharedEntriesState(long entryCount, long sharedIDSum, long versionSum) {
+        this.entryCount = entryCount;
+        this.sharedIDSum = sharedIDSum;
+        this.versionSum = versionSum;
+    }
+
+    /**
+     * Returns the state after an entry with the given shared ID and version has been inserted.
+     */
+    public SharedEntriesState withInsertedEntry(int sharedID, int version) {
+        return new SharedEntriesState(entryCount + 1, sharedIDSum + sharedID, versionSum + version);
+    }
+
+    /**
+     * Returns the state after the version of an entry has been increased by an update.
+     */
+    public SharedEntriesState withUpdatedEntry() {
+        return new SharedEntriesState(entryCount, sharedIDSum, versionSum + 1);
+    }
+
+    /**
+     * Returns the state after the entry with the given shared ID and version has been removed.
+     */
+    public SharedEntriesState withRemovedEntry(int sharedID, int version) {
+        return new SharedEntriesState(entryCount - 1, sharedIDSum - sharedID, versionSum - version);
+    }
+
+    /**
+     * Checks whether the given local entries correspond to the summarized shared entries by their shared IDs.
+     * Local entries which were never inserted or were removed on shared database are detected this way.
+     */
+    public boolean containsSameEntriesAs(List<BibEntry> localEntries) {
+        long localSharedIDSum = 0;
+        for (BibEntry localEntry : localEntries) {
+            localSharedIDSum += localEntry.getSharedBibEntryData().getSharedID();
+        }
+        return (localEntries.size() == entryCount) && (localSharedIDSum == sharedIDSum);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SharedEntriesState)) {
+            return false;
+        }
+        SharedEntriesState that = (SharedEntriesState) other;
+        return (entryCount == that.entryCount) && (sharedIDSum == that.sharedIDSum) && (versionSum == that.versionSum);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entryCount, sharedIDSum, versionSum);
+    }
+
+    @Override
+    public String toString() {
+        return "SharedEntriesState [entryCount=" + entryCount + ", sharedIDSum=" + sharedIDSum + ", versionSum="
+                + versionSum + "]";
+    }
+}
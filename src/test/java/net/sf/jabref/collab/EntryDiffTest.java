@@ -0,0 +1,110 @@
+package net.sf.jabref.collab;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EntryDiffTest {
+
+    private static BibEntry createEntry(String key, String title) {
+        BibEntry entry = new BibEntry();
+        entry.setType("article");
+        entry.setCiteKey(key);
+        entry.setField("author", "Smith, John");
+        entry.setField("title", title);
+        entry.setField("year", "2016");
+        return entry;
+    }
+
+    @Test
+    public void unchangedEntriesAreNotReported() {
+        List<BibEntry> tmp = Arrays.asList(createEntry("a", "First"), createEntry("b", "Second"));
+        List<BibEntry> disk = Arrays.asList(createEntry("b", "Second"), createEntry("a", "First"));
+
+        EntryDiff diff = new EntryDiff(tmp, tmp, disk);
+
+        assertEquals(Collections.emptyList(), diff.getChangedEntries());
+        assertEquals(Collections.emptyList(), diff.getAddedEntries());
+    }
+
+    @Test
+    public void changedFieldIsMatchedByKey() {
+        BibEntry tmpEntry = createEntry("a", "First");
+        BibEntry diskEntry = createEntry("a", "First edition");
+        List<BibEntry> tmp = Arrays.asList(tmpEntry, createEntry("b", "Second"));
+
+        EntryDiff diff = new EntryDiff(tmp, tmp, Arrays.asList(createEntry("b", "Second"), diskEntry));
+
+        assertEquals(1, diff.getChangedEntries().size());
+        assertSame(tmpEntry, diff.getChangedEntries().get(0).getTmpEntry());
+        assertEquals(Optional.of(diskEntry), diff.getChangedEntries().get(0).getDiskEntry());
+        assertEquals(Collections.emptyList(), diff.getAddedEntries());
+    }
+
+    @Test
+    public void changedKeyIsMatchedBySimilarity() {
+        BibEntry tmpEntry = createEntry("a", "First");
+        BibEntry diskEntry = createEntry("Smith2016", "First");
+        List<BibEntry> tmp = Collections.singletonList(tmpEntry);
+
+        EntryDiff diff = new EntryDiff(tmp, tmp, Collections.singletonList(diskEntry));
+
+        assertEquals(1, diff.getChangedEntries().size());
+        assertEquals(Optional.of(diskEntry), diff.getChangedEntries().get(0).getDiskEntry());
+        assertEquals(Collections.emptyList(), diff.getAddedEntries());
+    }
+
+    @Test
+    public void deletedEntryHasNoDiskEntry() {
+        BibEntry deleted = new BibEntry();
+        deleted.setField("title", "Something completely different");
+        List<BibEntry> tmp = Arrays.asList(createEntry("a", "First"), deleted);
+
+        EntryDiff diff = new EntryDiff(tmp, tmp, Collections.singletonList(createEntry("a", "First")));
+
+        assertEquals(1, diff.getChangedEntries().size());
+        assertSame(deleted, diff.getChangedEntries().get(0).getTmpEntry());
+        assertEquals(Optional.empty(), diff.getChangedEntries().get(0).getDiskEntry());
+    }
+
+    @Test
+    public void addedEntryIsReported() {
+        BibEntry added = new BibEntry();
+        added.setField("title", "Something completely different");
+        List<BibEntry> tmp = Collections.singletonList(createEntry("a", "First"));
+
+        EntryDiff diff = new EntryDiff(tmp, tmp, Arrays.asList(createEntry("a", "First"), added));
+
+        assertEquals(Collections.emptyList(), diff.getChangedEntries());
+        assertEquals(Collections.singletonList(added), diff.getAddedEntries());
+    }
+
+    @Test
+    public void addedEntryAlreadyInMemoryIsNotReported() {
+        List<BibEntry> tmp = Collections.singletonList(createEntry("a", "First"));
+        List<BibEntry> memory = Arrays.asList(createEntry("a", "First"), createEntry("b", "Second"));
+
+        EntryDiff diff = new EntryDiff(memory, tmp, Arrays.asList(createEntry("a", "First"), createEntry("b", "Second")));
+
+        assertTrue(diff.getAddedEntries().isEmpty());
+    }
+
+    @Test
+    public void bestFitInMemoryPrefersIdenticalEntry() {
+        BibEntry identical = createEntry("b", "Second");
+        List<BibEntry> memory = Arrays.asList(createEntry("a", "Second"), identical);
+
+        EntryDiff diff = new EntryDiff(memory, Collections.emptyList(), Collections.emptyList());
+
+        assertSame(identical, diff.getBestFitInMemory(createEntry("b", "Second")));
+    }
+}
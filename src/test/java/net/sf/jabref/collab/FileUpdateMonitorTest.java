@@ -0,0 +1,150 @@
+package net.sf.jabref.collab;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileUpdateMonitorTest {
+
+    private static final int WRITES = 20;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path file;
+    private CountingListener listener;
+    private FileUpdateMonitor monitor;
+    private Thread monitorThread;
+
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("library.bib").toPath();
+        write("@article{test, title = {Test}}");
+        listener = new CountingListener();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        monitorThread.interrupt();
+        monitorThread.join();
+        monitor.shutdown();
+    }
+
+    private void startMonitor(FileUpdateMonitor fileUpdateMonitor) {
+        monitor = fileUpdateMonitor;
+        monitorThread = new Thread(monitor);
+        monitorThread.start();
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void burstOfExternalWritesIsReportedOnce() throws Exception {
+        startMonitor(new FileUpdateMonitor());
+        monitor.addUpdateListener(listener, file.toFile());
+
+        for (int i = 0; i < WRITES; i++) {
+            write("@article{test, title = {Test " + i + "}}");
+        }
+
+        assertTrue(listener.updated.await(5, TimeUnit.SECONDS));
+        // a monitor which did not wait for the burst to end reports further changes well within this quiet period
+        assertFalse(listener.updatedTwice.await(1, TimeUnit.SECONDS));
+        assertEquals(1, listener.updates.get());
+    }
+
+    @Test
+    public void externalWriteIsReportedByWatchService() throws Exception {
+        // the polling interval is longer than the test waits
+        startMonitor(new FileUpdateMonitor(FileSystems.getDefault().newWatchService(), 60000));
+        monitor.addUpdateListener(listener, file.toFile());
+
+        write("@article{test, title = {Changed externally}}");
+
+        assertTrue(listener.updated.await(20, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void externalWriteIsReportedWithoutWatchService() throws Exception {
+        startMonitor(new FileUpdateMonitor(null, 50));
+        monitor.addUpdateListener(listener, file.toFile());
+
+        write("@article{test, title = {Changed externally}}");
+
+        assertTrue(listener.updated.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void removedFileIsReported() throws Exception {
+        startMonitor(new FileUpdateMonitor());
+        monitor.addUpdateListener(listener, file.toFile());
+
+        Files.delete(file);
+
+        assertTrue(listener.removed.await(20, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void removedListenerIsNotNotified() throws Exception {
+        startMonitor(new FileUpdateMonitor(null, 50));
+        String handle = monitor.addUpdateListener(listener, file.toFile());
+        monitor.removeUpdateListener(handle);
+
+        write("@article{test, title = {Changed externally}}");
+
+        assertFalse(listener.updated.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void updatedTimeStampHidesOwnWrite() throws Exception {
+        startMonitor(new FileUpdateMonitor(null, 60000));
+        String handle = monitor.addUpdateListener(listener, file.toFile());
+
+        write("@article{test, title = {Saved by JabRef}}");
+        assertTrue(monitor.hasBeenModified(handle));
+        monitor.updateTimeStamp(handle);
+
+        assertFalse(monitor.hasBeenModified(handle));
+        assertEquals(0, listener.updates.get());
+    }
+
+
+    private static class CountingListener implements FileUpdateListener {
+
+        private final AtomicInteger updates = new AtomicInteger();
+        private final CountDownLatch updated = new CountDownLatch(1);
+        private final CountDownLatch updatedTwice = new CountDownLatch(2);
+        private final CountDownLatch removed = new CountDownLatch(1);
+
+
+        @Override
+        public void fileUpdated() {
+            updates.incrementAndGet();
+            updated.countDown();
+            updatedTwice.countDown();
+        }
+
+        @Override
+        public void fileRemoved() {
+            removed.countDown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package net.sf.jabref.logic.autosave;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.importer.fileformat.BibtexParser;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ChangeJournalTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private BibDatabase database;
+    private BibDatabaseContext databaseContext;
+    private Path snapshotFile;
+    private ImportFormatPreferences importFormatPreferences;
+    private SavePreferences savePreferences;
+
+
+    @Before
+    public void setUp() throws Exception {
+        importFormatPreferences = JabRefPreferences.getInstance().getImportFormatPreferences();
+        savePreferences = new SavePreferences().withEncoding(StandardCharsets.UTF_8);
+
+        database = new BibDatabase();
+        for (int i = 0; i < 5; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey("key" + i);
+            entry.setField("title", "Title " + i);
+            database.insertEntry(entry);
+        }
+        databaseContext = new BibDatabaseContext(database);
+        snapshotFile = testFolder.getRoot().toPath().resolve("library.bib.sav");
+    }
+
+    private BibDatabase recover() throws Exception {
+        ParserResult result = BibtexParser.parse(Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8),
+                importFormatPreferences);
+        ChangeJournal.replay(snapshotFile, result.getDatabase());
+        return result.getDatabase();
+    }
+
+    private static Optional<BibEntry> getEntry(BibDatabase database, String key) {
+        return database.getEntryByKey(key);
+    }
+
+    @Test
+    public void firstChangeWritesSnapshot() throws Exception {
+        ChangeJournal journal = new ChangeJournal(databaseContext, snapshotFile, savePreferences);
+        database.getEntries().get(0).setField("year", "2016");
+        journal.close();
+
+        BibDatabase recovered = recover();
+        assertEquals(5, recovered.getEntryCount());
+        assertEquals(Optional.of("2016"), getEntry(recovered, "key0").flatMap(entry -> entry.getField("year")));
+    }
+
+    @Test
+    public void changesAfterSnapshotAreReplayed() throws Exception {
+        ChangeJournal journal = new ChangeJournal(databaseContext, snapshotFile, savePreferences);
+        journal.compact();
+
+        database.getEntries().get(1).setField("title", "Changed\ttitle\nwith special characters \\");
+        database.getEntries().get(2).clearField("title");
+        database.getEntries().get(3).setType("book");
+        database.removeEntry(database.getEntries().get(4));
+        BibEntry addedEntry = new BibEntry();
+        addedEntry.setType("misc");
+        addedEntry.setCiteKey("added");
+        database.insertEntry(addedEntry);
+        addedEntry.setField("note", "Added later");
+        journal.close();
+
+        BibDatabase recovered = recover();
+        assertEquals(5, recovered.getEntryCount());
+        assertEquals(Optional.of("Changed\ttitle\nwith special characters \\"),
+                getEntry(recovered, "key1").flatMap(entry -> entry.getField("title")));
+        assertEquals(Optional.empty(), getEntry(recovered, "key2").flatMap(entry -> entry.getField("title")));
+        assertEquals("book", getEntry(recovered, "key3").get().getType());
+        assertFalse(getEntry(recovered, "key4").isPresent());
+        assertEquals("misc", getEntry(recovered, "added").get().getType());
+        assertEquals(Optional.of("Added later"), getEntry(recovered, "added").flatMap(entry -> entry.getField("note")));
+    }
+
+    @Test
+    public void compactionStartsEmptyJournal() throws Exception {
+        ChangeJournal journal = new ChangeJournal(databaseContext, snapshotFile, savePreferences);
+        journal.compact();
+        database.getEntries().get(0).setField("year", "2015");
+        journal.compact();
+        database.getEntries().get(0).setField("month", "May");
+        journal.close();
+
+        BibDatabase recovered = recover();
+        BibEntry entry = getEntry(recovered, "key0").get();
+        assertEquals(Optional.of("2015"), entry.getField("year"));
+        assertEquals(Optional.of("May"), entry.getField("month"));
+        assertEquals(2, Files.readAllLines(ChangeJournal.getJournalFile(snapshotFile)).size());
+    }
+
+    @Test
+    public void journalOfOlderSnapshotIsIgnored() throws Exception {
+        ChangeJournal journal = new ChangeJournal(databaseContext, snapshotFile, savePreferences);
+        journal.compact();
+        database.getEntries().get(0).setField("year", "2015");
+        journal.close();
+        Files.write(snapshotFile, "@Article{other,}\n".getBytes(StandardCharsets.UTF_8));
+
+        BibDatabase recovered = recover();
+        assertEquals(1, recovered.getEntryCount());
+        assertEquals(Optional.empty(), recovered.getEntries().get(0).getField("year"));
+    }
+
+    @Test
+    public void discardDeletesSnapshotAndJournal() throws Exception {
+        ChangeJournal journal = new ChangeJournal(databaseContext, snapshotFile, savePreferences);
+        journal.compact();
+        database.getEntries().get(0).setField("year", "2015");
+        journal.discard();
+        journal.close();
+
+        assertFalse(Files.exists(snapshotFile));
+        assertFalse(Files.exists(ChangeJournal.getJournalFile(snapshotFile)));
+    }
+}
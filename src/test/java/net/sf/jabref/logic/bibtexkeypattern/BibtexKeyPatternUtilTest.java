@@ -4,7 +4,6 @@ import java.util.Optional;
 
 import net.sf.jabref.logic.importer.ImportFormatPreferences;
 import net.sf.jabref.logic.importer.fileformat.BibtexParser;
-import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
 
@@ -44,7 +43,6 @@ public class BibtexKeyPatternUtilTest {
     @Before
     public void setUp() {
         importFormatPreferences = JabRefPreferences.getInstance().getImportFormatPreferences();
-        BibtexKeyPatternUtil.setDataBase(new BibDatabase());
     }
 
     @Test
@@ -1,5 +1,8 @@
 package net.sf.jabref.logic.bibtexkeypattern;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import net.sf.jabref.model.bibtexkeypattern.AbstractBibtexKeyPattern;
@@ -321,4 +324,64 @@ public class MakeLabelWithDatabaseTest {
         BibtexKeyPatternUtil.makeLabel(bibtexKeyPattern, database, entry, preferences);
         assertEquals(Optional.of("Aapoj"), entry.getCiteKeyOptional());
     }
+
+    @Test
+    public void generateKeysResolvesDuplicatesInGivenOrder() {
+        BibEntry entry2 = new BibEntry();
+        entry2.setField("author", "John Doe");
+        entry2.setField("year", "2016");
+        database.insertEntry(entry2);
+        BibEntry entry3 = new BibEntry();
+        entry3.setField("author", "John Doe");
+        entry3.setField("year", "2016");
+        database.insertEntry(entry3);
+
+        BibtexKeyPatternUtil.makeLabels(bibtexKeyPattern, database, Arrays.asList(entry, entry2, entry3),
+                preferences);
+
+        assertEquals(Optional.of("Doe2016"), entry.getCiteKeyOptional());
+        assertEquals(Optional.of("Doe2016a"), entry2.getCiteKeyOptional());
+        assertEquals(Optional.of("Doe2016b"), entry3.getCiteKeyOptional());
+    }
+
+    @Test
+    public void generateKeysKeepsExistingKeyOfEntry() {
+        entry.setCiteKey("Doe2016");
+        BibEntry entry2 = new BibEntry();
+        entry2.setField("author", "John Doe");
+        entry2.setField("year", "2016");
+        database.insertEntry(entry2);
+
+        BibtexKeyPatternUtil.makeLabels(bibtexKeyPattern, database, Arrays.asList(entry2, entry), preferences);
+
+        assertEquals(Optional.of("Doe2016a"), entry2.getCiteKeyOptional());
+        assertEquals(Optional.of("Doe2016"), entry.getCiteKeyOptional());
+    }
+
+    @Test
+    public void generateKeysGivesSameKeysAsGeneratingOneByOne() {
+        List<BibEntry> entries = new ArrayList<>();
+        List<BibEntry> copies = new ArrayList<>();
+        BibDatabase copiesDatabase = new BibDatabase();
+        for (int i = 0; i < 1000; i++) {
+            BibEntry bibEntry = new BibEntry();
+            bibEntry.setField("author", "John Doe" + (i % 7));
+            bibEntry.setField("year", String.valueOf(2000 + (i % 3)));
+            database.insertEntry(bibEntry);
+            entries.add(bibEntry);
+
+            BibEntry copy = (BibEntry) bibEntry.clone();
+            copiesDatabase.insertEntry(copy);
+            copies.add(copy);
+        }
+
+        BibtexKeyPatternUtil.makeLabels(bibtexKeyPattern, database, entries, preferences);
+        for (BibEntry copy : copies) {
+            BibtexKeyPatternUtil.makeLabel(bibtexKeyPattern, copiesDatabase, copy, preferences);
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(copies.get(i).getCiteKeyOptional(), entries.get(i).getCiteKeyOptional());
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package net.sf.jabref.logic.bst;
+
+import java.util.EmptyStackException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BstStackTest {
+
+    private final BstStack stack = new BstStack();
+
+
+    @Test
+    public void popReturnsValuesInReverseOrder() {
+        stack.push("a");
+        stack.push(null);
+        stack.pushInt(3);
+
+        Assert.assertEquals(3, stack.pop());
+        Assert.assertNull(stack.pop());
+        Assert.assertEquals("a", stack.pop());
+        Assert.assertTrue(stack.empty());
+    }
+
+    @Test
+    public void pushedIntegerIsStoredAsInteger() {
+        stack.push("a");
+        stack.push(Integer.valueOf(5));
+
+        Assert.assertTrue(stack.isInteger(0));
+        Assert.assertFalse(stack.isInteger(1));
+        Assert.assertFalse(stack.isInteger(2));
+        Assert.assertEquals(5, stack.popInt());
+    }
+
+    @Test
+    public void stackGrowsBeyondInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            stack.pushInt(i);
+        }
+
+        Assert.assertEquals(100, stack.size());
+        for (int i = 99; i >= 0; i--) {
+            Assert.assertEquals(i, stack.popInt());
+        }
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void popOnEmptyStackThrows() {
+        stack.pop();
+    }
+}
@@ -1,6 +1,8 @@
 package net.sf.jabref.logic.citationstyle;
 
 import net.sf.jabref.logic.util.TestEntry;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,4 +27,15 @@ public class CitationStyleTest {
         Assert.assertEquals(citation, expected);
     }
 
+    @Test
+    public void changedEntryWithSameKeyIsGeneratedAgain() {
+        BibEntry entry = TestEntry.getTestEntry();
+        String style = CitationStyle.getDefault().getSource();
+        CitationStyleGenerator.generateCitation(entry, style);
+
+        entry.setField(FieldName.TITLE, "Changed title");
+
+        Assert.assertTrue(CitationStyleGenerator.generateCitation(entry, style).contains("Changed title"));
+    }
+
 }
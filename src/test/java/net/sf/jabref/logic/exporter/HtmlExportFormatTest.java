@@ -3,9 +3,12 @@ package net.sf.jabref.logic.exporter;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
@@ -23,10 +26,14 @@ import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.assertEquals;
 
 public class HtmlExportFormatTest {
+
+    private static final Pattern KEY_ANCHOR = Pattern.compile("<a name=\"([^\"]*)\">");
+
     private IExportFormat exportFormat;
     public BibDatabaseContext databaseContext;
     public Charset charset;
     public List<BibEntry> entries;
+    private SavePreferences savePreferences;
 
     @Rule
     public TemporaryFolder testFolder = new TemporaryFolder();
@@ -38,7 +45,7 @@ public class HtmlExportFormatTest {
         Map<String, ExportFormat> customFormats = prefs.customExports.getCustomExportFormats(prefs,
                 journalAbbreviationLoader);
         LayoutFormatterPreferences layoutPreferences = prefs.getLayoutFormatterPreferences(journalAbbreviationLoader);
-        SavePreferences savePreferences = SavePreferences.loadForExportFromPreferences(prefs);
+        savePreferences = SavePreferences.loadForExportFromPreferences(prefs);
         ExportFormats.initAllExports(customFormats, layoutPreferences, savePreferences);
 
         exportFormat = ExportFormats.getExportFormat("html");
@@ -65,4 +72,31 @@ public class HtmlExportFormatTest {
         List<String> lines = Files.readAllLines(tmpFile.toPath());
         assertEquals("</html>", lines.get(lines.size() - 1));
     }
+
+    @Test
+    public void exportManyEntriesInSortedOrder() throws Exception {
+        List<BibEntry> manyEntries = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("title", "my paper title " + i);
+            entry.setField("author", "Stefan Kolb" + (i % 17));
+            entry.setCiteKey("mykey" + i);
+            manyEntries.add(entry);
+        }
+        File tmpFile = testFolder.newFile();
+        exportFormat.performExport(databaseContext, tmpFile.getCanonicalPath(), charset, manyEntries);
+
+        List<String> expectedKeys = new ArrayList<>();
+        for (BibEntry entry : BibDatabaseWriter.getSortedEntries(databaseContext, manyEntries, savePreferences)) {
+            expectedKeys.add(entry.getCiteKey());
+        }
+        List<String> exportedKeys = new ArrayList<>();
+        for (String line : Files.readAllLines(tmpFile.toPath())) {
+            Matcher matcher = KEY_ANCHOR.matcher(line);
+            if (matcher.find()) {
+                exportedKeys.add(matcher.group(1));
+            }
+        }
+        assertEquals(expectedKeys, exportedKeys);
+    }
 }
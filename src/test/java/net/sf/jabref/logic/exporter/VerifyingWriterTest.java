@@ -0,0 +1,37 @@
+package net.sf.jabref.logic.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VerifyingWriterTest {
+
+    @Test
+    public void asciiTextCanBeEncoded() throws Exception {
+        VerifyingWriter writer = new VerifyingWriter(new ByteArrayOutputStream(), StandardCharsets.ISO_8859_1);
+        writer.write("@Article{key, title = {Title}}");
+        assertTrue(writer.couldEncodeAll());
+        assertEquals("", writer.getProblemCharacters());
+    }
+
+    @Test
+    public void unencodableCharactersAreRemembered() throws Exception {
+        VerifyingWriter writer = new VerifyingWriter(new ByteArrayOutputStream(), StandardCharsets.ISO_8859_1);
+        writer.write("Müller");
+        writer.write("α and β");
+        assertFalse(writer.couldEncodeAll());
+        assertEquals("αβ", writer.getProblemCharacters());
+    }
+
+    @Test
+    public void nonAsciiCharactersAreCheckedForAsciiIncompatibleEncoding() throws Exception {
+        VerifyingWriter writer = new VerifyingWriter(new ByteArrayOutputStream(), StandardCharsets.UTF_16);
+        writer.write("Müller α");
+        assertTrue(writer.couldEncodeAll());
+    }
+}
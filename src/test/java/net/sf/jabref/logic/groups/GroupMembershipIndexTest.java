@@ -0,0 +1,194 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.groups.AllEntriesGroup;
+import net.sf.jabref.model.groups.GroupHierarchyType;
+import net.sf.jabref.model.groups.GroupTreeNode;
+import net.sf.jabref.model.groups.KeywordGroup;
+import net.sf.jabref.model.search.SearchMatcher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private GroupTreeNode root;
+    private GroupTreeNode including;
+    private GroupTreeNode refining;
+    private GroupMembershipIndex index;
+
+
+    /**
+     * Creates the following tree:
+     * Root
+     *      A keyword a, Including
+     *          B keyword b, Refining
+     *              C keyword c, Including
+     *          B keyword d, Independent
+     *      A keyword e, Refining
+     */
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        database.insertEntry(withKeywords("a, b"));
+        database.insertEntry(withKeywords("b, c"));
+        database.insertEntry(withKeywords("d"));
+        database.insertEntry(withKeywords("A, e"));
+        database.insertEntry(new BibEntry());
+
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        including = root.addSubgroup(getKeywordGroup("a", GroupHierarchyType.INCLUDING));
+        refining = including.addSubgroup(getKeywordGroup("b", GroupHierarchyType.REFINING));
+        refining.addSubgroup(getKeywordGroup("c", GroupHierarchyType.INCLUDING));
+        including.addSubgroup(getKeywordGroup("d", GroupHierarchyType.INDEPENDENT));
+        root.addSubgroup(getKeywordGroup("e", GroupHierarchyType.REFINING));
+
+        index = new GroupMembershipIndex(database);
+    }
+
+    private static BibEntry withKeywords(String keywords) {
+        return new BibEntry().withField("keywords", keywords);
+    }
+
+    private static KeywordGroup getKeywordGroup(String keyword, GroupHierarchyType context) {
+        return new KeywordGroup("keyword " + keyword, "keywords", keyword, false, false, context, ',');
+    }
+
+    private void assertSameAsTree() {
+        List<BibEntry> entries = database.getEntries();
+        for (GroupTreeNode node : getAllNodes(root)) {
+            assertEquals(node.toString(), node.numberOfHits(entries), index.getNumberOfHits(node));
+        }
+        for (BibEntry entry : entries) {
+            List<BibEntry> selection = Collections.singletonList(entry);
+            assertEquals(root.getMatchingGroups(selection), index.getMatchingGroups(root, selection));
+            assertEquals(root.getContainingGroups(selection, true), index.getContainingGroups(root, selection, true));
+        }
+        assertEquals(root.getContainingGroups(entries, false), index.getContainingGroups(root, entries, false));
+        assertEquals(root.getContainingGroups(entries, true), index.getContainingGroups(root, entries, true));
+    }
+
+    private static List<GroupTreeNode> getAllNodes(GroupTreeNode node) {
+        List<GroupTreeNode> nodes = new ArrayList<>();
+        nodes.add(node);
+        for (GroupTreeNode child : node.getChildren()) {
+            nodes.addAll(getAllNodes(child));
+        }
+        return nodes;
+    }
+
+    @Test
+    public void indexMatchesTree() {
+        assertSameAsTree();
+    }
+
+    @Test
+    public void numberOfHitsOfIncludingGroupContainsHitsOfSubgroups() {
+        // "a, b" and "A, e" by itself, "b, c" by keyword b and "d" by keyword d
+        assertEquals(4, index.getNumberOfHits(including));
+    }
+
+    @Test
+    public void changedEntryIsReindexed() {
+        assertSameAsTree();
+
+        database.getEntries().get(4).setField("keywords", "a, b, c");
+
+        assertSameAsTree();
+    }
+
+    @Test
+    public void addedAndRemovedEntriesAreReindexed() {
+        assertSameAsTree();
+
+        database.insertEntry(withKeywords("b, d"));
+        database.removeEntry(database.getEntries().get(0));
+
+        assertSameAsTree();
+    }
+
+    @Test
+    public void entriesInsertedWhileIndexingAreIndexed() throws InterruptedException {
+        Thread inserter = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                database.insertEntry(withKeywords("a"));
+            }
+        });
+        inserter.start();
+        index = new GroupMembershipIndex(database);
+        inserter.join();
+
+        assertSameAsTree();
+    }
+
+    @Test
+    public void closedIndexStopsListening() {
+        index.close();
+        database.insertEntry(withKeywords("a"));
+
+        assertEquals(4, index.getNumberOfHits(including));
+    }
+
+    @Test
+    public void changedTreeIsReindexed() {
+        assertSameAsTree();
+
+        refining.addSubgroup(getKeywordGroup("d", GroupHierarchyType.INDEPENDENT));
+        including.getChildren().get(1).setGroup(getKeywordGroup("e", GroupHierarchyType.INCLUDING));
+        root.getChildren().get(1).moveTo(refining);
+
+        assertSameAsTree();
+    }
+
+    @Test
+    public void containingGroupsOfSubtree() {
+        List<BibEntry> selection = Arrays.asList(database.getEntries().get(0), database.getEntries().get(1));
+
+        assertEquals(including.getContainingGroups(selection, false),
+                index.getContainingGroups(including, selection, false));
+    }
+
+    @Test
+    public void searchRuleMatchesSameEntriesAsSearchRulesOfNodes() {
+        List<GroupTreeNode> nodes = Arrays.asList(refining, including.getChildren().get(1));
+
+        SearchMatcher any = index.getSearchRule(nodes, false);
+        SearchMatcher all = index.getSearchRule(nodes, true);
+
+        for (BibEntry entry : database.getEntries()) {
+            assertEquals(nodes.stream().anyMatch(node -> node.getSearchRule().isMatch(entry)), any.isMatch(entry));
+            assertEquals(nodes.stream().allMatch(node -> node.getSearchRule().isMatch(entry)), all.isMatch(entry));
+        }
+    }
+
+    @Test
+    public void searchRuleEvaluatesEntriesAddedLater() {
+        SearchMatcher matcher = index.getSearchRule(Collections.singletonList(including), false);
+        BibEntry entry = withKeywords("a");
+        database.insertEntry(entry);
+
+        assertTrue(matcher.isMatch(entry));
+        assertFalse(matcher.isMatch(database.getEntries().get(4)));
+    }
+
+    @Test
+    public void keywordGroupIgnoresCase() {
+        List<GroupTreeNode> groups = index.getContainingGroups(root,
+                Collections.singletonList(database.getEntries().get(3)), true);
+
+        assertEquals(Arrays.asList("All entries", "keyword a", "keyword e"),
+                groups.stream().map(GroupTreeNode::getName).collect(Collectors.toList()));
+    }
+}
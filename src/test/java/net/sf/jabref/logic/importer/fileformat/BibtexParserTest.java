@@ -1724,4 +1724,35 @@ public class BibtexParserTest {
         assertFalse(result.hasWarnings());
         assertEquals(Optional.empty(), result.getDatabase().getPreamble());
     }
+
+    @Test
+    public void parseInputLargerThanReadChunkKeepsParsedSerialization() throws IOException {
+        StringBuilder bibtexString = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            bibtexString.append("@article{test").append(i).append(",").append(OS.NEWLINE)
+                    .append("  author = {Ed von Test ").append(i).append("}").append(OS.NEWLINE)
+                    .append("}").append(OS.NEWLINE);
+        }
+
+        ParserResult result = BibtexParser.parse(new StringReader(bibtexString.toString()), importFormatPreferences);
+        List<BibEntry> entries = result.getDatabase().getEntries();
+
+        assertEquals(500, entries.size());
+        assertEquals(Optional.of("test499"), entries.get(499).getCiteKeyOptional());
+        assertEquals("@article{test499," + OS.NEWLINE + "  author = {Ed von Test 499}" + OS.NEWLINE + "}"
+                + OS.NEWLINE, entries.get(499).getParsedSerialization());
+    }
+
+    @Test
+    public void parseTwiceWithSameParserReturnsSameResult() throws IOException {
+        BibtexParser parser = new BibtexParser(importFormatPreferences);
+
+        List<BibEntry> first = parser.parse(new StringReader("@article{test,author={Ed von Test}}")).getDatabase()
+                .getEntries();
+        List<BibEntry> second = parser.parse(new StringReader("@article{test,author={Ed von Test}}")).getDatabase()
+                .getEntries();
+
+        assertEquals(1, second.size());
+        assertEquals(first.get(0).getFieldMap(), second.get(0).getFieldMap());
+    }
 }
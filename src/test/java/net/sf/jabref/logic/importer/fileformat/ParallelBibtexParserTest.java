@@ -0,0 +1,107 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Optional;
+
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.util.OS;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelBibtexParserTest {
+
+    private static ImportFormatPreferences importFormatPreferences;
+
+    private static String bibtexString;
+
+
+    @BeforeClass
+    public static void setUp() {
+        importFormatPreferences = JabRefPreferences.getInstance().getImportFormatPreferences();
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("% Encoding: UTF-8").append(OS.NEWLINE).append(OS.NEWLINE);
+        builder.append("@Preamble{ \"some preamble\" }").append(OS.NEWLINE).append(OS.NEWLINE);
+        builder.append("@String{journal = {Journal of Something}}").append(OS.NEWLINE).append(OS.NEWLINE);
+        for (int i = 0; i < 200; i++) {
+            if ((i % 7) == 0) {
+                builder.append("% comment in front of entry ").append(i).append(OS.NEWLINE);
+            }
+            if ((i % 11) == 0) {
+                builder.append("@Comment{some comment}").append(OS.NEWLINE);
+            }
+            builder.append("@Article{key").append(i % 150).append(',').append(OS.NEWLINE)
+                    .append("  author  = {Author ").append(i).append("},").append(OS.NEWLINE)
+                    .append("  title   = {Title with {braces} and \\{ escaped one ").append(i).append("},")
+                    .append(OS.NEWLINE)
+                    .append("  journal = journal").append(OS.NEWLINE)
+                    .append('}').append(OS.NEWLINE).append(OS.NEWLINE);
+        }
+        builder.append("@Comment{jabref-meta: databaseType:biblatex;}").append(OS.NEWLINE);
+        builder.append("some epilog").append(OS.NEWLINE);
+        bibtexString = builder.toString();
+    }
+
+    @Test
+    public void splitsLargeInputIntoSeveralChunks() {
+        ParallelBibtexParser parser = new ParallelBibtexParser(importFormatPreferences, 4, 1000);
+
+        List<ParallelBibtexParser.Chunk> chunks = parser.splitIntoChunks(bibtexString.toCharArray(),
+                bibtexString.length());
+
+        assertTrue(chunks.size() > 1);
+        for (ParallelBibtexParser.Chunk chunk : chunks.subList(1, chunks.size())) {
+            assertTrue(bibtexString.substring(chunk.getStart()).trim().startsWith("@"));
+        }
+        assertEquals(bibtexString.length(), chunks.get(chunks.size() - 1).getEnd());
+    }
+
+    @Test
+    public void parseInChunksYieldsSameResultAsSequentialParser() throws IOException {
+        ParserResult expected = new BibtexParser(importFormatPreferences).parse(new StringReader(bibtexString));
+        ParserResult actual = new ParallelBibtexParser(importFormatPreferences, 4, 1000)
+                .parse(new StringReader(bibtexString));
+
+        List<BibEntry> expectedEntries = expected.getDatabase().getEntries();
+        List<BibEntry> actualEntries = actual.getDatabase().getEntries();
+        assertEquals(expectedEntries, actualEntries);
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals(expectedEntries.get(i).getParsedSerialization(),
+                    actualEntries.get(i).getParsedSerialization());
+        }
+
+        assertEquals(expected.getDuplicateKeys(), actual.getDuplicateKeys());
+        assertEquals(expected.getDatabase().getPreamble(), actual.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getEpilog(), actual.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData(), actual.getMetaData());
+    }
+
+    @Test
+    public void parseResolvesStringsDefinedInOtherChunk() throws IOException {
+        ParserResult result = new ParallelBibtexParser(importFormatPreferences, 4, 1000)
+                .parse(new StringReader(bibtexString));
+
+        BibEntry lastEntry = result.getDatabase().getEntries().get(199);
+        assertEquals(Optional.of("Journal of Something"),
+                lastEntry.getResolvedFieldOrAlias("journal", result.getDatabase()));
+    }
+
+    @Test
+    public void parseSmallInputWithDefaultChunkSize() throws IOException {
+        ParserResult result = new ParallelBibtexParser(importFormatPreferences)
+                .parse(new StringReader("@article{test,author={Ed von Test}}"));
+
+        List<BibEntry> entries = result.getDatabase().getEntries();
+        assertEquals(1, entries.size());
+        assertEquals(Optional.of("Ed von Test"), entries.get(0).getField("author"));
+    }
+}
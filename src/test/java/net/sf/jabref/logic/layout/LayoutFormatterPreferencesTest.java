@@ -0,0 +1,42 @@
+package net.sf.jabref.logic.layout;
+
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class LayoutFormatterPreferencesTest {
+
+    private final JournalAbbreviationLoader loader = mock(JournalAbbreviationLoader.class);
+
+
+    @Test
+    public void preferencesReadTwiceAreEqual() {
+        LayoutFormatterPreferences first = JabRefPreferences.getInstance().getLayoutFormatterPreferences(loader);
+        LayoutFormatterPreferences second = JabRefPreferences.getInstance().getLayoutFormatterPreferences(loader);
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void customExportNameFormattersAreIgnored() {
+        LayoutFormatterPreferences first = JabRefPreferences.getInstance().getLayoutFormatterPreferences(loader);
+        LayoutFormatterPreferences second = JabRefPreferences.getInstance().getLayoutFormatterPreferences(loader);
+        second.putCustomExportNameFormatter("MyFormatter", "1@*@{ll}");
+
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void preferencesWithDifferentLoadersDiffer() {
+        LayoutFormatterPreferences first = JabRefPreferences.getInstance().getLayoutFormatterPreferences(loader);
+        LayoutFormatterPreferences second = JabRefPreferences.getInstance()
+                .getLayoutFormatterPreferences(mock(JournalAbbreviationLoader.class));
+
+        Assert.assertNotEquals(first, second);
+    }
+}
@@ -113,4 +113,25 @@ JabRefPreferences.getInstance().getImportFormatPreferences());
                 "<font face=\"arial\"><BR><BR><b>Abstract: </b> &ntilde; &ntilde; &iacute; &imath; &imath;</font>",
                 layoutText);
     }
+
+    @Test
+    public void layoutWithNumberDependsOnEntryOrder() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\format[Number]{\\title}"), prefs).getLayoutFromText();
+        Assert.assertTrue(layout.dependsOnEntryOrder());
+    }
+
+    @Test
+    public void layoutWithGroupDependsOnEntryOrder() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\begingroup{year}\\year\\endgroup{year} \\title"), prefs)
+                .getLayoutFromText();
+        Assert.assertTrue(layout.dependsOnEntryOrder());
+    }
+
+    @Test
+    public void layoutWithFieldsDoesNotDependOnEntryOrder() throws IOException {
+        Layout layout = new LayoutHelper(
+                new StringReader("\\begin{author}\\format[ToLowerCase]{\\author}\\end{author} \\title"), prefs)
+                        .getLayoutFromText();
+        Assert.assertFalse(layout.dependsOnEntryOrder());
+    }
 }
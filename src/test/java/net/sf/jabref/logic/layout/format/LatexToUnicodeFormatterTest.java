@@ -87,4 +87,25 @@ public class LatexToUnicodeFormatterTest {
     public void unknownCommandWithEmptyArgumentIsKept() {
         assertEquals("aaaa", formatter.format("\\aaaa{}"));
     }
+
+    @Test
+    public void testEscapedAmpersand() {
+        assertEquals("Tom & Jerry", formatter.format("Tom \\& Jerry"));
+        assertEquals("A & B", formatter.format("A & B"));
+    }
+
+    @Test
+    public void testConsecutiveLineBreaksAreMerged() {
+        assertEquals("first\nsecond", formatter.format("first\n\nsecond"));
+    }
+
+    @Test
+    public void testEscapedDollarSignAndEquation() {
+        assertEquals("costs $5 or x", formatter.format("costs \\$5 or $x$"));
+    }
+
+    @Test
+    public void testUnmatchedDollarSignIsKept() {
+        assertEquals("an $unmatched dollar", formatter.format("an $unmatched dollar"));
+    }
 }
@@ -0,0 +1,164 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchIndexTest {
+
+    private BibDatabase database;
+    private BibEntry harrer;
+    private BibEntry miller;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+
+        harrer = new BibEntry();
+        harrer.setType("article");
+        harrer.setField("author", "Harrer, Simon");
+        harrer.setField("title", "Process-aware {Software} Engineering");
+        database.insertEntry(harrer);
+
+        miller = new BibEntry();
+        miller.setType("book");
+        miller.setField("author", "Miller, Anne");
+        miller.setField("title", "Software Testing");
+        database.insertEntry(miller);
+    }
+
+    @Test
+    public void getMatchesFindsSubstringsOfWords() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(harrer), index.getMatches(new SearchQuery("arre", false, false)));
+    }
+
+    @Test
+    public void getMatchesFindsShortSubstringsOfWords() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(harrer), index.getMatches(new SearchQuery("rr", false, false)));
+        assertEquals(Arrays.asList(harrer, miller), index.getMatches(new SearchQuery("w", false, false)));
+    }
+
+    @Test
+    public void getMatchesFindsSubstringsContainingAllGramsOfOtherWords() {
+        SearchIndex index = new SearchIndex(database);
+        BibEntry entry = new BibEntry();
+        entry.setField("title", "abcxbcd");
+        database.insertEntry(entry);
+
+        // the word contains the grams abc and bcd, but not abcd
+        assertEquals(Collections.emptyList(), index.getMatches(new SearchQuery("abcd", false, false)));
+        assertEquals(Collections.singletonList(entry), index.getMatches(new SearchQuery("cxbc", false, false)));
+    }
+
+    @Test
+    public void getMatchesFindsWordsInDifferentFields() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(miller),
+                index.getMatches(new SearchQuery("miller testing", false, false)));
+    }
+
+    @Test
+    public void getMatchesFindsWordsSpanningSpecialCharacters() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(harrer),
+                index.getMatches(new SearchQuery("process-aware software", false, false)));
+    }
+
+    @Test
+    public void getMatchesKeepsDatabaseOrder() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Arrays.asList(harrer, miller), index.getMatches(new SearchQuery("software", false, false)));
+    }
+
+    @Test
+    public void getMatchesRespectsCaseSensitivity() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.emptyList(), index.getMatches(new SearchQuery("software testing", true, false)));
+        assertEquals(Collections.singletonList(miller),
+                index.getMatches(new SearchQuery("Software Testing", true, false)));
+    }
+
+    @Test
+    public void getMatchesWithGrammarBasedQuery() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(miller),
+                index.getMatches(new SearchQuery("author = miller and title = software", false, false)));
+        assertEquals(Collections.singletonList(harrer),
+                index.getMatches(new SearchQuery("not author = miller", false, false)));
+    }
+
+    @Test
+    public void getMatchesWithRegularExpression() {
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(harrer),
+                index.getMatches(new SearchQuery("author = h.*r", false, true)));
+    }
+
+    @Test
+    public void getMatchesReflectsAddedEntry() {
+        SearchIndex index = new SearchIndex(database);
+        BibEntry entry = new BibEntry();
+        entry.setField("title", "Software Architecture");
+        database.insertEntry(entry);
+
+        assertEquals(Collections.singletonList(entry), index.getMatches(new SearchQuery("architec", false, false)));
+    }
+
+    @Test
+    public void getMatchesReflectsChangedField() {
+        SearchIndex index = new SearchIndex(database);
+        miller.setField("author", "Smith, Anne");
+
+        assertEquals(Collections.emptyList(), index.getMatches(new SearchQuery("miller", false, false)));
+        assertEquals(Collections.emptyList(), index.getMatches(new SearchQuery("ill", false, false)));
+        assertEquals(Collections.singletonList(miller), index.getMatches(new SearchQuery("smith", false, false)));
+    }
+
+    @Test
+    public void getMatchesReflectsRemovedEntry() {
+        SearchIndex index = new SearchIndex(database);
+        database.removeEntry(harrer);
+
+        assertEquals(Collections.singletonList(miller), index.getMatches(new SearchQuery("software", false, false)));
+    }
+
+    @Test
+    public void getMatchesFindsEntriesInsertedWhileIndexing() throws InterruptedException {
+        Thread inserter = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                BibEntry entry = new BibEntry();
+                entry.setField("title", "Concurrent " + i);
+                database.insertEntry(entry);
+            }
+        });
+        inserter.start();
+        SearchIndex index = new SearchIndex(database);
+        inserter.join();
+
+        assertEquals(1000, index.getMatches(new SearchQuery("concurrent", false, false)).size());
+    }
+
+    @Test
+    public void getLongestRunIgnoresSpecialCharacters() {
+        assertEquals("aware", SearchIndex.getLongestRun("{pro-aware}"));
+        assertEquals("", SearchIndex.getLongestRun("--"));
+    }
+}
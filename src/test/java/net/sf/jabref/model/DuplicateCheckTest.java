@@ -1,5 +1,10 @@
 package net.sf.jabref.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexEntryTypes;
@@ -87,4 +92,42 @@ public class DuplicateCheckTest {
         assertEquals(0.78, (DuplicateCheck.correlateByWords(d2, d3)), 0.01);
     }
 
+    @Test
+    public void findDuplicatesFindsSamePairsAsComparingEveryPair() {
+        String[] words = {"analysis", "software", "process", "model", "evaluation", "parallel", "distributed"};
+        Random random = new Random(42);
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            BibEntry entry = new BibEntry(IdGenerator.next(), BibtexEntryTypes.ARTICLE.getName());
+            entry.setField("author", "Lastname" + random.nextInt(50) + ", Firstname and Other, Author");
+            StringBuilder title = new StringBuilder();
+            for (int j = 0; j < 6; j++) {
+                title.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            entry.setField("title", title.append(i).toString());
+            entry.setField("journal", "Journal " + random.nextInt(50));
+            entry.setField("year", String.valueOf(1990 + random.nextInt(25)));
+            entries.add(entry);
+
+            if ((i % 10) == 0) {
+                // a slightly different copy, as produced by importing the same publication twice
+                BibEntry copy = (BibEntry) entry.clone();
+                copy.setField("title", entry.getField("title").get().replaceFirst("a", "e"));
+                entries.add(copy);
+            }
+        }
+
+        List<List<BibEntry>> allPairs = new ArrayList<>();
+        for (int i = 0; i < (entries.size() - 1); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                if (DuplicateCheck.isDuplicate(entries.get(i), entries.get(j), BibDatabaseMode.BIBTEX)) {
+                    allPairs.add(Arrays.asList(entries.get(i), entries.get(j)));
+                }
+            }
+        }
+
+        assertFalse(allPairs.isEmpty());
+        assertEquals(allPairs, DuplicateCheck.findDuplicates(entries, BibDatabaseMode.BIBTEX));
+    }
+
 }
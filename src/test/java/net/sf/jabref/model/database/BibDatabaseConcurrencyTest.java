@@ -0,0 +1,122 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs parallel searches on a {@link BibDatabase} while entries are inserted and removed.
+ */
+public class BibDatabaseConcurrencyTest {
+
+    private static final int STABLE_ENTRIES = 1000;
+    private static final int CHANGED_ENTRIES = 2000;
+    private static final int READERS = 4;
+
+    private BibDatabase database;
+    private ExecutorService executor;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        for (int i = 0; i < STABLE_ENTRIES; i++) {
+            database.insertEntry(createEntry("stable" + i));
+        }
+        executor = Executors.newFixedThreadPool(READERS + 1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 60000)
+    public void searchWhileInsertingAndRemovingSeesConsistentSnapshots() throws Exception {
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            readers.add(executor.submit(() -> {
+                int searches = 0;
+                while (writing.get() || (searches == 0)) {
+                    List<BibEntry> snapshot = database.getEntries();
+                    List<BibEntry> stableMatches = snapshot.parallelStream()
+                            .filter(entry -> entry.getField("title").map(title -> title.startsWith("stable"))
+                                    .orElse(false))
+                            .collect(Collectors.toList());
+                    assertEquals(STABLE_ENTRIES, stableMatches.size());
+
+                    Set<String> ids = new HashSet<>();
+                    for (BibEntry entry : snapshot) {
+                        assertTrue(ids.add(entry.getId()));
+                    }
+
+                    Optional<BibEntry> byKey = database.getEntryByKey("stable" + (searches % STABLE_ENTRIES));
+                    assertTrue(byKey.isPresent());
+                    searches++;
+                }
+                return searches;
+            }));
+        }
+
+        Future<?> writer = executor.submit(() -> {
+            try {
+                List<BibEntry> inserted = new ArrayList<>();
+                for (int i = 0; i < CHANGED_ENTRIES; i++) {
+                    BibEntry entry = createEntry("changed" + i);
+                    database.insertEntry(entry);
+                    inserted.add(entry);
+                    if ((i % 3) == 0) {
+                        database.removeEntry(inserted.remove(0));
+                    }
+                }
+                for (BibEntry entry : inserted) {
+                    database.removeEntry(entry);
+                }
+            } finally {
+                writing.set(false);
+            }
+        });
+
+        writer.get(60, TimeUnit.SECONDS);
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+        }
+        assertEquals(STABLE_ENTRIES, database.getEntryCount());
+        assertEquals(0, database.getNumberOfKeyOccurrences("changed0"));
+    }
+
+    @Test
+    public void getEntriesReturnsSnapshot() {
+        List<BibEntry> snapshot = database.getEntries();
+        database.insertEntry(createEntry("new"));
+
+        assertEquals(STABLE_ENTRIES, snapshot.size());
+        assertEquals(STABLE_ENTRIES + 1, database.getEntries().size());
+    }
+
+    private static BibEntry createEntry(String key) {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey(key);
+        entry.setField("title", key + " title");
+        return entry;
+    }
+}
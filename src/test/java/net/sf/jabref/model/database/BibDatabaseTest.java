@@ -1,13 +1,21 @@
 package net.sf.jabref.model.database;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import net.sf.jabref.model.database.event.BibDatabaseListener;
+import net.sf.jabref.model.database.event.EntriesChangedEvent;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
 import net.sf.jabref.model.entry.IdGenerator;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
 import net.sf.jabref.model.event.TestEventListener;
 
+import com.google.common.eventbus.Subscribe;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -42,6 +50,18 @@ public class BibDatabaseTest {
         assertEquals(entry, database.getEntries().get(0));
     }
 
+    @Test
+    public void getEntryCountReflectsChangesBeforeEntriesAreRead() {
+        BibEntry entry = new BibEntry();
+        assertFalse(database.hasEntries());
+        database.insertEntry(entry);
+        assertEquals(1, database.getEntryCount());
+        assertTrue(database.hasEntries());
+        database.removeEntry(entry);
+        assertEquals(0, database.getEntryCount());
+        assertFalse(database.hasEntries());
+    }
+
     @Test
     public void containsEntryIdFindsEntry() {
         BibEntry entry = new BibEntry();
@@ -173,6 +193,122 @@ public class BibDatabaseTest {
         assertEquals(entry, tel.getBibEntry());
     }
 
+    @Test
+    public void changingRemovedEntryPostsNoEvent() {
+        BibEntry entry = new BibEntry();
+        TestEventListener tel = new TestEventListener();
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        database.registerListener(tel);
+
+        entry.setField("test", "some value");
+
+        assertNull(tel.getBibEntry());
+    }
+
+    @Test
+    public void changingEntriesInBatchPostsSingleEvent() {
+        BibEntry first = new BibEntry();
+        BibEntry second = new BibEntry();
+        database.insertEntry(first);
+        database.insertEntry(second);
+        List<EntriesChangedEvent> batchEvents = new ArrayList<>();
+        TestEventListener tel = new TestEventListener();
+        database.registerListener(tel);
+        database.registerListener(new Object() {
+
+            @Subscribe
+            public void listen(EntriesChangedEvent event) {
+                batchEvents.add(event);
+            }
+        });
+
+        database.startBatch();
+        first.setField("title", "first");
+        database.startBatch();
+        second.setField("title", "second");
+        database.endBatch();
+        first.setField("year", "2016");
+        assertTrue(batchEvents.isEmpty());
+        database.endBatch();
+
+        assertNull(tel.getBibEntry());
+        assertEquals(1, batchEvents.size());
+        assertEquals(Arrays.asList(first, second), batchEvents.get(0).getBibEntries());
+        assertEquals(3, batchEvents.get(0).getFieldChanges().size());
+    }
+
+    @Test
+    public void changingEntryNotifiesListenerBeforeSubscribers() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        List<String> notifications = new ArrayList<>();
+        database.registerListener(new Object() {
+
+            @Subscribe
+            public void listen(FieldChangedEvent event) {
+                notifications.add("subscriber");
+            }
+        });
+        database.addListener(new BibDatabaseListener() {
+
+            @Override
+            public void listen(FieldChangedEvent event) {
+                notifications.add("listener " + event.getNewValue());
+            }
+        });
+
+        entry.setField("title", "changed");
+
+        assertEquals(Arrays.asList("listener changed", "subscriber"), notifications);
+    }
+
+    @Test
+    public void changingEntriesInBatchPassesChangesToListenerByDefault() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        List<String> changedFields = new ArrayList<>();
+        database.addListener(new BibDatabaseListener() {
+
+            @Override
+            public void listen(FieldChangedEvent event) {
+                changedFields.add(event.getFieldName());
+            }
+        });
+
+        database.startBatch();
+        entry.setField("title", "first");
+        entry.setField("year", "2016");
+        assertTrue(changedFields.isEmpty());
+        database.endBatch();
+
+        assertEquals(Arrays.asList("title", "year"), changedFields);
+    }
+
+    @Test
+    public void removedListenerIsNotNotified() {
+        List<BibEntry> addedEntries = new ArrayList<>();
+        BibDatabaseListener listener = new BibDatabaseListener() {
+
+            @Override
+            public void listen(EntryAddedEvent event) {
+                addedEntries.add(event.getBibEntry());
+            }
+        };
+        database.addListener(listener);
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        database.removeListener(listener);
+        database.insertEntry(new BibEntry());
+
+        assertEquals(Collections.singletonList(entry), addedEntries);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void endBatchWithoutStartThrowsException() {
+        database.endBatch();
+    }
+
     @Test
     public void correctKeyCountOne() {
         BibEntry entry = new BibEntry();
@@ -248,6 +384,53 @@ public class BibDatabaseTest {
         assertEquals(database.getNumberOfKeyOccurrences("AAA"), 1);
     }
 
+    @Test
+    public void getEntryByKeyFindsEntryAfterKeyChange() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntryByKeyIgnoresRemovedEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.empty(), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntriesByKeyKeepsDatabaseOrder() {
+        BibEntry first = new BibEntry();
+        first.setCiteKey("BBB");
+        first.setField("title", "first");
+        database.insertEntry(first);
+        BibEntry second = new BibEntry();
+        second.setCiteKey("AAA");
+        second.setField("title", "second");
+        database.insertEntry(second);
+        first.setCiteKey("AAA");
+        assertEquals(Arrays.asList(first, second), database.getEntriesByKey("AAA"));
+        assertEquals(Optional.of(first), database.getEntryByKey("AAA"));
+    }
+
+    @Test
+    public void getReferencedEntryFindsCrossref() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        BibEntry referencing = new BibEntry();
+        referencing.setField("crossref", "AAA");
+        database.insertEntry(referencing);
+        assertEquals(Optional.of(entry), database.getReferencedEntry(referencing));
+    }
+
     @Test
     public void circularStringResolving() {
         BibtexString string = new BibtexString(IdGenerator.next(), "AAA", "#BBB#");
@@ -0,0 +1,91 @@
+package net.sf.jabref.model.database;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateCandidateIndexTest {
+
+    private BibEntry one;
+    private BibEntry two;
+    private BibEntry three;
+
+
+    @Before
+    public void setUp() {
+        one = new BibEntry();
+        one.setType("article");
+        one.setField("author", "Harrer, Simon and Lenhard, Jörg");
+        one.setField("title", "Process-aware {Software} Engineering");
+        one.setField("year", "2016");
+
+        two = new BibEntry();
+        two.setType("article");
+        two.setField("author", "S. Harrer");
+        two.setField("title", "Processaware Software Engineering");
+        two.setField("year", "2016");
+
+        three = new BibEntry();
+        three.setType("article");
+        three.setField("author", "Miller, Anne");
+        three.setField("title", "Software Testing");
+        three.setField("year", "2016");
+    }
+
+    @Test
+    public void getCandidatePairsContainsEntriesWithSameFirstAuthorAndYear() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two, three));
+
+        assertEquals(Collections.singletonList(Arrays.asList(one, two)), index.getCandidatePairs());
+    }
+
+    @Test
+    public void getCandidatePairsIgnoresDifferentTypes() {
+        two.setType("book");
+        two.setField("title", "Process-aware Software Engineering");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.emptyList(), index.getCandidatePairs());
+    }
+
+    @Test
+    public void getCandidatePairsContainsEntriesWithSameDoi() {
+        one.setField("doi", "10.1000/182");
+        three.setField("doi", "https://doi.org/10.1000/182");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, three));
+
+        assertEquals(Collections.singletonList(Arrays.asList(one, three)), index.getCandidatePairs());
+    }
+
+    @Test
+    public void getCandidatePairsKeepsOrderOfEntries() {
+        one.setField("title", "Software Testing");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two, three));
+
+        assertEquals(Arrays.asList(Arrays.asList(one, two), Arrays.asList(one, three)), index.getCandidatePairs());
+    }
+
+    @Test
+    public void getCandidatesDoesNotContainEntryItself() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two, three));
+
+        assertEquals(Collections.singletonList(two), index.getCandidates(one));
+    }
+
+    @Test
+    public void getBlockingKeysNormalizesIsbn() {
+        one.setField("isbn", "3-16-148410-x");
+
+        assertTrue(DuplicateCandidateIndex.getBlockingKeys(one).contains("article:isbn:316148410X"));
+    }
+}
@@ -90,4 +90,28 @@ public class KeyChangeListenerTest {
         assertEquals(Optional.empty(), entry2.getField("related"));
     }
 
+    @Test
+    public void testLinksChangedAtEndOfBatch() {
+        db.startBatch();
+        entry1.setCiteKey("Banana");
+        entry3.setCiteKey("Apple");
+        entry4.clearField(BibEntry.KEY_FIELD);
+        assertEquals(Optional.of("Entry1,Entry3"), entry2.getField("related"));
+        db.endBatch();
+
+        assertEquals(Optional.of("Banana,Apple"), entry2.getField("related"));
+        assertEquals(Optional.of("Banana,Entry2,Apple"), entry3.getField("related"));
+        assertEquals(Optional.empty(), entry1.getField("crossref"));
+    }
+
+    @Test
+    public void testKeyChangedTwiceInBatch() {
+        db.startBatch();
+        entry4.setCiteKey("Banana");
+        entry4.setCiteKey("Apple");
+        db.endBatch();
+
+        assertEquals(Optional.of("Apple"), entry1.getField("crossref"));
+    }
+
 }
@@ -646,4 +646,23 @@ public class AuthorListTest {
         Assert.assertEquals(new AuthorList(expected), AuthorList.parse("H{e}lene Fiaux"));
     }
 
+    @Test
+    public void parseReturnsCachedAuthorList() {
+        String authors = "John Cached and Peter Black Brown";
+        long hits = AuthorList.getCacheStatistics().hitCount();
+
+        AuthorList authorList = AuthorList.parse(authors);
+
+        Assert.assertSame(authorList, AuthorList.parse(authors));
+        Assert.assertTrue(AuthorList.getCacheStatistics().hitCount() > hits);
+    }
+
+    @Test
+    public void parseCachesCommaSeparatedNamesByOriginalString() {
+        String authors = "Ali Babar, M., Dingsøyr, T., Lago, P.";
+
+        Assert.assertEquals(3, AuthorList.parse(authors).getNumberOfAuthors());
+        Assert.assertSame(AuthorList.parse(authors), AuthorList.parse(authors));
+    }
+
 }
@@ -0,0 +1,75 @@
+package net.sf.jabref.model.entry;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CompactFieldMapTest {
+
+    @Test
+    public void putReplacesExistingValue() {
+        CompactFieldMap map = new CompactFieldMap();
+        assertNull(map.put("title", "old"));
+        assertEquals("old", map.put("title", "new"));
+        assertEquals("new", map.get("title"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void removeKeepsOtherFields() {
+        CompactFieldMap map = new CompactFieldMap();
+        map.put("author", "Harrer");
+        map.put("title", "Software");
+        map.put("year", "2016");
+
+        assertEquals("Software", map.remove("title"));
+        assertNull(map.get("title"));
+        assertEquals("Harrer", map.get("author"));
+        assertEquals("2016", map.get("year"));
+    }
+
+    @Test
+    public void equalsOtherMapWithSameContent() {
+        CompactFieldMap map = new CompactFieldMap();
+        map.put("author", "Harrer");
+        map.put("title", "Software");
+        Map<String, String> expected = new HashMap<>();
+        expected.put("title", "Software");
+        expected.put("author", "Harrer");
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void iteratorIsNotAffectedByModification() {
+        CompactFieldMap map = new CompactFieldMap();
+        map.put("author", "Harrer");
+        map.put("title", "Software");
+
+        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+        map.put("year", "2016");
+        map.remove("author");
+
+        assertEquals("author", iterator.next().getKey());
+        assertEquals("title", iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void fieldNamesAreCanonicalized() {
+        CompactFieldMap one = new CompactFieldMap();
+        one.put(new String("journal"), "A");
+        CompactFieldMap two = new CompactFieldMap();
+        two.put(new String("journal"), "B");
+
+        assertSame(one.keySet().iterator().next(), two.keySet().iterator().next());
+    }
+}
@@ -0,0 +1,82 @@
+package net.sf.jabref.model.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListenerListTest {
+
+    private ListenerList<Consumer<String>> listeners;
+    private List<String> notifications;
+
+
+    @Before
+    public void setUp() {
+        listeners = new ListenerList<>();
+        notifications = new ArrayList<>();
+    }
+
+    @Test
+    public void listenersAreNotifiedInOrderOfRegistration() {
+        listeners.add(event -> notifications.add("first " + event));
+        listeners.add(event -> notifications.add("second " + event));
+
+        listeners.post("event", Consumer::accept);
+
+        assertEquals(Arrays.asList("first event", "second event"), notifications);
+    }
+
+    @Test
+    public void failingListenerDoesNotStopOtherListeners() {
+        listeners.add(event -> {
+            throw new IllegalStateException();
+        });
+        listeners.add(notifications::add);
+
+        listeners.post("event", Consumer::accept);
+
+        assertEquals(Collections.singletonList("event"), notifications);
+    }
+
+    @Test
+    public void listenerWithExecutorIsNotifiedByExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        listeners.add(notifications::add, tasks::add);
+
+        listeners.post("event", Consumer::accept);
+        assertTrue(notifications.isEmpty());
+        tasks.forEach(Runnable::run);
+
+        assertEquals(Collections.singletonList("event"), notifications);
+    }
+
+    @Test
+    public void removedListenerIsNotNotified() {
+        Consumer<String> listener = notifications::add;
+        listeners.add(listener);
+        listeners.remove(listener);
+
+        listeners.post("event", Consumer::accept);
+
+        assertTrue(listeners.isEmpty());
+        assertTrue(notifications.isEmpty());
+    }
+
+    @Test
+    public void listenerAddedWhilePostingIsNotifiedOfNextEvent() {
+        listeners.add(event -> listeners.add(notifications::add));
+
+        listeners.post("first", Consumer::accept);
+        listeners.post("second", Consumer::accept);
+
+        assertEquals(Collections.singletonList("second"), notifications);
+    }
+}
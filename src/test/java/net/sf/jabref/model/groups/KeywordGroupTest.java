@@ -5,6 +5,7 @@ import net.sf.jabref.model.entry.BibEntry;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class KeywordGroupTest {
@@ -85,4 +86,16 @@ public class KeywordGroupTest {
 
         assertTrue(group.isMatch(entry));
     }
+
+    @Test
+    public void containsWordIgnoringCaseAfterFieldChanged() {
+        KeywordGroup group = new KeywordGroup("name", "keywords", "Test", false, false,
+                GroupHierarchyType.INDEPENDENT, ',');
+        BibEntry entry = new BibEntry().withField("keywords", "tEST");
+        assertTrue(group.isMatch(entry));
+
+        entry.setField("keywords", "other");
+
+        assertFalse(group.isMatch(entry));
+    }
 }